@@ -0,0 +1,184 @@
+package com.println.bench;
+
+import com.println.config.DBConnection;
+import com.println.model.Order;
+import com.println.model.OrderDetail;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generated catalog, customers and orders for the benchmarks. A fixed seed
+ * keeps every run (and every size) the same data set.
+ *
+ * Sizes are order counts; there is about one customer per ten orders, 200
+ * products over 40 inventory items, and a status mix of roughly 70%
+ * Completed, 20% Pending and 10% Cancelled over the last two years.
+ */
+final class BenchData {
+
+    static final String[] FIRST = {"Juan", "Maria", "Jose", "Ana", "Pedro", "Rosa", "Carlo", "Liza",
+            "Mark", "Joy", "Paolo", "Grace", "Miguel", "Carmen", "Rafael", "Elena"};
+    static final String[] LAST = {"Dela Cruz", "Santos", "Reyes", "Garcia", "Mendoza", "Torres",
+            "Bautista", "Villanueva", "Ramos", "Aquino", "Navarro", "Castillo", "Flores", "Soriano"};
+    private static final String[] REMARKS = {"rush", "tarpaulin banner", "calling cards", "glossy flyers",
+            "pickup friday", "sticker labels", "invitation cards", "laminated", "deliver to office", null};
+    private static final String[] STATUSES = {"Completed", "Completed", "Completed", "Completed", "Completed",
+            "Completed", "Completed", "Pending", "Pending", "Cancelled"};
+
+    private static final int SEED_BATCH = 1000;
+    private static final int INVENTORY_ITEMS = 40;
+    private static final int PRODUCTS = 200;
+
+    private final Random random = new Random(42);
+
+    private int customerCount;
+
+    void seed(int orders) throws Exception {
+        try (Connection conn = DBConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            seedCatalog(conn);
+            seedCustomers(conn, Math.max(100, orders / 10));
+            seedOrders(conn, orders);
+
+            // Fresh statistics so plans match a real database of this size
+            try (Statement st = conn.createStatement()) {
+                st.execute("ANALYZE TABLE orders, order_details, customers");
+            }
+            conn.commit();
+        }
+    }
+
+    /** A new two-line Pending order for addOrder. */
+    Order newOrder() {
+        Order o = new Order();
+        o.setCustomerId(1 + random.nextInt(customerCount));
+        o.setUserId(1);
+        o.setStatus("Pending");
+        o.setPaymentStatus("Unpaid");
+        o.setPaymentMethod("Cash");
+        o.setDiscount(BigDecimal.ZERO);
+        o.setRemarks(REMARKS[random.nextInt(REMARKS.length)]);
+
+        List<OrderDetail> details = new ArrayList<>();
+        for (int k = 0; k < 2; k++) {
+            OrderDetail d = new OrderDetail();
+            d.setProductId(1 + random.nextInt(PRODUCTS));
+            d.setQuantity(1 + random.nextInt(5));
+            d.setUnitPrice(new BigDecimal("125.00"));
+            d.setDiscount(BigDecimal.ZERO);
+            d.setTax(BigDecimal.ZERO);
+            d.setCreatedBy(1);
+            details.add(d);
+        }
+        o.setDetails(details);
+        return o;
+    }
+
+    private void seedCatalog(Connection conn) throws Exception {
+        try (PreparedStatement ps = conn.prepareStatement(
+                "INSERT INTO inventory (item_name, category, unit, quantity, reorder_level, added_by) VALUES (?, ?, 'pcs', ?, 10, 1)")) {
+            for (int i = 1; i <= INVENTORY_ITEMS; i++) {
+                ps.setString(1, "Material " + i);
+                ps.setString(2, i % 2 == 0 ? "Paper" : "Ink");
+                ps.setInt(3, 10_000_000);   // never runs out while benchmarks deduct or restore
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+
+        try (PreparedStatement ps = conn.prepareStatement(
+                "INSERT INTO products (product_name, category, price, unit, material_used, quantity_used, inventory_id, added_by) "
+              + "VALUES (?, ?, ?, 'pcs', ?, 1, ?, 1)")) {
+            for (int i = 1; i <= PRODUCTS; i++) {
+                int inv = 1 + (i % INVENTORY_ITEMS);
+                ps.setString(1, "Product " + i);
+                ps.setString(2, i % 3 == 0 ? "Tarpaulin" : "Print");
+                ps.setBigDecimal(3, new BigDecimal(25 + (i % 50) * 5));
+                ps.setString(4, "Material " + inv);
+                ps.setInt(5, inv);
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+        conn.commit();
+    }
+
+    private void seedCustomers(Connection conn, int count) throws Exception {
+        try (PreparedStatement ps = conn.prepareStatement(
+                "INSERT INTO customers (name, contact_no, email, city, created_by) VALUES (?, ?, ?, 'Cebu', 1)")) {
+            for (int c = 1; c <= count; c++) {
+                String name = FIRST[random.nextInt(FIRST.length)] + " " + LAST[random.nextInt(LAST.length)];
+                ps.setString(1, name + " " + c);
+                ps.setString(2, String.format("09%09d", random.nextInt(1_000_000_000)));
+                ps.setString(3, name.toLowerCase().replace(' ', '.') + c + "@example.com");
+                ps.addBatch();
+                if (c % SEED_BATCH == 0) ps.executeBatch();
+            }
+            ps.executeBatch();
+        }
+        conn.commit();
+        customerCount = count;
+    }
+
+    private void seedOrders(Connection conn, int count) throws Exception {
+        String insertOrder = "INSERT INTO orders (customer_id, user_id, order_date, status, total_amount, payment_status, "
+                + "payment_method, remarks, quantity_total, order_reference) VALUES (?, 1, ?, ?, ?, ?, 'Cash', ?, ?, ?)";
+        String insertDetail = "INSERT INTO order_details (order_id, product_id, quantity, unit_price, created_by) "
+                + "SELECT order_id, ?, ?, ?, 1 FROM orders WHERE order_reference = ?";
+        long now = System.currentTimeMillis();
+
+        try (PreparedStatement po = conn.prepareStatement(insertOrder);
+             PreparedStatement pd = conn.prepareStatement(insertDetail)) {
+            int seeded = 0;
+            while (seeded < count) {
+                int batchEnd = Math.min(count, seeded + SEED_BATCH);
+                List<Object[]> lines = new ArrayList<>();
+                for (int o = seeded + 1; o <= batchEnd; o++) {
+                    String ref = String.format("BENCH-%08d", o);
+                    String status = STATUSES[random.nextInt(STATUSES.length)];
+                    int lineCount = 1 + random.nextInt(3);
+                    int qty = 0;
+                    BigDecimal total = BigDecimal.ZERO;
+                    for (int l = 0; l < lineCount; l++) {
+                        int q = 1 + random.nextInt(10);
+                        BigDecimal price = new BigDecimal(25 + random.nextInt(50) * 5);
+                        qty += q;
+                        total = total.add(price.multiply(BigDecimal.valueOf(q)));
+                        lines.add(new Object[]{1 + random.nextInt(PRODUCTS), q, price, ref});
+                    }
+
+                    if (random.nextInt(10) == 0) po.setNull(1, Types.INTEGER);
+                    else po.setInt(1, 1 + random.nextInt(customerCount));
+                    // Spread over the last two years
+                    po.setTimestamp(2, new Timestamp(now - (long) (random.nextDouble() * 730L * 86_400_000L)));
+                    po.setString(3, status);
+                    po.setBigDecimal(4, total);
+                    po.setString(5, "Completed".equals(status) ? "Paid" : "Unpaid");
+                    po.setString(6, REMARKS[random.nextInt(REMARKS.length)]);
+                    po.setInt(7, qty);
+                    po.setString(8, ref);
+                    po.addBatch();
+                }
+                po.executeBatch();
+
+                for (Object[] line : lines) {
+                    pd.setInt(1, (Integer) line[0]);
+                    pd.setInt(2, (Integer) line[1]);
+                    pd.setBigDecimal(3, (BigDecimal) line[2]);
+                    pd.setString(4, (String) line[3]);
+                    pd.addBatch();
+                }
+                pd.executeBatch();
+                conn.commit();
+                seeded = batchEnd;
+            }
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.println.bench;
+
+import ch.vorburger.mariadb4j.DB;
+import ch.vorburger.mariadb4j.DBConfiguration;
+import ch.vorburger.mariadb4j.DBConfigurationBuilder;
+import com.println.config.DBConnection;
+import com.println.config.SchemaMigrator;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * One embedded MariaDB per benchmark trial, built from println_db.sql plus the
+ * numbered migrations and seeded with {@link #orders} generated orders.
+ *
+ * The server runs from a temporary directory on a free port and is deleted
+ * when the trial ends, so nothing outside the forked JVM is touched. Every
+ * DAO goes through DBConnection, whose pool is pointed at this server before
+ * it is first opened.
+ */
+@State(Scope.Benchmark)
+public class BenchDatabase {
+
+    static final String SCHEMA = "com/println/bench/println_db.sql";
+    static final String DB_NAME = "printing_system_db";   // created by println_db.sql
+
+    @Param({"1000", "10000", "100000"})
+    public int orders;
+
+    private DB db;
+    private PrintStream out;
+    private PrintStream err;
+
+    BenchData data;
+    List<Integer> orderIds;
+
+    @Setup(Level.Trial)
+    public void start() throws Exception {
+        DBConfigurationBuilder builder = DBConfigurationBuilder.newBuilder();
+        builder.setPort(0);   // any free port
+        // mariadbd refuses to run as root unless told to (containers, CI)
+        if ("root".equals(System.getProperty("user.name"))) builder.addArg("--user=root");
+        DBConfiguration config = builder.build();
+
+        db = DB.newEmbeddedDB(config);
+        db.start();
+        db.source(SCHEMA);
+
+        Properties props = DBConnection.getConfig();
+        props.setProperty("db.host", "127.0.0.1");
+        props.setProperty("db.port", String.valueOf(config.getPort()));
+        props.setProperty("db.name", DB_NAME);
+        props.setProperty("db.user", "root");
+        props.setProperty("db.password", "");
+        SchemaMigrator.migrate();
+
+        data = new BenchData();
+        data.seed(orders);
+        orderIds = ids("SELECT order_id FROM orders ORDER BY order_id");
+
+        // DAOs and services log every call; keep that out of the timings and the report
+        out = System.out;
+        err = System.err;
+        PrintStream quiet = new PrintStream(OutputStream.nullOutputStream());
+        System.setOut(quiet);
+        System.setErr(quiet);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() throws Exception {
+        if (out != null) {
+            System.setOut(out);
+            System.setErr(err);
+        }
+        DBConnection.closeConnection();
+        if (db != null) db.stop();
+    }
+
+    static List<Integer> ids(String sql) throws Exception {
+        List<Integer> ids = new ArrayList<>();
+        try (Connection conn = DBConnection.getConnection();
+             Statement st = conn.createStatement();
+             ResultSet rs = st.executeQuery(sql)) {
+            while (rs.next()) ids.add(rs.getInt(1));
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,71 @@
+package com.println.bench;
+
+import com.println.config.DBConnection;
+import com.println.service.OrderService;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * OrderService.cancelOrder on seeded Pending orders. Each call consumes one;
+ * when they run out, the ones cancelled here are set back to Pending outside
+ * the timed section (directly in SQL: the DAO refuses to reopen a cancelled
+ * order) and reused.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class CancelOrderBenchmark {
+
+    private final OrderService orderService = new OrderService();
+    private final ArrayDeque<Integer> pending = new ArrayDeque<>();
+    private final List<Integer> cancelled = new ArrayList<>();
+    private int orderId;
+
+    @Setup(Level.Trial)
+    public void loadPending(BenchDatabase db) throws Exception {
+        pending.addAll(BenchDatabase.ids("SELECT order_id FROM orders WHERE status = 'Pending' ORDER BY order_id DESC"));
+    }
+
+    // Per call is fine here: a cancel is a multi-statement transaction, far above JMH's timer overhead
+    @Setup(Level.Invocation)
+    public void nextOrder() throws Exception {
+        if (pending.isEmpty()) reopen();
+        orderId = pending.poll();
+        cancelled.add(orderId);
+    }
+
+    @Benchmark
+    public boolean cancelOrder(BenchDatabase db) {
+        return orderService.cancelOrder(orderId, 1);
+    }
+
+    private void reopen() throws Exception {
+        StringBuilder sql = new StringBuilder("UPDATE orders SET status = 'Pending' WHERE order_id IN (");
+        for (int k = 0; k < cancelled.size(); k++) sql.append(k == 0 ? "" : ", ").append(cancelled.get(k));
+        sql.append(")");
+        try (Connection conn = DBConnection.getConnection();
+             Statement st = conn.createStatement()) {
+            st.executeUpdate(sql.toString());
+        }
+        pending.addAll(cancelled);
+        cancelled.clear();
+    }
+}
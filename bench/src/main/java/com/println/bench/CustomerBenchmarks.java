@@ -0,0 +1,39 @@
+package com.println.bench;
+
+import com.println.dao.CustomerDAO;
+import com.println.model.Customer;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** CustomerDAO.searchCustomers on both of its paths. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class CustomerBenchmarks {
+
+    private final CustomerDAO customerDAO = new CustomerDAO();
+    private int i;
+
+    @Benchmark
+    public List<Customer> searchCustomersFulltext(BenchDatabase db) {
+        return customerDAO.searchCustomers(BenchData.FIRST[i++ % BenchData.FIRST.length]);
+    }
+
+    // One- and two-letter keywords fall back to LIKE
+    @Benchmark
+    public List<Customer> searchCustomersLike(BenchDatabase db) {
+        return customerDAO.searchCustomers(BenchData.LAST[i++ % BenchData.LAST.length].substring(0, 2));
+    }
+}
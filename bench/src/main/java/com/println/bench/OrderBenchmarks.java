@@ -0,0 +1,75 @@
+package com.println.bench;
+
+import com.println.dao.OrderDAO;
+import com.println.model.Order;
+import com.println.model.OrderDetail;
+import com.println.model.OrderFilter;
+import com.println.model.OrderPage;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * OrderDAO reads and writes against {@link BenchDatabase}. addOrder grows the
+ * orders table during the run, as it would in a shop.
+ *
+ * Every method takes the BenchDatabase, even where it does not use it: JMH
+ * only sets up (and seeds) the states a benchmark asks for.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class OrderBenchmarks {
+
+    private static final int PAGE_SIZE = 60;
+
+    private final OrderDAO orderDAO = new OrderDAO();
+    private int i;
+
+    @Benchmark
+    public int addOrder(BenchDatabase db) {
+        return orderDAO.addOrder(db.data.newOrder());
+    }
+
+    @Benchmark
+    public List<Order> getAllOrders(BenchDatabase db) {
+        return orderDAO.getAllOrders();
+    }
+
+    // First page, then the keyset page after it
+    @Benchmark
+    public void getOrdersPage(BenchDatabase db, Blackhole bh) {
+        OrderPage first = orderDAO.getOrdersPage(new OrderFilter(), null, 0, PAGE_SIZE);
+        bh.consume(first);
+        bh.consume(orderDAO.getOrdersPage(new OrderFilter(), first.getLastOrderDate(), first.getLastOrderId(), PAGE_SIZE));
+    }
+
+    @Benchmark
+    public List<OrderDetail> getOrderDetails(BenchDatabase db) {
+        List<Integer> ids = db.orderIds;
+        return orderDAO.getOrderDetails(ids.get(Math.floorMod(i++ * 7919, ids.size())));
+    }
+
+    @Benchmark
+    public List<Order> searchOrdersFulltext(BenchDatabase db) {
+        return orderDAO.searchOrders(BenchData.LAST[i++ % BenchData.LAST.length].split(" ")[0]);
+    }
+
+    // One- and two-letter keywords fall back to LIKE
+    @Benchmark
+    public List<Order> searchOrdersLike(BenchDatabase db) {
+        return orderDAO.searchOrders(BenchData.FIRST[i++ % BenchData.FIRST.length].substring(0, 2));
+    }
+}
@@ -23,6 +23,8 @@ CREATE TABLE users (
     profile_image VARCHAR(255) DEFAULT NULL,
     created_by INT(11),
     remarks VARCHAR(255) DEFAULT NULL,
+    INDEX idx_users_role_username (role, username),
+    INDEX idx_users_role_created (role, date_created),
     CONSTRAINT fk_user_created_by FOREIGN KEY (created_by) REFERENCES users(user_id)
 );
 
@@ -45,6 +47,8 @@ CREATE TABLE customers (
     city VARCHAR(50) DEFAULT NULL,
     created_by INT(11),
     data_updated DATETIME DEFAULT NULL,
+    INDEX idx_customers_name (name),
+    FULLTEXT INDEX ft_customers_search (name, email, contact_no),
     CONSTRAINT fk_customer_created_by FOREIGN KEY (created_by) REFERENCES users(user_id)
 );
 
@@ -67,6 +71,9 @@ CREATE TABLE inventory (
     date_updated DATETIME DEFAULT NULL,
     remarks VARCHAR(255) DEFAULT NULL,
     cost_per_unit DECIMAL(10,2) DEFAULT NULL,
+    INDEX idx_inventory_category (category),
+    INDEX idx_inventory_date_updated (date_updated),
+    INDEX idx_inventory_date_added (date_added),
     CONSTRAINT fk_inventory_added_by FOREIGN KEY (added_by) REFERENCES users(user_id)
 );
 
@@ -103,7 +110,7 @@ CREATE TABLE orders (
     user_id INT(11) NOT NULL,
     order_date DATETIME DEFAULT CURRENT_TIMESTAMP,
     due_date DATE DEFAULT NULL,
-    status ENUM('Pending', 'In Progress', 'Completed') DEFAULT 'Pending',
+    status ENUM('Pending', 'In Progress', 'Completed', 'Cancelled') DEFAULT 'Pending',
     total_amount DECIMAL(10,2) NOT NULL,
     payment_status ENUM('Paid', 'Unpaid') DEFAULT 'Unpaid',
     payment_method VARCHAR(30) DEFAULT NULL,
@@ -113,6 +120,9 @@ CREATE TABLE orders (
     order_reference VARCHAR(50) UNIQUE,
     date_completed DATE DEFAULT NULL,
     printed_by INT(11) DEFAULT NULL,
+    INDEX idx_orders_date_id (order_date, order_id),
+    INDEX idx_orders_status_date_id (status, order_date, order_id),
+    FULLTEXT INDEX ft_orders_search (order_reference, remarks),
     CONSTRAINT fk_orders_customer FOREIGN KEY (customer_id) REFERENCES customers(customer_id),
     CONSTRAINT fk_orders_user FOREIGN KEY (user_id) REFERENCES users(user_id),
     CONSTRAINT fk_orders_printed_by FOREIGN KEY (printed_by) REFERENCES users(user_id)
@@ -137,6 +147,7 @@ CREATE TABLE order_details (
     created_by INT(11),
     date_updated DATETIME DEFAULT NULL,
     tax DECIMAL(10,2) DEFAULT 0.00,
+    INDEX idx_order_details_order_product (order_id, product_id, quantity),
     CONSTRAINT fk_orderdetails_order FOREIGN KEY (order_id) REFERENCES orders(order_id) ON DELETE CASCADE,
     CONSTRAINT fk_orderdetails_product FOREIGN KEY (product_id) REFERENCES products(product_id),
     CONSTRAINT fk_orderdetails_user FOREIGN KEY (created_by) REFERENCES users(user_id)
@@ -151,9 +162,89 @@ CREATE TABLE logs (
     action VARCHAR(100),
     description TEXT,
     timestamp DATETIME DEFAULT CURRENT_TIMESTAMP,
+    INDEX idx_logs_timestamp (timestamp),
     FOREIGN KEY (user_id) REFERENCES users(user_id) ON DELETE SET NULL
 );
 
+-- =============================================================
+-- TABLE H: ORDER REFERENCE SEQUENCES
+-- (per-day counters; terminals reserve blocks of numbers from here)
+-- =============================================================
+CREATE TABLE order_reference_sequences (
+    seq_date DATE PRIMARY KEY,
+    next_value INT NOT NULL
+);
+
+-- =============================================================
+-- TABLE I: DATA VERSIONS
+-- (change counters for tables cached in memory by each terminal)
+-- =============================================================
+CREATE TABLE data_versions (
+    table_name VARCHAR(50) PRIMARY KEY,
+    version BIGINT NOT NULL DEFAULT 0
+);
+
+-- =============================================================
+-- TABLE J: SCHEMA MIGRATIONS
+-- (numbered migrations applied by SchemaMigrator at startup; this script
+-- already contains V001-V005, which then run as no-ops)
+-- =============================================================
+CREATE TABLE schema_migrations (
+    version INT PRIMARY KEY,
+    name VARCHAR(100) NOT NULL,
+    applied_at DATETIME DEFAULT CURRENT_TIMESTAMP
+);
+
+-- =============================================================
+-- TABLE K: DASHBOARD METRICS
+-- (KPI counters and revenue per month, maintained by the DAOs in the
+-- same transaction as each write; DashboardPanel reads one row)
+-- =============================================================
+CREATE TABLE dashboard_metrics (
+    metrics_id TINYINT PRIMARY KEY,
+    total_customers INT NOT NULL DEFAULT 0,
+    total_products INT NOT NULL DEFAULT 0,
+    low_stock_items INT NOT NULL DEFAULT 0,
+    pending_orders INT NOT NULL DEFAULT 0,
+    date_counted DATETIME DEFAULT NULL
+);
+
+CREATE TABLE dashboard_monthly_revenue (
+    month_start DATE PRIMARY KEY,
+    revenue DECIMAL(14,2) NOT NULL DEFAULT 0.00,
+    completed_orders INT NOT NULL DEFAULT 0
+);
+
+INSERT INTO dashboard_metrics (metrics_id, date_counted) VALUES (1, NOW());
+
+-- =============================================================
+-- TABLE L: SALES ROLLUPS
+-- (Completed orders summed per day of order_date; kept current by
+-- OrderDAO, read by ReportsPanel. printed_by 0 / payment_method ''
+-- mean "not recorded")
+-- =============================================================
+CREATE TABLE sales_daily_orders (
+    sale_date DATE NOT NULL,
+    user_id INT NOT NULL,
+    printed_by INT NOT NULL DEFAULT 0,
+    payment_method VARCHAR(30) NOT NULL DEFAULT '',
+    orders_count INT NOT NULL DEFAULT 0,
+    quantity INT NOT NULL DEFAULT 0,
+    revenue DECIMAL(14,2) NOT NULL DEFAULT 0.00,
+    PRIMARY KEY (sale_date, user_id, printed_by, payment_method)
+);
+
+CREATE TABLE sales_daily_products (
+    sale_date DATE NOT NULL,
+    product_id INT NOT NULL,
+    category VARCHAR(50) NOT NULL DEFAULT '',
+    orders_count INT NOT NULL DEFAULT 0,
+    quantity INT NOT NULL DEFAULT 0,
+    gross DECIMAL(14,2) NOT NULL DEFAULT 0.00,
+    revenue DECIMAL(14,2) NOT NULL DEFAULT 0.00,
+    PRIMARY KEY (sale_date, product_id)
+);
+
 -- =============================================================
 -- INSERT DEFAULT ADMIN ACCOUNT
 -- =============================================================
@@ -0,0 +1,413 @@
+package com.println.config;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Small bounded JDBC connection pool used behind {@link DBConnection}.
+ *
+ * Callers get a wrapper around a physical connection; calling close() on it
+ * hands the physical connection back to the pool instead of disconnecting,
+ * so the DAOs can keep their try-with-resources blocks unchanged. Statements
+ * created on it are wrapped by {@link TimedStatement} for {@link QueryMetrics}.
+ */
+public class ConnectionPool {
+
+    private final String url;
+    private final String user;
+    private final String password;
+
+    private final int minSize;
+    private final int maxSize;
+    private final long idleTimeoutMillis;
+    private final long borrowTimeoutMillis;
+    private final int validationTimeoutSeconds;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition available = lock.newCondition();
+
+    // Most recently returned connection first, so the idle tail ages out
+    private final ArrayDeque<PooledConnection> idle = new ArrayDeque<>();
+    private int totalCount;
+    private int activeCount;
+    private int waitingCount;
+    private boolean shutdown;
+
+    // --- Statistics (guarded by lock) ---
+    private long borrowCount;
+    private long totalWaitNanos;
+    private long maxWaitNanos;
+    private long timeoutCount;
+    private long createdCount;
+    private long destroyedCount;
+    private long validationFailures;
+
+    private final ScheduledExecutorService evictor;
+
+    public ConnectionPool(String url, String user, String password, Properties props) {
+        this.url = url;
+        this.user = user;
+        this.password = password;
+
+        this.maxSize = Math.max(1, intProp(props, "db.pool.maxSize", 5));
+        this.minSize = Math.min(maxSize, Math.max(0, intProp(props, "db.pool.minSize", 1)));
+        this.idleTimeoutMillis = Math.max(1000L, longProp(props, "db.pool.idleTimeoutMs", 300_000L));
+        this.borrowTimeoutMillis = Math.max(0L, longProp(props, "db.pool.borrowTimeoutMs", 10_000L));
+        this.validationTimeoutSeconds = Math.max(1, intProp(props, "db.pool.validationTimeoutSec", 2));
+
+        this.evictor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "db-pool-evictor");
+            t.setDaemon(true);
+            return t;
+        });
+        long period = Math.max(1000L, idleTimeoutMillis / 2);
+        evictor.scheduleWithFixedDelay(this::maintain, 0, period, TimeUnit.MILLISECONDS);
+    }
+
+    // =============================================================
+    //  Borrow / Release
+    // =============================================================
+    public Connection borrow() throws SQLException {
+        long start = System.nanoTime();
+        long remaining = TimeUnit.MILLISECONDS.toNanos(borrowTimeoutMillis);
+
+        while (true) {
+            PooledConnection candidate = null;
+            boolean mayCreate = false;
+
+            lock.lock();
+            try {
+                while (true) {
+                    if (shutdown) throw new SQLException("Connection pool has been shut down");
+
+                    candidate = idle.pollFirst();
+                    if (candidate != null) break;
+
+                    if (totalCount < maxSize) {
+                        totalCount++;
+                        mayCreate = true;
+                        break;
+                    }
+
+                    if (remaining <= 0L) {
+                        timeoutCount++;
+                        throw new SQLException("Timed out after " + borrowTimeoutMillis
+                                + " ms waiting for a database connection (pool max " + maxSize + ")");
+                    }
+
+                    waitingCount++;
+                    try {
+                        remaining = available.awaitNanos(remaining);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new SQLException("Interrupted while waiting for a database connection", e);
+                    } finally {
+                        waitingCount--;
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            // Network work happens outside the lock
+            if (mayCreate) {
+                Connection physical;
+                try {
+                    physical = DriverManager.getConnection(url, user, password);
+                } catch (SQLException | RuntimeException e) {
+                    lock.lock();
+                    try {
+                        totalCount--;
+                        available.signal();
+                    } finally {
+                        lock.unlock();
+                    }
+                    throw e;
+                }
+                candidate = new PooledConnection(physical);
+                lock.lock();
+                try {
+                    createdCount++;
+                } finally {
+                    lock.unlock();
+                }
+            } else if (!isValid(candidate)) {
+                lock.lock();
+                try {
+                    validationFailures++;
+                } finally {
+                    lock.unlock();
+                }
+                destroy(candidate);
+                remaining = TimeUnit.MILLISECONDS.toNanos(borrowTimeoutMillis) - (System.nanoTime() - start);
+                continue;
+            }
+
+            long waited = System.nanoTime() - start;
+            lock.lock();
+            try {
+                activeCount++;
+                borrowCount++;
+                totalWaitNanos += waited;
+                if (waited > maxWaitNanos) maxWaitNanos = waited;
+            } finally {
+                lock.unlock();
+            }
+            return candidate.lease();
+        }
+    }
+
+    private void release(PooledConnection pc) {
+        boolean reusable = pc.reset();
+
+        lock.lock();
+        try {
+            activeCount--;
+            if (reusable && !shutdown) {
+                pc.lastReturned = System.currentTimeMillis();
+                idle.addFirst(pc);
+                available.signal();
+                return;
+            }
+        } finally {
+            lock.unlock();
+        }
+        destroy(pc);
+    }
+
+    private boolean isValid(PooledConnection pc) {
+        try {
+            return !pc.physical.isClosed() && pc.physical.isValid(validationTimeoutSeconds);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private void destroy(PooledConnection pc) {
+        try {
+            pc.physical.close();
+        } catch (SQLException ignored) {
+        }
+        lock.lock();
+        try {
+            totalCount--;
+            destroyedCount++;
+            available.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // =============================================================
+    //  Idle eviction / minimum size
+    // =============================================================
+    private void maintain() {
+        List<PooledConnection> expired = new ArrayList<>();
+        int missing;
+
+        lock.lock();
+        try {
+            if (shutdown) return;
+            long cutoff = System.currentTimeMillis() - idleTimeoutMillis;
+            // Oldest idle connections sit at the tail
+            Iterator<PooledConnection> it = idle.descendingIterator();
+            while (it.hasNext() && totalCount - expired.size() > minSize) {
+                PooledConnection pc = it.next();
+                if (pc.lastReturned >= cutoff) break;
+                it.remove();
+                expired.add(pc);
+            }
+            missing = minSize - (totalCount - expired.size());
+            if (missing > 0) totalCount += missing;
+        } finally {
+            lock.unlock();
+        }
+
+        for (PooledConnection pc : expired) {
+            destroy(pc);
+        }
+
+        for (int i = 0; i < missing; i++) {
+            try {
+                PooledConnection pc = new PooledConnection(DriverManager.getConnection(url, user, password));
+                lock.lock();
+                try {
+                    createdCount++;
+                    pc.lastReturned = System.currentTimeMillis();
+                    idle.addLast(pc);
+                    available.signal();
+                } finally {
+                    lock.unlock();
+                }
+            } catch (SQLException e) {
+                lock.lock();
+                try {
+                    totalCount -= (missing - i);
+                } finally {
+                    lock.unlock();
+                }
+                System.err.println("Connection pool could not pre-open connection: " + e.getMessage());
+                break;
+            }
+        }
+    }
+
+    public void shutdown() {
+        evictor.shutdownNow();
+
+        List<PooledConnection> toClose;
+        lock.lock();
+        try {
+            shutdown = true;
+            toClose = new ArrayList<>(idle);
+            idle.clear();
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        for (PooledConnection pc : toClose) {
+            destroy(pc);
+        }
+    }
+
+    public PoolStats getStats() {
+        lock.lock();
+        try {
+            return new PoolStats(activeCount, idle.size(), totalCount, maxSize, waitingCount,
+                    borrowCount, totalWaitNanos, maxWaitNanos, timeoutCount,
+                    createdCount, destroyedCount, validationFailures);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // =============================================================
+    //  Pooled wrapper
+    // =============================================================
+    private final class PooledConnection {
+        private final Connection physical;
+        private long lastReturned;
+        private boolean broken;
+
+        PooledConnection(Connection physical) {
+            this.physical = physical;
+        }
+
+        Connection lease() {
+            Lease handler = new Lease(this);
+            return (Connection) Proxy.newProxyInstance(
+                    Connection.class.getClassLoader(), new Class<?>[]{Connection.class}, handler);
+        }
+
+        // Roll back anything left open so the next borrower gets a clean session
+        boolean reset() {
+            if (broken) return false;
+            try {
+                if (physical.isClosed()) return false;
+                if (!physical.getAutoCommit()) {
+                    physical.rollback();
+                    physical.setAutoCommit(true);
+                }
+                if (physical.isReadOnly()) physical.setReadOnly(false);
+                physical.clearWarnings();
+                return true;
+            } catch (SQLException e) {
+                return false;
+            }
+        }
+    }
+
+    private final class Lease implements InvocationHandler {
+        private PooledConnection pc;
+
+        Lease(PooledConnection pc) {
+            this.pc = pc;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            switch (name) {
+                case "close":
+                    PooledConnection returning = pc;
+                    pc = null;
+                    if (returning != null) release(returning);
+                    return null;
+                case "isClosed":
+                    return pc == null || pc.physical.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection[" + (pc == null ? "closed" : pc.physical) + "]";
+                default:
+                    break;
+            }
+
+            if (pc == null) throw new SQLException("Connection is closed");
+            try {
+                Object result = method.invoke(pc.physical, args);
+                // createStatement / prepareStatement / prepareCall: time every execute (QueryMetrics)
+                if (result instanceof Statement && QueryMetrics.getInstance().isEnabled()) {
+                    String sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : null;
+                    return TimedStatement.wrap((Statement) result, (Connection) proxy, sql);
+                }
+                return result;
+            } catch (InvocationTargetException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof SQLException && isFatal((SQLException) cause)) {
+                    pc.broken = true;
+                }
+                throw cause;
+            }
+        }
+    }
+
+    // SQLState class 08 = connection exception
+    private static boolean isFatal(SQLException e) {
+        String state = e.getSQLState();
+        return state != null && state.startsWith("08");
+    }
+
+    // =============================================================
+    //  Config helpers
+    // =============================================================
+    private static int intProp(Properties props, String key, int def) {
+        String v = props.getProperty(key);
+        if (v == null || v.trim().isEmpty()) return def;
+        try {
+            return Integer.parseInt(v.trim());
+        } catch (NumberFormatException e) {
+            System.err.println("Invalid value for " + key + ": " + v + " (using " + def + ")");
+            return def;
+        }
+    }
+
+    private static long longProp(Properties props, String key, long def) {
+        String v = props.getProperty(key);
+        if (v == null || v.trim().isEmpty()) return def;
+        try {
+            return Long.parseLong(v.trim());
+        } catch (NumberFormatException e) {
+            System.err.println("Invalid value for " + key + ": " + v + " (using " + def + ")");
+            return def;
+        }
+    }
+}
@@ -3,54 +3,77 @@ package com.println.config;
 import java.io.FileNotFoundException;
 import java.io.InputStream;
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.util.Properties;
 import javax.swing.JOptionPane;
 
+/**
+ * Entry point for database access. Connections come from a shared
+ * {@link ConnectionPool}; closing one returns it to the pool.
+ */
 public class DBConnection {
-    private static Connection conn;
+    private static ConnectionPool pool;
+    private static Properties config;
 
     public static Connection getConnection() {
         try {
-            if (conn == null || conn.isClosed()) {
-                
-                Properties props = new Properties();
+            return getPool().borrow();
 
-                InputStream input = DBConnection.class.getResourceAsStream("dbconfig.properties");
+        } catch (Exception e) {
+            e.printStackTrace();
+            JOptionPane.showMessageDialog(null,
+                "ERROR: Unable to connect to database.\n" + e.getMessage());
+            return null;
+        }
+    }
 
-                if (input == null) {
-                    throw new FileNotFoundException("Configuration file not found: dbconfig.properties");
-                }
+    private static synchronized ConnectionPool getPool() throws Exception {
+        if (pool == null) {
+            Properties props = getConfig();
 
-                props.load(input);
+            String host = props.getProperty("db.host");
+            String port = props.getProperty("db.port");
+            String dbname = props.getProperty("db.name");
+            String user = props.getProperty("db.user");
+            String pass = props.getProperty("db.password");
 
-                String host = props.getProperty("db.host");
-                String port = props.getProperty("db.port");
-                String dbname = props.getProperty("db.name");
-                String user = props.getProperty("db.user");
-                String pass = props.getProperty("db.password");
+            String url = "jdbc:mysql://" + host + ":" + port + "/" + dbname;
 
-                String url = "jdbc:mysql://" + host + ":" + port + "/" + dbname;
+            // rewriteBatchedStatements lets executeBatch() send one multi-row INSERT
+            String params = props.getProperty("db.params", "rewriteBatchedStatements=true");
+            if (!params.trim().isEmpty()) url += "?" + params.trim();
 
-                conn = DriverManager.getConnection(url, user, pass);
-            }
+            pool = new ConnectionPool(url, user, pass, props);
+        }
+        return pool;
+    }
 
-            return conn;
+    // Loaded once; dbconfig.properties is not re-read per connection
+    public static synchronized Properties getConfig() throws Exception {
+        if (config == null) {
+            Properties props = new Properties();
 
-        } catch (Exception e) {
-            e.printStackTrace();
-            JOptionPane.showMessageDialog(null,
-                "ERROR: Unable to connect to database.\n" + e.getMessage());
-            return null;
+            try (InputStream input = DBConnection.class.getResourceAsStream("dbconfig.properties")) {
+                if (input == null) {
+                    throw new FileNotFoundException("Configuration file not found: dbconfig.properties");
+                }
+                props.load(input);
+            }
+
+            config = props;
         }
+        return config;
+    }
+
+    public static synchronized PoolStats getPoolStats() {
+        return pool != null ? pool.getStats() : null;
     }
 
-    public static void closeConnection() {
+    public static synchronized void closeConnection() {
         try {
-            if (conn != null && !conn.isClosed()) {
-                conn.close();
-                conn = null;
-                System.out.println("Database connection closed.");
+            if (pool != null) {
+                pool.shutdown();
+                pool = null;
+                System.out.println("Database connection pool closed.");
             }
         } catch (Exception e) {
             e.printStackTrace();
@@ -0,0 +1,65 @@
+package com.println.config;
+
+/**
+ * Point-in-time snapshot of {@link ConnectionPool} counters.
+ */
+public class PoolStats {
+
+    private final int active;
+    private final int idle;
+    private final int total;
+    private final int maxSize;
+    private final int waiting;
+    private final long borrowCount;
+    private final long totalWaitNanos;
+    private final long maxWaitNanos;
+    private final long timeoutCount;
+    private final long createdCount;
+    private final long destroyedCount;
+    private final long validationFailures;
+
+    public PoolStats(int active, int idle, int total, int maxSize, int waiting,
+                     long borrowCount, long totalWaitNanos, long maxWaitNanos, long timeoutCount,
+                     long createdCount, long destroyedCount, long validationFailures) {
+        this.active = active;
+        this.idle = idle;
+        this.total = total;
+        this.maxSize = maxSize;
+        this.waiting = waiting;
+        this.borrowCount = borrowCount;
+        this.totalWaitNanos = totalWaitNanos;
+        this.maxWaitNanos = maxWaitNanos;
+        this.timeoutCount = timeoutCount;
+        this.createdCount = createdCount;
+        this.destroyedCount = destroyedCount;
+        this.validationFailures = validationFailures;
+    }
+
+    public int getActive() { return active; }
+    public int getIdle() { return idle; }
+    public int getTotal() { return total; }
+    public int getMaxSize() { return maxSize; }
+    public int getWaiting() { return waiting; }
+    public long getBorrowCount() { return borrowCount; }
+    public long getTimeoutCount() { return timeoutCount; }
+    public long getCreatedCount() { return createdCount; }
+    public long getDestroyedCount() { return destroyedCount; }
+    public long getValidationFailures() { return validationFailures; }
+
+    public double getAverageWaitMillis() {
+        return borrowCount == 0 ? 0.0 : (totalWaitNanos / (double) borrowCount) / 1_000_000.0;
+    }
+
+    public double getMaxWaitMillis() {
+        return maxWaitNanos / 1_000_000.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("PoolStats{active=%d, idle=%d, total=%d/%d, waiting=%d, borrows=%d, "
+                        + "avgWait=%.2fms, maxWait=%.2fms, timeouts=%d, created=%d, destroyed=%d, invalid=%d}",
+                active, idle, total, maxSize, waiting, borrowCount,
+                getAverageWaitMillis(), getMaxWaitMillis(), timeoutCount,
+                createdCount, destroyedCount, validationFailures);
+    }
+}
@@ -0,0 +1,312 @@
+package com.println.config;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import javax.management.ObjectName;
+
+/**
+ * Timings of every statement run through a pooled connection.
+ *
+ * {@link ConnectionPool} wraps each Statement/PreparedStatement it hands out
+ * and reports every execute here: latency, rows returned or affected, and
+ * failures. Each execution is counted twice, once under its SQL text and once
+ * under the DAO (or panel) method that prepared it, so a slow screen can be
+ * traced to one method and then to one query. Statements slower than
+ * diagnostics.slowQueryMs (default 500) go to the slow-query log. Their bind
+ * parameters are only kept with diagnostics.logParameters=true, and even then
+ * values of statements that mention a password are masked.
+ *
+ * Shown in SettingsPanel's Diagnostics tab and over JMX as
+ * com.println:type=QueryMetrics. Set diagnostics.enabled=false to skip the
+ * statement wrapping entirely.
+ */
+public final class QueryMetrics implements QueryMetricsMXBean {
+
+    private static final long DEFAULT_SLOW_MS = 500L;
+    private static final int SLOW_LOG_SIZE = 200;
+    // Statements built by string concatenation could otherwise grow the map without bound
+    private static final int MAX_STATEMENTS = 500;
+    private static final String OTHER = "(other statements)";
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    // "IN (?, ?, ?)" of any length counts as one statement
+    private static final Pattern PARAM_LIST = Pattern.compile("\\(\\s*\\?(\\s*,\\s*\\?)+\\s*\\)");
+
+    private static final QueryMetrics INSTANCE = new QueryMetrics();
+
+    private final boolean enabled;
+    private final boolean logParameters;
+    private volatile long slowThresholdNanos;
+
+    private final Map<String, Counter> byStatement = new ConcurrentHashMap<>();
+    private final Map<String, Counter> byCaller = new ConcurrentHashMap<>();
+    private final AtomicLong statementCount = new AtomicLong();
+    private final AtomicLong errorCount = new AtomicLong();
+    private final AtomicLong slowCount = new AtomicLong();
+    private final ArrayDeque<SlowQuery> slowLog = new ArrayDeque<>(); // guarded by itself
+
+    private QueryMetrics() {
+        boolean on = true;
+        boolean params = false;
+        long slowMs = DEFAULT_SLOW_MS;
+        try {
+            String e = DBConnection.getConfig().getProperty("diagnostics.enabled");
+            if (e != null && !e.trim().isEmpty()) on = Boolean.parseBoolean(e.trim());
+            String p = DBConnection.getConfig().getProperty("diagnostics.logParameters");
+            if (p != null && !p.trim().isEmpty()) params = Boolean.parseBoolean(p.trim());
+            String v = DBConnection.getConfig().getProperty("diagnostics.slowQueryMs");
+            if (v != null && !v.trim().isEmpty()) slowMs = Long.parseLong(v.trim());
+        } catch (Exception e) {
+            System.err.println("Using default diagnostics settings: " + e.getMessage());
+        }
+        this.enabled = on;
+        this.logParameters = params;
+        this.slowThresholdNanos = Math.max(0L, slowMs) * 1_000_000L;
+
+        if (enabled) {
+            try {
+                ManagementFactory.getPlatformMBeanServer()
+                        .registerMBean(this, new ObjectName("com.println:type=QueryMetrics"));
+            } catch (Exception e) {
+                System.err.println("Could not register QueryMetrics with JMX: " + e.getMessage());
+            }
+        }
+    }
+
+    public static QueryMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** False (the default) keeps bind values out of the slow-query log, stderr and JMX. */
+    public boolean isLogParameters() {
+        return logParameters;
+    }
+
+    // =============================================================
+    //  Recording (called from ConnectionPool's statement wrapper)
+    // =============================================================
+
+    /**
+     * Records one execute. {@code rows} is -1 for a query whose result set is
+     * still unread; {@link #addRows} fills it in later. Returns the slow-log
+     * entry if this execution was slow, else null.
+     */
+    SlowQuery record(String caller, String sql, List<Object> parameters, long nanos, long rows, Throwable error) {
+        String key = normalize(sql);
+        String message = error != null ? error.getMessage() : null;
+
+        statementCount.incrementAndGet();
+        if (error != null) errorCount.incrementAndGet();
+        counter(byStatement, key).add(nanos, rows, message);
+        counter(byCaller, caller).add(nanos, rows, message);
+
+        if (nanos < slowThresholdNanos) return null;
+
+        slowCount.incrementAndGet();
+        SlowQuery entry = new SlowQuery(LocalDateTime.now(), caller, key, parameters, nanos / 1_000_000.0, rows, message);
+        synchronized (slowLog) {
+            slowLog.addFirst(entry);
+            if (slowLog.size() > SLOW_LOG_SIZE) slowLog.removeLast();
+        }
+        System.err.println("Slow query: " + entry);
+        return entry;
+    }
+
+    /** Adds the rows read from a result set once it is exhausted or closed. */
+    void addRows(String caller, String sql, long rows, SlowQuery slowEntry) {
+        counter(byStatement, normalize(sql)).addRows(rows);
+        counter(byCaller, caller).addRows(rows);
+        if (slowEntry != null) slowEntry.setRows(rows);
+    }
+
+    /** "OrderDAO.getOrdersPage" for the first application frame below the JDBC wrappers. */
+    static String callerOf() {
+        return StackWalker.getInstance().walk(frames -> frames
+                .filter(f -> f.getClassName().startsWith("com.println.")
+                        && !f.getClassName().startsWith("com.println.config.ConnectionPool")
+                        && !f.getClassName().startsWith("com.println.config.QueryMetrics")
+                        && !f.getClassName().startsWith("com.println.config.TimedStatement"))
+                .findFirst()
+                .map(f -> {
+                    String cls = f.getClassName();
+                    cls = cls.substring(cls.lastIndexOf('.') + 1);
+                    int inner = cls.indexOf('$');
+                    if (inner > 0) cls = cls.substring(0, inner);
+                    String method = f.getMethodName();
+                    if (method.startsWith("lambda$")) {
+                        // lambda$loadOrdersFromDB$3 -> loadOrdersFromDB
+                        int end = method.indexOf('$', 7);
+                        method = end > 7 ? method.substring(7, end) : method;
+                    }
+                    return cls + "." + method;
+                })
+                .orElse("(unknown)"));
+    }
+
+    // =============================================================
+    //  Reading
+    // =============================================================
+
+    /** Per DAO/panel method, highest total time first. */
+    public List<QueryStats> getCallerStats() {
+        return snapshot(byCaller);
+    }
+
+    /** Per SQL statement, highest total time first. */
+    public List<QueryStats> getStatementStats() {
+        return snapshot(byStatement);
+    }
+
+    /** Newest first. */
+    public List<SlowQuery> getSlowQueryLog() {
+        synchronized (slowLog) {
+            return new ArrayList<>(slowLog);
+        }
+    }
+
+    // =============================================================
+    //  QueryMetricsMXBean
+    // =============================================================
+
+    @Override
+    public long getStatementCount() {
+        return statementCount.get();
+    }
+
+    @Override
+    public long getErrorCount() {
+        return errorCount.get();
+    }
+
+    @Override
+    public long getSlowQueryCount() {
+        return slowCount.get();
+    }
+
+    @Override
+    public long getSlowQueryThresholdMillis() {
+        return slowThresholdNanos / 1_000_000L;
+    }
+
+    @Override
+    public void setSlowQueryThresholdMillis(long millis) {
+        slowThresholdNanos = Math.max(0L, millis) * 1_000_000L;
+    }
+
+    @Override
+    public String[] getCallerSummary() {
+        return lines(getCallerStats());
+    }
+
+    @Override
+    public String[] getStatementSummary() {
+        return lines(getStatementStats());
+    }
+
+    @Override
+    public String[] getSlowQueries() {
+        List<SlowQuery> log = getSlowQueryLog();
+        String[] out = new String[log.size()];
+        for (int i = 0; i < out.length; i++) out[i] = log.get(i).toString();
+        return out;
+    }
+
+    @Override
+    public String getPoolSummary() {
+        PoolStats stats = DBConnection.getPoolStats();
+        return stats != null ? stats.toString() : "(pool not started)";
+    }
+
+    @Override
+    public void reset() {
+        byStatement.clear();
+        byCaller.clear();
+        statementCount.set(0);
+        errorCount.set(0);
+        slowCount.set(0);
+        synchronized (slowLog) {
+            slowLog.clear();
+        }
+    }
+
+    // =============================================================
+    //  Internals
+    // =============================================================
+
+    private static Counter counter(Map<String, Counter> map, String key) {
+        Counter c = map.get(key);
+        if (c != null) return c;
+        if (map.size() >= MAX_STATEMENTS) key = OTHER;
+        return map.computeIfAbsent(key, Counter::new);
+    }
+
+    private static List<QueryStats> snapshot(Map<String, Counter> map) {
+        List<QueryStats> list = new ArrayList<>(map.size());
+        for (Counter c : map.values()) list.add(c.snapshot());
+        list.sort(Comparator.comparingDouble(QueryStats::getTotalMillis).reversed());
+        return Collections.unmodifiableList(list);
+    }
+
+    private static String[] lines(List<QueryStats> stats) {
+        String[] out = new String[stats.size()];
+        for (int i = 0; i < out.length; i++) out[i] = stats.get(i).toString();
+        return out;
+    }
+
+    private static String normalize(String sql) {
+        if (sql == null) return "(batch)";
+        String s = WHITESPACE.matcher(sql.trim()).replaceAll(" ");
+        return PARAM_LIST.matcher(s).replaceAll("(?, ...)");
+    }
+
+    private static final class Counter {
+        private final String label;
+        private long count;
+        private long errors;
+        private long rows;
+        private long totalNanos;
+        private long maxNanos;
+        private final long[] buckets = new long[QueryStats.BUCKET_LIMITS_MS.length + 1];
+        private String lastError;
+
+        Counter(String label) {
+            this.label = label;
+        }
+
+        synchronized void add(long nanos, long rowCount, String error) {
+            count++;
+            totalNanos += nanos;
+            if (nanos > maxNanos) maxNanos = nanos;
+            if (rowCount > 0) rows += rowCount;
+            if (error != null) {
+                errors++;
+                lastError = error;
+            }
+            long millis = nanos / 1_000_000L;
+            int b = 0;
+            while (b < QueryStats.BUCKET_LIMITS_MS.length && millis >= QueryStats.BUCKET_LIMITS_MS[b]) b++;
+            buckets[b]++;
+        }
+
+        synchronized void addRows(long rowCount) {
+            rows += rowCount;
+        }
+
+        synchronized QueryStats snapshot() {
+            return new QueryStats(label, count, errors, rows, totalNanos, maxNanos, buckets.clone(), lastError);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.println.config;
+
+/**
+ * JMX view of {@link QueryMetrics}, registered as com.println:type=QueryMetrics
+ * (open it with JConsole or VisualVM on a running terminal).
+ */
+public interface QueryMetricsMXBean {
+
+    long getStatementCount();
+
+    long getErrorCount();
+
+    long getSlowQueryCount();
+
+    long getSlowQueryThresholdMillis();
+
+    void setSlowQueryThresholdMillis(long millis);
+
+    /** One line per DAO method, slowest total time first. */
+    String[] getCallerSummary();
+
+    /** One line per SQL statement, slowest total time first. */
+    String[] getStatementSummary();
+
+    /** The slow-query log, newest first. */
+    String[] getSlowQueries();
+
+    String getPoolSummary();
+
+    void reset();
+}
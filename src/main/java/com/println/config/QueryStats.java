@@ -0,0 +1,76 @@
+package com.println.config;
+
+/**
+ * Point-in-time snapshot of the timings {@link QueryMetrics} collected for
+ * one SQL statement or one calling DAO method.
+ */
+public class QueryStats {
+
+    /** Upper bounds (ms) of the latency histogram buckets; the last bucket is open-ended. */
+    public static final long[] BUCKET_LIMITS_MS = {1, 2, 5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000};
+
+    private final String label;
+    private final long count;
+    private final long errors;
+    private final long rows;
+    private final long totalNanos;
+    private final long maxNanos;
+    private final long[] buckets;
+    private final String lastError;
+
+    public QueryStats(String label, long count, long errors, long rows, long totalNanos, long maxNanos,
+                      long[] buckets, String lastError) {
+        this.label = label;
+        this.count = count;
+        this.errors = errors;
+        this.rows = rows;
+        this.totalNanos = totalNanos;
+        this.maxNanos = maxNanos;
+        this.buckets = buckets;
+        this.lastError = lastError;
+    }
+
+    public String getLabel() { return label; }
+    public long getCount() { return count; }
+    public long getErrors() { return errors; }
+    public long getRows() { return rows; }
+    public String getLastError() { return lastError; }
+
+    /** Executions per bucket of {@link #BUCKET_LIMITS_MS}, plus one for slower ones. */
+    public long[] getBuckets() { return buckets.clone(); }
+
+    public double getTotalMillis() {
+        return totalNanos / 1_000_000.0;
+    }
+
+    public double getAverageMillis() {
+        return count == 0 ? 0.0 : (totalNanos / (double) count) / 1_000_000.0;
+    }
+
+    public double getMaxMillis() {
+        return maxNanos / 1_000_000.0;
+    }
+
+    /**
+     * Upper bound (ms) of the bucket holding the given percentile (0-100),
+     * e.g. 25 means "at most 25 ms". Slower than the last bucket reports the max.
+     */
+    public double getPercentileMillis(double percentile) {
+        if (count == 0) return 0.0;
+        long rank = (long) Math.ceil(count * percentile / 100.0);
+        long seen = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            seen += buckets[i];
+            if (seen >= rank) {
+                return i < BUCKET_LIMITS_MS.length ? Math.min(BUCKET_LIMITS_MS[i], getMaxMillis()) : getMaxMillis();
+            }
+        }
+        return getMaxMillis();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: n=%d, avg=%.2fms, p95<=%.0fms, max=%.2fms, rows=%d, errors=%d",
+                label, count, getAverageMillis(), getPercentileMillis(95), getMaxMillis(), rows, errors);
+    }
+}
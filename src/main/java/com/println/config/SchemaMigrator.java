@@ -0,0 +1,195 @@
+package com.println.config;
+
+import java.io.BufferedReader;
+import java.io.FileNotFoundException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Brings an existing database up to the schema this build expects.
+ *
+ * Migrations are numbered SQL files under com/println/config/migrations,
+ * listed in {@link #MIGRATIONS} in the order they must run. Each one is
+ * applied once and recorded in the schema_migrations table; startup only
+ * costs one SELECT when everything is already applied. A MySQL named lock
+ * keeps two terminals that start together from running the same migration.
+ *
+ * DDL cannot be rolled back in MySQL, so a migration that failed halfway is
+ * simply run again next time; "index/column already exists" errors are
+ * treated as already done so that re-run (and databases created from a
+ * println_db.sql that already has the change) goes through.
+ */
+public final class SchemaMigrator {
+
+    // version, resource name; append only, never renumber
+    private static final String[][] MIGRATIONS = {
+        {"1", "V001__orders_cancelled_status.sql"},
+        {"2", "V002__query_indexes.sql"},
+        {"3", "V003__fulltext_search.sql"},
+        {"4", "V004__dashboard_metrics.sql"},
+        {"5", "V005__sales_rollups.sql"},
+    };
+
+    private static final String LOCK_NAME = "println_schema_migrations";
+    private static final int LOCK_TIMEOUT_SEC = 60;
+
+    // MySQL errors meaning the statement's change is already in place
+    private static final int ER_DUP_FIELDNAME = 1060;
+    private static final int ER_DUP_KEYNAME = 1061;
+    private static final int ER_CANT_DROP_FIELD_OR_KEY = 1091;
+
+    private static final String CREATE_TABLE_SQL =
+            "CREATE TABLE IF NOT EXISTS schema_migrations ("
+          + "version INT PRIMARY KEY, "
+          + "name VARCHAR(100) NOT NULL, "
+          + "applied_at DATETIME DEFAULT CURRENT_TIMESTAMP)";
+
+    private SchemaMigrator() {}
+
+    /**
+     * Applies pending migrations unless db.migrations.enabled=false.
+     * Returns the number applied, or -1 if the database could not be migrated
+     * (the app keeps running on the old schema; the error is logged).
+     */
+    public static int migrate() {
+        try {
+            String enabled = DBConnection.getConfig().getProperty("db.migrations.enabled", "true");
+            if (!Boolean.parseBoolean(enabled.trim())) return 0;
+        } catch (Exception e) {
+            System.err.println("Using default migration setting: " + e.getMessage());
+        }
+
+        try (Connection conn = DBConnection.getConnection()) {
+            if (conn == null) return -1;
+            return migrate(conn);
+        } catch (SQLException e) {
+            System.err.println("Error migrating database schema: " + e.getMessage());
+            return -1;
+        }
+    }
+
+    static int migrate(Connection conn) throws SQLException {
+        if (!acquireLock(conn)) {
+            System.err.println("Schema migration skipped: another terminal is migrating.");
+            return 0;
+        }
+        try {
+            try (Statement st = conn.createStatement()) {
+                st.execute(CREATE_TABLE_SQL);
+            }
+            Set<Integer> applied = appliedVersions(conn);
+
+            int count = 0;
+            for (String[] m : MIGRATIONS) {
+                int version = Integer.parseInt(m[0]);
+                if (applied.contains(version)) continue;
+
+                long start = System.currentTimeMillis();
+                apply(conn, m[1]);
+                record(conn, version, m[1]);
+                count++;
+                System.out.println("Applied schema migration " + m[1]
+                        + " (" + (System.currentTimeMillis() - start) + " ms)");
+            }
+            return count;
+        } finally {
+            releaseLock(conn);
+        }
+    }
+
+    private static void apply(Connection conn, String resource) throws SQLException {
+        List<String> statements;
+        try {
+            statements = readStatements(resource);
+        } catch (Exception e) {
+            throw new SQLException("Cannot read migration " + resource + ": " + e.getMessage(), e);
+        }
+
+        try (Statement st = conn.createStatement()) {
+            for (String sql : statements) {
+                try {
+                    st.execute(sql);
+                } catch (SQLException e) {
+                    int code = e.getErrorCode();
+                    if (code != ER_DUP_FIELDNAME && code != ER_DUP_KEYNAME && code != ER_CANT_DROP_FIELD_OR_KEY) {
+                        throw new SQLException(resource + ": " + e.getMessage(), e.getSQLState(), code, e);
+                    }
+                }
+            }
+        }
+    }
+
+    // Statements end with ';' at the end of a line; whole-line "--" comments are skipped
+    static List<String> readStatements(String resource) throws Exception {
+        List<String> statements = new ArrayList<>();
+        try (InputStream in = SchemaMigrator.class.getResourceAsStream("migrations/" + resource)) {
+            if (in == null) {
+                throw new FileNotFoundException("Migration not found: " + resource);
+            }
+            BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+            StringBuilder current = new StringBuilder();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String trimmed = line.trim();
+                if (trimmed.isEmpty() || trimmed.startsWith("--")) continue;
+
+                if (current.length() > 0) current.append('\n');
+                current.append(line);
+                if (trimmed.endsWith(";")) {
+                    current.setLength(current.lastIndexOf(";"));
+                    statements.add(current.toString().trim());
+                    current.setLength(0);
+                }
+            }
+            if (current.toString().trim().length() > 0) statements.add(current.toString().trim());
+        }
+        return statements;
+    }
+
+    private static Set<Integer> appliedVersions(Connection conn) throws SQLException {
+        Set<Integer> versions = new HashSet<>();
+        try (Statement st = conn.createStatement();
+             ResultSet rs = st.executeQuery("SELECT version FROM schema_migrations")) {
+            while (rs.next()) versions.add(rs.getInt(1));
+        }
+        return versions;
+    }
+
+    private static void record(Connection conn, int version, String name) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement(
+                "INSERT INTO schema_migrations (version, name) VALUES (?, ?)")) {
+            ps.setInt(1, version);
+            ps.setString(2, name);
+            ps.executeUpdate();
+        }
+    }
+
+    private static boolean acquireLock(Connection conn) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement("SELECT GET_LOCK(?, ?)")) {
+            ps.setString(1, LOCK_NAME);
+            ps.setInt(2, LOCK_TIMEOUT_SEC);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() && rs.getInt(1) == 1;
+            }
+        }
+    }
+
+    private static void releaseLock(Connection conn) {
+        try (PreparedStatement ps = conn.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+            ps.setString(1, LOCK_NAME);
+            ps.executeQuery().close();
+        } catch (SQLException e) {
+            System.err.println("Error releasing migration lock: " + e.getMessage());
+        }
+    }
+}
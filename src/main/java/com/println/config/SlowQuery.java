@@ -0,0 +1,49 @@
+package com.println.config;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * One entry of the slow-query log kept by {@link QueryMetrics}: a statement
+ * that took longer than diagnostics.slowQueryMs, with its bind parameters
+ * (empty unless diagnostics.logParameters is on).
+ */
+public class SlowQuery {
+
+    private final LocalDateTime time;
+    private final String caller;
+    private final String sql;
+    private final List<Object> parameters;
+    private final double millis;
+    private final String error;
+    private volatile long rows;
+
+    SlowQuery(LocalDateTime time, String caller, String sql, List<Object> parameters,
+              double millis, long rows, String error) {
+        this.time = time;
+        this.caller = caller;
+        this.sql = sql;
+        this.parameters = parameters;
+        this.millis = millis;
+        this.rows = rows;
+        this.error = error;
+    }
+
+    public LocalDateTime getTime() { return time; }
+    public String getCaller() { return caller; }
+    public String getSql() { return sql; }
+    public List<Object> getParameters() { return parameters; }
+    public double getMillis() { return millis; }
+    public String getError() { return error; }
+
+    /** Rows returned or affected; -1 while a result set is still being read. */
+    public long getRows() { return rows; }
+
+    void setRows(long rows) { this.rows = rows; }
+
+    @Override
+    public String toString() {
+        return String.format("%s %.1fms %s rows=%d %s %s%s", time.withNano(0), millis, caller, rows, sql, parameters,
+                error != null ? " ERROR " + error : "");
+    }
+}
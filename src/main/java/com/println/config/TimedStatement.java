@@ -0,0 +1,225 @@
+package com.println.config;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Blob;
+import java.sql.CallableStatement;
+import java.sql.Clob;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Wraps a Statement handed out by {@link ConnectionPool} so that every
+ * execute is timed and reported to {@link QueryMetrics}. Bind parameters are
+ * remembered for the slow-query log only when diagnostics.logParameters is on,
+ * and are masked for any statement that mentions a password. Rows are counted
+ * as the caller reads the result set. Everything else passes straight through.
+ */
+final class TimedStatement implements InvocationHandler {
+
+    private static final int MAX_PARAM_TEXT = 200;
+    private static final String MASKED = "***";
+    // Login checks and user create/update: never keep these values, whatever the setting
+    private static final Pattern SENSITIVE_SQL = Pattern.compile("(?i)passw(or)?d");
+
+    private final Statement target;
+    private final Connection connection;   // the pooled proxy, not the physical connection
+    private final String preparedSql;      // null for a plain Statement
+    private final String caller;
+    private final QueryMetrics metrics;
+    private final List<Object> parameters = new ArrayList<>();
+    private final boolean captureParameters;
+    private final boolean maskParameters;
+    private Object self;
+
+    // Result set from the last execute(), reported when getResultSet() is called
+    private String pendingSql;
+    private SlowQuery pendingSlowEntry;
+
+    private TimedStatement(Statement target, Connection connection, String preparedSql, String caller) {
+        this.target = target;
+        this.connection = connection;
+        this.preparedSql = preparedSql;
+        this.caller = caller;
+        this.metrics = QueryMetrics.getInstance();
+        this.captureParameters = metrics.isLogParameters() && preparedSql != null;
+        this.maskParameters = captureParameters && SENSITIVE_SQL.matcher(preparedSql).find();
+    }
+
+    /** Returns a proxy of the same JDBC interface as {@code target}. */
+    static Statement wrap(Statement target, Connection connection, String preparedSql) {
+        Class<?> type = target instanceof CallableStatement ? CallableStatement.class
+                : target instanceof PreparedStatement ? PreparedStatement.class
+                : Statement.class;
+        TimedStatement handler = new TimedStatement(target, connection, preparedSql, QueryMetrics.callerOf());
+        Statement proxy = (Statement) Proxy.newProxyInstance(
+                Statement.class.getClassLoader(), new Class<?>[]{type}, handler);
+        handler.self = proxy;
+        return proxy;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        String name = method.getName();
+
+        if (name.startsWith("execute")) {
+            return execute(method, args);
+        }
+        switch (name) {
+            case "getResultSet": {
+                ResultSet rs = (ResultSet) call(method, args);
+                if (rs == null || pendingSql == null) return rs;
+                ResultSet counted = countRows(rs, pendingSql, pendingSlowEntry);
+                pendingSql = null;
+                pendingSlowEntry = null;
+                return counted;
+            }
+            case "getConnection":
+                return connection;
+            case "clearParameters":
+                parameters.clear();
+                break;
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "toString":
+                return "TimedStatement[" + target + "]";
+            default:
+                // setString(1, ...), setInt(2, ...), setNull(3, ...): remember by index
+                if (captureParameters && name.startsWith("set") && args != null && args.length >= 2
+                        && method.getParameterTypes()[0] == int.class
+                        && PreparedStatement.class.isAssignableFrom(method.getDeclaringClass())) {
+                    remember((Integer) args[0], name.equals("setNull") ? null : args[1]);
+                }
+                break;
+        }
+        return call(method, args);
+    }
+
+    private Object execute(Method method, Object[] args) throws Throwable {
+        String sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : preparedSql;
+        long start = System.nanoTime();
+        Object result;
+        try {
+            result = method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            metrics.record(caller, sql, snapshotParameters(), System.nanoTime() - start, 0, e.getCause());
+            throw e.getCause();
+        }
+        long nanos = System.nanoTime() - start;
+
+        if (result instanceof ResultSet) {
+            SlowQuery slow = metrics.record(caller, sql, snapshotParameters(), nanos, -1, null);
+            return countRows((ResultSet) result, sql, slow);
+        }
+
+        long rows = 0;
+        if (result instanceof Integer || result instanceof Long) {
+            rows = ((Number) result).longValue();
+        } else if (result instanceof int[]) {
+            for (int n : (int[]) result) if (n > 0) rows += n;
+        } else if (result instanceof long[]) {
+            for (long n : (long[]) result) if (n > 0) rows += n;
+        } else if (Boolean.TRUE.equals(result)) {
+            // execute() produced a result set; its rows are counted via getResultSet()
+            pendingSql = sql;
+            pendingSlowEntry = metrics.record(caller, sql, snapshotParameters(), nanos, -1, null);
+            return result;
+        } else if (Boolean.FALSE.equals(result)) {
+            rows = Math.max(0, target.getUpdateCount());
+        }
+        metrics.record(caller, sql, snapshotParameters(), nanos, rows, null);
+        return result;
+    }
+
+    private Object call(Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private void remember(int index, Object value) {
+        while (parameters.size() < index) parameters.add(null);
+        parameters.set(index - 1, maskParameters ? MASKED : describe(value));
+    }
+
+    private List<Object> snapshotParameters() {
+        return parameters.isEmpty() ? List.of() : new ArrayList<>(parameters);
+    }
+
+    // Keep the slow-query log small: no streams or whole documents
+    private static Object describe(Object value) {
+        if (value instanceof InputStream || value instanceof Reader || value instanceof Blob
+                || value instanceof Clob || value instanceof byte[]) {
+            return "<" + value.getClass().getSimpleName() + ">";
+        }
+        if (value instanceof String && ((String) value).length() > MAX_PARAM_TEXT) {
+            return ((String) value).substring(0, MAX_PARAM_TEXT) + "...";
+        }
+        return value;
+    }
+
+    // Counts next() == true and reports the total once the set is exhausted or closed
+    private ResultSet countRows(ResultSet rs, String sql, SlowQuery slowEntry) {
+        InvocationHandler handler = new InvocationHandler() {
+            private long rows;
+            private boolean reported;
+
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                switch (method.getName()) {
+                    case "next": {
+                        boolean more = (Boolean) call(method, args);
+                        if (more) {
+                            rows++;
+                        } else {
+                            report();
+                        }
+                        return more;
+                    }
+                    case "close":
+                        report();
+                        break;
+                    case "getStatement":
+                        return self;
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    default:
+                        break;
+                }
+                return call(method, args);
+            }
+
+            private void report() {
+                if (reported) return;
+                reported = true;
+                metrics.addRows(caller, sql, rows, slowEntry);
+            }
+
+            private Object call(Method method, Object[] args) throws Throwable {
+                try {
+                    return method.invoke(rs, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            }
+        };
+        return (ResultSet) Proxy.newProxyInstance(
+                ResultSet.class.getClassLoader(), new Class<?>[]{ResultSet.class}, handler);
+    }
+}
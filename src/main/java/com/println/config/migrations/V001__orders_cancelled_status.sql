@@ -0,0 +1,6 @@
+-- =============================================================
+-- V001: orders.status gains 'Cancelled'
+-- (databases created before OrderDAO.cancelOrder existed)
+-- =============================================================
+ALTER TABLE orders
+    MODIFY COLUMN status ENUM('Pending', 'In Progress', 'Completed', 'Cancelled') DEFAULT 'Pending';
@@ -0,0 +1,33 @@
+-- =============================================================
+-- V002: indexes for the predicates and sorts the DAOs and panels use
+-- (primary keys, UNIQUE columns and foreign keys are indexed already)
+-- =============================================================
+
+-- Order history: ORDER BY order_date DESC (getAllOrders, searchOrders) and
+-- the (order_date, order_id) seek in getOrdersPage
+CREATE INDEX idx_orders_date_id ON orders (order_date, order_id);
+
+-- getOrdersPage with a status filter: equality on status, then the same seek
+CREATE INDEX idx_orders_status_date_id ON orders (status, order_date, order_id);
+
+-- Details by order (getOrderDetails, getOrderDetailsForOrders, the
+-- inventory deduct/restore joins); covers product_id and quantity so those
+-- joins never read the detail rows themselves. Replaces the implicit index
+-- behind fk_orderdetails_order.
+CREATE INDEX idx_order_details_order_product ON order_details (order_id, product_id, quantity);
+
+-- Customer lookups and sorting by name
+CREATE INDEX idx_customers_name ON customers (name);
+
+-- Inventory filtered by category; changed-row polling in
+-- InventoryDAO.getInventoryChangesSince (date_updated >= ? OR date_added >= ?)
+CREATE INDEX idx_inventory_category ON inventory (category);
+CREATE INDEX idx_inventory_date_updated ON inventory (date_updated);
+CREATE INDEX idx_inventory_date_added ON inventory (date_added);
+
+-- Staff list in SettingsPanel (WHERE role = ? ORDER BY username / date_created)
+CREATE INDEX idx_users_role_username ON users (role, username);
+CREATE INDEX idx_users_role_created ON users (role, date_created);
+
+-- Activity log by time
+CREATE INDEX idx_logs_timestamp ON logs (timestamp);
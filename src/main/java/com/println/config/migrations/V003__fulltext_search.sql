@@ -0,0 +1,7 @@
+-- =============================================================
+-- V003: FULLTEXT indexes for CustomerDAO.searchCustomers and
+-- OrderDAO.searchOrders (MATCH ... AGAINST in boolean mode)
+-- =============================================================
+ALTER TABLE customers ADD FULLTEXT INDEX ft_customers_search (name, email, contact_no);
+
+ALTER TABLE orders ADD FULLTEXT INDEX ft_orders_search (order_reference, remarks);
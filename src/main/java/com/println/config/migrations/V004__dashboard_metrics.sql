@@ -0,0 +1,36 @@
+-- =============================================================
+-- V004: KPI summary read by DashboardPanel. The DAOs keep these
+-- rows up to date in the same transaction as each write (see
+-- DashboardMetrics); the statements below take the starting
+-- values from one full count.
+-- =============================================================
+CREATE TABLE IF NOT EXISTS dashboard_metrics (
+    metrics_id TINYINT PRIMARY KEY,
+    total_customers INT NOT NULL DEFAULT 0,
+    total_products INT NOT NULL DEFAULT 0,
+    low_stock_items INT NOT NULL DEFAULT 0,
+    pending_orders INT NOT NULL DEFAULT 0,
+    date_counted DATETIME DEFAULT NULL
+);
+
+CREATE TABLE IF NOT EXISTS dashboard_monthly_revenue (
+    month_start DATE PRIMARY KEY,
+    revenue DECIMAL(14,2) NOT NULL DEFAULT 0.00,
+    completed_orders INT NOT NULL DEFAULT 0
+);
+
+REPLACE INTO dashboard_metrics (metrics_id, total_customers, total_products, low_stock_items, pending_orders, date_counted)
+SELECT 1,
+       (SELECT COUNT(*) FROM customers),
+       (SELECT COUNT(*) FROM products),
+       (SELECT COUNT(*) FROM inventory WHERE status IN ('Low', 'Out of Stock')),
+       (SELECT COUNT(*) FROM orders WHERE status = 'Pending'),
+       NOW();
+
+DELETE FROM dashboard_monthly_revenue;
+
+INSERT INTO dashboard_monthly_revenue (month_start, revenue, completed_orders)
+SELECT DATE_FORMAT(order_date, '%Y-%m-01'), SUM(total_amount), COUNT(*)
+FROM orders
+WHERE status = 'Completed'
+GROUP BY DATE_FORMAT(order_date, '%Y-%m-01');
@@ -0,0 +1,48 @@
+-- =============================================================
+-- V005: daily sales rollups read by ReportsPanel. OrderDAO keeps
+-- them current as orders enter or leave Completed (see
+-- SalesRollup); the statements below fill in the existing history
+-- with the same totals SalesRollup.rebuild computes.
+-- =============================================================
+CREATE TABLE IF NOT EXISTS sales_daily_orders (
+    sale_date DATE NOT NULL,
+    user_id INT NOT NULL,
+    printed_by INT NOT NULL DEFAULT 0,
+    payment_method VARCHAR(30) NOT NULL DEFAULT '',
+    orders_count INT NOT NULL DEFAULT 0,
+    quantity INT NOT NULL DEFAULT 0,
+    revenue DECIMAL(14,2) NOT NULL DEFAULT 0.00,
+    PRIMARY KEY (sale_date, user_id, printed_by, payment_method)
+);
+
+CREATE TABLE IF NOT EXISTS sales_daily_products (
+    sale_date DATE NOT NULL,
+    product_id INT NOT NULL,
+    category VARCHAR(50) NOT NULL DEFAULT '',
+    orders_count INT NOT NULL DEFAULT 0,
+    quantity INT NOT NULL DEFAULT 0,
+    gross DECIMAL(14,2) NOT NULL DEFAULT 0.00,
+    revenue DECIMAL(14,2) NOT NULL DEFAULT 0.00,
+    PRIMARY KEY (sale_date, product_id)
+);
+
+DELETE FROM sales_daily_orders;
+
+INSERT INTO sales_daily_orders (sale_date, user_id, printed_by, payment_method, orders_count, quantity, revenue)
+SELECT DATE(order_date), user_id, COALESCE(printed_by, 0), COALESCE(payment_method, ''),
+       COUNT(*), SUM(quantity_total), SUM(total_amount)
+FROM orders
+WHERE status = 'Completed'
+GROUP BY DATE(order_date), user_id, COALESCE(printed_by, 0), COALESCE(payment_method, '');
+
+DELETE FROM sales_daily_products;
+
+INSERT INTO sales_daily_products (sale_date, product_id, category, orders_count, quantity, gross, revenue)
+SELECT DATE(o.order_date), od.product_id, COALESCE(MAX(p.category), ''),
+       COUNT(DISTINCT o.order_id), SUM(od.quantity), SUM(od.subtotal),
+       SUM(od.subtotal - od.subtotal * (od.discount / 100) + od.tax)
+FROM orders o
+JOIN order_details od ON od.order_id = o.order_id
+LEFT JOIN products p ON p.product_id = od.product_id
+WHERE o.status = 'Completed'
+GROUP BY DATE(o.order_date), od.product_id;
@@ -14,8 +14,9 @@ public class CustomerDAO {
                 + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
 
         try (Connection conn = DBConnection.getConnection();
-            PreparedStatement ps = conn.prepareStatement(sql)) {
+            PreparedStatement ps = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
 
+            conn.setAutoCommit(false);
             ps.setString(1, customer.getName());
             ps.setString(2, customer.getContactNo());
             ps.setString(3, customer.getEmail());
@@ -30,6 +31,14 @@ public class CustomerDAO {
             ps.setInt(10, customer.getCreatedBy());
 
             int rows = ps.executeUpdate();
+            DashboardMetrics.add(conn, DashboardMetrics.CUSTOMERS, rows);
+            conn.commit();
+            if (rows > 0) {
+                try (ResultSet keys = ps.getGeneratedKeys()) {
+                    if (keys.next()) customer.setCustomerId(keys.getInt(1));
+                }
+                CustomerSearchIndex.getInstance().put(customer);
+            }
             return rows > 0;
 
         } catch (SQLException e) {
@@ -98,7 +107,9 @@ public class CustomerDAO {
             ps.setString(9, customer.getCustomerType());
             ps.setInt(10, customer.getCustomerId());
 
-            return ps.executeUpdate() > 0;
+            boolean ok = ps.executeUpdate() > 0;
+            if (ok) CustomerSearchIndex.getInstance().put(customer);
+            return ok;
 
         } catch (SQLException e) {
             System.err.println("Error updating customer: " + e.getMessage());
@@ -113,8 +124,14 @@ public class CustomerDAO {
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement ps = conn.prepareStatement(sql)) {
 
+            conn.setAutoCommit(false);
             ps.setInt(1, id);
-            return ps.executeUpdate() > 0;
+            int rows = ps.executeUpdate();
+            DashboardMetrics.add(conn, DashboardMetrics.CUSTOMERS, -rows);
+            conn.commit();
+            boolean ok = rows > 0;
+            if (ok) CustomerSearchIndex.getInstance().remove(id);
+            return ok;
 
         } catch (SQLException e) {
             System.err.println("Error deleting customer: " + e.getMessage());
@@ -123,7 +140,45 @@ public class CustomerDAO {
     }
 
     // --- SEARCH ---
+    /**
+     * Customers whose name, email or contact number match {@code keyword},
+     * best match first. Uses the ft_customers_search FULLTEXT index; keywords
+     * with no word of at least 3 characters (and databases without the index)
+     * fall back to a LIKE '%keyword%' scan.
+     */
     public List<Customer> searchCustomers(String keyword) {
+        String query = FullTextQuery.build(keyword);
+        if (query == null) return searchCustomersLike(keyword);
+
+        List<Customer> list = new ArrayList<>();
+        String sql = "SELECT *, MATCH(name, email, contact_no) AGAINST(? IN BOOLEAN MODE) AS relevance " +
+                     "FROM customers WHERE MATCH(name, email, contact_no) AGAINST(? IN BOOLEAN MODE) " +
+                     "ORDER BY relevance DESC, name";
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+
+            ps.setString(1, query);
+            ps.setString(2, query);
+
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    list.add(extractCustomer(rs));
+                }
+            }
+
+        } catch (SQLException e) {
+            if (e.getErrorCode() == FullTextQuery.ER_FT_MATCHING_KEY_NOT_FOUND) {
+                return searchCustomersLike(keyword);
+            }
+            System.err.println("Error searching customers: " + e.getMessage());
+        }
+
+        return list;
+    }
+
+    // Substring match on every row; used for one- and two-letter keywords
+    private List<Customer> searchCustomersLike(String keyword) {
         List<Customer> list = new ArrayList<>();
         String sql = "SELECT * FROM customers WHERE name LIKE ? OR email LIKE ? OR contact_no LIKE ?";
 
@@ -0,0 +1,280 @@
+package com.println.dao;
+
+import com.println.model.Customer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory search over customer name, contact_no and email for autocomplete.
+ *
+ * Queries of three or more characters are answered from a trigram index:
+ * only the customers listed under the query's least common trigram are
+ * checked, with a plain substring match. One- and two-character queries use
+ * an index of word prefixes instead. Matches are
+ * ranked (exact name, name prefix, word prefix, name substring, then contact
+ * or email) and only the top N are returned.
+ *
+ * The index is filled by {@link #rebuild} from a full customer list and kept
+ * current by CustomerDAO, which calls {@link #put} after an insert or update
+ * and {@link #remove} after a delete.
+ */
+public final class CustomerSearchIndex {
+
+    /** One search result; the name is what the autocomplete shows. */
+    public static final class Match {
+        private final int customerId;
+        private final String name;
+
+        Match(int customerId, String name) {
+            this.customerId = customerId;
+            this.name = name;
+        }
+
+        public int getCustomerId() { return customerId; }
+        public String getName() { return name; }
+    }
+
+    private static final class Entry {
+        final int id;
+        final String name;
+        final String nameKey;     // lower-cased name
+        final String contactKey;  // digits only
+        final String emailKey;    // lower-cased email
+        final long[] grams;       // distinct trigram keys of the three fields
+        final long[] prefixes;    // distinct 1- and 2-character word prefixes
+
+        Entry(Customer c) {
+            this.id = c.getCustomerId();
+            this.name = c.getName() != null ? c.getName() : "";
+            this.nameKey = normalize(c.getName());
+            this.contactKey = digits(c.getContactNo());
+            this.emailKey = normalize(c.getEmail());
+
+            Set<Long> g = new HashSet<>();
+            Set<Long> p = new HashSet<>();
+            for (String field : new String[] {nameKey, contactKey, emailKey}) {
+                addTrigrams(field, g);
+                for (String word : WORD_SEPARATOR.split(field)) {
+                    if (word.isEmpty()) continue;
+                    p.add(key(word, 0, 1));
+                    if (word.length() > 1) p.add(key(word, 0, 2));
+                }
+            }
+            this.grams = toArray(g);
+            this.prefixes = toArray(p);
+        }
+    }
+
+    /** Unordered, growable list of customer ids (no boxing). */
+    private static final class IdList {
+        int[] ids = new int[4];
+        int size;
+
+        void add(int id) {
+            if (size == ids.length) ids = Arrays.copyOf(ids, size * 2);
+            ids[size++] = id;
+        }
+
+        void remove(int id) {
+            for (int i = 0; i < size; i++) {
+                if (ids[i] == id) {
+                    ids[i] = ids[--size];
+                    return;
+                }
+            }
+        }
+    }
+
+    private static final CustomerSearchIndex INSTANCE = new CustomerSearchIndex();
+
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    // All guarded by this
+    private final Map<Integer, Entry> byId = new HashMap<>();
+    private final Map<Long, IdList> trigramPostings = new HashMap<>();
+    private final Map<Long, IdList> prefixPostings = new HashMap<>();
+
+    private CustomerSearchIndex() {}
+
+    public static CustomerSearchIndex getInstance() {
+        return INSTANCE;
+    }
+
+    /** Replaces the whole index, e.g. after CustomerDAO.getAllCustomers(). */
+    public synchronized void rebuild(Collection<Customer> customers) {
+        byId.clear();
+        trigramPostings.clear();
+        prefixPostings.clear();
+        for (Customer c : customers) {
+            add(new Entry(c));
+        }
+    }
+
+    /** Adds a customer, or re-indexes it if the id is already known. */
+    public synchronized void put(Customer customer) {
+        if (customer == null || customer.getCustomerId() <= 0) return;
+        removeEntry(customer.getCustomerId());
+        add(new Entry(customer));
+    }
+
+    public synchronized void remove(int customerId) {
+        removeEntry(customerId);
+    }
+
+    public synchronized int size() {
+        return byId.size();
+    }
+
+    /** Best {@code limit} matches for {@code query}, best first. */
+    public synchronized List<Match> search(String query, int limit) {
+        String q = normalize(query);
+        if (q.isEmpty() || limit <= 0) return new ArrayList<>();
+        String qDigits = digits(query);
+
+        // Candidates come from the rarest trigram (or the word-prefix list for
+        // short queries); score() then checks each one with a real substring match.
+        IdList candidates;
+        IdList extra = null;
+        if (q.length() < 3) {
+            candidates = prefixPostings.get(key(q, 0, q.length()));
+        } else {
+            candidates = rarest(q);
+            if (qDigits.length() >= 3 && !qDigits.equals(q)) {
+                // "0917-123" should still find contact 09171234567: search digits separately
+                extra = rarest(qDigits);
+            }
+        }
+
+        // Keep the best `limit` by (score, name length, name); worst on top of the heap
+        PriorityQueue<Object[]> best = new PriorityQueue<>(limit + 1,
+                (a, b) -> compareRank((Entry) b[0], (Integer) b[1], (Entry) a[0], (Integer) a[1]));
+
+        Set<Integer> seen = extra != null ? new HashSet<>() : null;
+        for (IdList list : new IdList[] {candidates, extra}) {
+            if (list == null) continue;
+            for (int i = 0; i < list.size; i++) {
+                int id = list.ids[i];
+                if (seen != null && !seen.add(id)) continue;
+                Entry e = byId.get(id);
+                int score = score(e, q, qDigits);
+                if (score < 0) continue;
+                best.add(new Object[] {e, score});
+                if (best.size() > limit) best.poll();
+            }
+        }
+
+        List<Match> result = new ArrayList<>(best.size());
+        while (!best.isEmpty()) {
+            Entry e = (Entry) best.poll()[0];
+            result.add(new Match(e.id, e.name));
+        }
+        Collections.reverse(result);
+        return result;
+    }
+
+    // Lower is better; -1 means the candidate does not actually match
+    private static int score(Entry e, String q, String qDigits) {
+        if (e.nameKey.equals(q)) return 0;
+        if (e.nameKey.startsWith(q)) return 1;
+        if (e.nameKey.contains(" " + q)) return 2;
+        if (e.nameKey.contains(q)) return 3;
+        if (e.emailKey.startsWith(q)) return 4;
+        if (!qDigits.isEmpty() && e.contactKey.startsWith(qDigits)) return 4;
+        if (e.emailKey.contains(q)) return 5;
+        if (!qDigits.isEmpty() && e.contactKey.contains(qDigits)) return 5;
+        // Short queries come from the word-prefix index (e.g. "jo" in "mary-jo")
+        if (q.length() < 3) return 6;
+        return -1;
+    }
+
+    private static int compareRank(Entry a, int scoreA, Entry b, int scoreB) {
+        if (scoreA != scoreB) return Integer.compare(scoreA, scoreB);
+        if (a.name.length() != b.name.length()) return Integer.compare(a.name.length(), b.name.length());
+        return a.nameKey.compareTo(b.nameKey);
+    }
+
+    // Posting list of the query's least common trigram; null if some trigram never occurs
+    private IdList rarest(String q) {
+        IdList best = null;
+        for (int i = 0; i + 3 <= q.length(); i++) {
+            IdList list = trigramPostings.get(key(q, i, i + 3));
+            if (list == null) return null;
+            if (best == null || list.size < best.size) best = list;
+        }
+        return best;
+    }
+
+    private void add(Entry e) {
+        byId.put(e.id, e);
+        for (long g : e.grams) {
+            trigramPostings.computeIfAbsent(g, k -> new IdList()).add(e.id);
+        }
+        for (long p : e.prefixes) {
+            prefixPostings.computeIfAbsent(p, k -> new IdList()).add(e.id);
+        }
+    }
+
+    private void removeEntry(int id) {
+        Entry old = byId.remove(id);
+        if (old == null) return;
+        for (long g : old.grams) {
+            dropPosting(trigramPostings, g, id);
+        }
+        for (long p : old.prefixes) {
+            dropPosting(prefixPostings, p, id);
+        }
+    }
+
+    private static void dropPosting(Map<Long, IdList> postings, long key, int id) {
+        IdList ids = postings.get(key);
+        if (ids == null) return;
+        ids.remove(id);
+        if (ids.size == 0) postings.remove(key);
+    }
+
+    private static void addTrigrams(String s, Set<Long> out) {
+        for (int i = 0; i + 3 <= s.length(); i++) {
+            out.add(key(s, i, i + 3));
+        }
+    }
+
+    // Packs up to three UTF-16 chars into one long, so grams need no String objects
+    private static long key(String s, int from, int to) {
+        long k = to - from;
+        for (int i = from; i < to; i++) {
+            k = (k << 16) | s.charAt(i);
+        }
+        return k;
+    }
+
+    private static long[] toArray(Set<Long> keys) {
+        long[] out = new long[keys.size()];
+        int i = 0;
+        for (Long k : keys) out[i++] = k;
+        return out;
+    }
+
+    private static String normalize(String s) {
+        return s == null ? "" : s.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String digits(String s) {
+        if (s == null) return "";
+        StringBuilder sb = new StringBuilder(s.length());
+        for (int i = 0; i < s.length(); i++) {
+            char ch = s.charAt(i);
+            if (ch >= '0' && ch <= '9') sb.append(ch);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,39 @@
+package com.println.dao;
+
+import com.println.config.DBConnection;
+import com.println.model.DashboardSummary;
+import java.sql.*;
+
+public class DashboardDAO {
+
+    // One primary-key row plus this month's revenue row, however large the history gets
+    private static final String SUMMARY_SQL =
+            "SELECT m.total_customers, m.total_products, m.low_stock_items, m.pending_orders, " +
+            "       COALESCE(r.revenue, 0) AS monthly_revenue, COALESCE(r.completed_orders, 0) AS completed_orders " +
+            "FROM dashboard_metrics m " +
+            "LEFT JOIN dashboard_monthly_revenue r ON r.month_start = DATE_FORMAT(CURDATE(), '%Y-%m-01') " +
+            "WHERE m.metrics_id = 1";
+
+    // --- KPIs kept up to date by DashboardMetrics; null if they cannot be read ---
+    public DashboardSummary getSummary() {
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement ps = conn.prepareStatement(SUMMARY_SQL);
+             ResultSet rs = ps.executeQuery()) {
+
+            if (!rs.next()) return null;
+
+            DashboardSummary s = new DashboardSummary();
+            s.setTotalCustomers(rs.getInt("total_customers"));
+            s.setTotalProducts(rs.getInt("total_products"));
+            s.setLowStockItems(rs.getInt("low_stock_items"));
+            s.setPendingOrders(rs.getInt("pending_orders"));
+            s.setMonthlyRevenue(rs.getBigDecimal("monthly_revenue"));
+            s.setCompletedThisMonth(rs.getInt("completed_orders"));
+            return s;
+
+        } catch (SQLException e) {
+            System.err.println("Error fetching dashboard summary: " + e.getMessage());
+        }
+        return null;
+    }
+}
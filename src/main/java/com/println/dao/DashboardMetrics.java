@@ -0,0 +1,114 @@
+package com.println.dao;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Keeps the dashboard KPIs in dashboard_metrics and dashboard_monthly_revenue
+ * up to date as the data changes.
+ *
+ * Every DAO write that changes a KPI calls in here on its own connection,
+ * before it commits, so a counter can never disagree with the rows it counts.
+ * The dashboard then reads one row instead of counting whole tables.
+ *
+ *   total_customers / total_products  - rows in customers / products
+ *   low_stock_items                   - inventory rows with status Low or Out of Stock
+ *   pending_orders                    - orders with status Pending
+ *   dashboard_monthly_revenue         - total_amount of Completed orders, by month of order_date
+ */
+final class DashboardMetrics {
+
+    static final String CUSTOMERS = "total_customers";
+    static final String PRODUCTS = "total_products";
+    static final String LOW_STOCK = "low_stock_items";
+    static final String PENDING_ORDERS = "pending_orders";
+
+    // Tables come from migration V004; without them writes go on and the dashboard shows nothing
+    private static final int ER_NO_SUCH_TABLE = 1146;
+
+    private static final String ORDER_MONTH_SQL =
+            "SELECT DATE_FORMAT(order_date, '%Y-%m-01') AS month_start, total_amount FROM orders WHERE order_id = ?";
+    private static final String ADD_REVENUE_SQL =
+            "INSERT INTO dashboard_monthly_revenue (month_start, revenue, completed_orders) VALUES (?, ?, ?) "
+          + "ON DUPLICATE KEY UPDATE revenue = revenue + ?, completed_orders = completed_orders + ?";
+
+    private static volatile boolean tablesMissing;
+
+    private DashboardMetrics() {}
+
+    /** Adds {@code delta} to one of the counters above. */
+    static void add(Connection conn, String counter, int delta) throws SQLException {
+        if (delta == 0 || tablesMissing) return;
+        String sql = "UPDATE dashboard_metrics SET " + counter + " = " + counter + " + ? WHERE metrics_id = 1";
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setInt(1, delta);
+            ps.executeUpdate();
+        } catch (SQLException e) {
+            if (!isMissingTable(e)) throw e;
+        }
+    }
+
+    /**
+     * Applies an order moving from {@code oldStatus} to {@code newStatus}
+     * (null for an order being added or deleted). Must run while the order
+     * row still exists, since the revenue month and amount are read from it.
+     */
+    static void orderStatusChanged(Connection conn, int orderId, String oldStatus, String newStatus) throws SQLException {
+        add(conn, PENDING_ORDERS, flag("Pending", newStatus) - flag("Pending", oldStatus));
+
+        int completed = flag("Completed", newStatus) - flag("Completed", oldStatus);
+        if (completed == 0 || tablesMissing) return;
+
+        try (PreparedStatement psOrder = conn.prepareStatement(ORDER_MONTH_SQL)) {
+            psOrder.setInt(1, orderId);
+            try (ResultSet rs = psOrder.executeQuery()) {
+                if (!rs.next()) return;
+                BigDecimal amount = rs.getBigDecimal("total_amount").multiply(BigDecimal.valueOf(completed));
+                try (PreparedStatement ps = conn.prepareStatement(ADD_REVENUE_SQL)) {
+                    ps.setString(1, rs.getString("month_start"));
+                    ps.setBigDecimal(2, amount);
+                    ps.setInt(3, completed);
+                    ps.setBigDecimal(4, amount);
+                    ps.setInt(5, completed);
+                    ps.executeUpdate();
+                }
+            }
+        } catch (SQLException e) {
+            if (!isMissingTable(e)) throw e;
+        }
+    }
+
+    /**
+     * Number of low-stock rows among the inventory selected by
+     * {@code idCondition} (e.g. "inventory_id = ?"), which binds one int.
+     * Callers count before and after a status recalculation and pass the
+     * difference to {@link #add}; the rows must already be locked by the
+     * caller's transaction so both counts see the latest values.
+     */
+    static int countLowStock(Connection conn, String idCondition, int param) throws SQLException {
+        if (tablesMissing) return 0;
+        String sql = "SELECT COUNT(*) FROM inventory WHERE status IN ('Low', 'Out of Stock') AND " + idCondition;
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setInt(1, param);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+        }
+    }
+
+    private static int flag(String status, String value) {
+        return status.equalsIgnoreCase(value) ? 1 : 0;
+    }
+
+    private static boolean isMissingTable(SQLException e) {
+        if (e.getErrorCode() != ER_NO_SUCH_TABLE) return false;
+        if (!tablesMissing) {
+            tablesMissing = true;
+            System.err.println("Dashboard metrics disabled: " + e.getMessage() + " (run the schema migrations)");
+        }
+        return true;
+    }
+}
@@ -0,0 +1,56 @@
+package com.println.dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Per-table change counters in the data_versions table.
+ *
+ * Writers bump a counter after changing a cached table; each terminal reads
+ * the counter (a single primary-key lookup) to find out cheaply whether its
+ * in-memory copy is stale.
+ */
+final class DataVersion {
+
+    static final String PRODUCTS = "products";
+
+    private static final String CREATE_TABLE_SQL =
+            "CREATE TABLE IF NOT EXISTS data_versions ("
+          + "table_name VARCHAR(50) PRIMARY KEY, "
+          + "version BIGINT NOT NULL DEFAULT 0)";
+
+    private static volatile boolean tableChecked;
+
+    private DataVersion() {}
+
+    static long read(Connection conn, String table) throws SQLException {
+        ensureTable(conn);
+        try (PreparedStatement ps = conn.prepareStatement("SELECT version FROM data_versions WHERE table_name = ?")) {
+            ps.setString(1, table);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : 0L;
+            }
+        }
+    }
+
+    static void bump(Connection conn, String table) throws SQLException {
+        ensureTable(conn);
+        try (PreparedStatement ps = conn.prepareStatement(
+                "INSERT INTO data_versions (table_name, version) VALUES (?, 1) "
+              + "ON DUPLICATE KEY UPDATE version = version + 1")) {
+            ps.setString(1, table);
+            ps.executeUpdate();
+        }
+    }
+
+    private static void ensureTable(Connection conn) throws SQLException {
+        if (tableChecked) return;
+        try (Statement st = conn.createStatement()) {
+            st.execute(CREATE_TABLE_SQL);
+        }
+        tableChecked = true;
+    }
+}
@@ -0,0 +1,38 @@
+package com.println.dao;
+
+import java.util.regex.Pattern;
+
+/**
+ * Turns a search box keyword into a MySQL boolean-mode FULLTEXT query.
+ *
+ * Every word becomes a required prefix term ("juan dela" -> "+juan* +dela*"),
+ * split the same way InnoDB splits indexed text (on anything that is not a
+ * letter or digit), so "ORD-2025" matches the reference ORD-20250114-0003.
+ * Words shorter than InnoDB's default innodb_ft_min_token_size are not in the
+ * index; if no word is long enough {@link #build} returns null and the caller
+ * falls back to a LIKE search.
+ */
+final class FullTextQuery {
+
+    static final int MIN_TOKEN_LENGTH = 3;
+
+    // InnoDB: "Can't find FULLTEXT index matching the column list" (index not created yet)
+    static final int ER_FT_MATCHING_KEY_NOT_FOUND = 1191;
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private FullTextQuery() {}
+
+    /** Boolean-mode query for {@code keyword}, or null when LIKE should be used instead. */
+    static String build(String keyword) {
+        if (keyword == null) return null;
+
+        StringBuilder sb = new StringBuilder();
+        for (String word : NON_WORD.split(keyword.trim())) {
+            if (word.length() < MIN_TOKEN_LENGTH) continue;
+            if (sb.length() > 0) sb.append(' ');
+            sb.append('+').append(word).append('*');
+        }
+        return sb.length() > 0 ? sb.toString() : null;
+    }
+}
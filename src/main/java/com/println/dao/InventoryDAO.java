@@ -2,12 +2,82 @@ package com.println.dao;
 
 import com.println.config.DBConnection;
 import com.println.model.Inventory;
+import com.println.model.InventoryChanges;
+import java.math.BigDecimal;
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
 
 public class InventoryDAO {
 
+    private static final String UPDATE_STATUS_SQL =
+            "UPDATE inventory " +
+            "SET " +
+            "   status = CASE " +
+            "       WHEN quantity <= 0 THEN 'Out of Stock' " +
+            "       WHEN quantity <= reorder_level THEN 'Low' " +
+            "       ELSE 'Available' " +
+            "   END, " +
+            "   date_updated = NOW() " +
+            "WHERE inventory_id = ?";
+
+    // --- ADD (row, its status and the low-stock counter in one transaction) ---
+    // Sets the generated id on inv.
+    public boolean addInventory(Inventory inv) {
+        String sql = "INSERT INTO inventory (item_name, description, category, unit, quantity, reorder_level, supplier_name, last_restock_date, cost_per_unit, remarks) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+        try (Connection conn = DBConnection.getConnection()) {
+            conn.setAutoCommit(false);
+
+            int newId;
+            try (PreparedStatement ps = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                bindInventory(ps, inv);
+                ps.executeUpdate();
+                try (ResultSet rs = ps.getGeneratedKeys()) {
+                    if (!rs.next()) {
+                        conn.rollback();
+                        return false;
+                    }
+                    newId = rs.getInt(1);
+                }
+            }
+            recalculateStatus(conn, newId, 0);
+
+            conn.commit();
+            inv.setInventoryId(newId);
+            return true;
+
+        } catch (SQLException e) {
+            System.err.println("Error adding inventory: " + e.getMessage());
+            return false;
+        }
+    }
+
+    // --- UPDATE (row, its status and the low-stock counter in one transaction) ---
+    public boolean updateInventory(Inventory inv) {
+        String sql = "UPDATE inventory SET item_name=?, description=?, category=?, unit=?, quantity=?, reorder_level=?, supplier_name=?, last_restock_date=?, cost_per_unit=?, remarks=? WHERE inventory_id=?";
+
+        try (Connection conn = DBConnection.getConnection()) {
+            conn.setAutoCommit(false);
+
+            int lowBefore = lockLowStock(conn, inv.getInventoryId());
+            int rows;
+            try (PreparedStatement ps = conn.prepareStatement(sql)) {
+                bindInventory(ps, inv);
+                ps.setInt(11, inv.getInventoryId());
+                rows = ps.executeUpdate();
+            }
+            recalculateStatus(conn, inv.getInventoryId(), lowBefore);
+
+            conn.commit();
+            return rows > 0;
+
+        } catch (SQLException e) {
+            System.err.println("Error updating inventory: " + e.getMessage());
+            return false;
+        }
+    }
+
     // --- GET ONE ---
     public Inventory getInventoryById(int id) {
         String sql = "SELECT * FROM inventory WHERE inventory_id = ?";
@@ -70,22 +140,63 @@ public class InventoryDAO {
         return list;
     }
 
+    // --- GET CHANGES (rows added/updated at or after `since`; all rows when since is null) ---
+    // Returns null on error so callers can tell a failed read from "nothing changed".
+    public InventoryChanges getInventoryChangesSince(Timestamp since) {
+        String sql = since == null
+                ? "SELECT * FROM inventory"
+                : "SELECT * FROM inventory WHERE date_updated >= ? OR date_added >= ?";
+
+        try (Connection conn = DBConnection.getConnection()) {
+
+            // Database clock first, so the next call's `since` can never skip a row written meanwhile
+            InventoryChanges changes;
+            try (Statement st = conn.createStatement();
+                 ResultSet rs = st.executeQuery("SELECT NOW(), COUNT(*), COALESCE(SUM(inventory_id), 0) FROM inventory")) {
+                rs.next();
+                changes = new InventoryChanges(rs.getTimestamp(1));
+                changes.setRowCount(rs.getLong(2));
+                changes.setIdSum(rs.getLong(3));
+            }
+
+            try (PreparedStatement ps = conn.prepareStatement(sql)) {
+                if (since != null) {
+                    ps.setTimestamp(1, since);
+                    ps.setTimestamp(2, since);
+                }
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        changes.getChanged().add(extractInventory(rs));
+                    }
+                }
+            }
+            return changes;
+
+        } catch (SQLException e) {
+            System.err.println("Error fetching inventory changes: " + e.getMessage());
+        }
+        return null;
+    }
+
     // --- DECREMENT STOCK (used when order is completed) ---
     public boolean decrementStock(int inventoryId, int quantity) {
         String sql = "UPDATE inventory SET quantity = quantity - ? WHERE inventory_id = ? AND quantity >= ?";
 
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
-
-            ps.setInt(1, quantity);
-            ps.setInt(2, inventoryId);
-            ps.setInt(3, quantity);
+        try (Connection conn = DBConnection.getConnection()) {
+            conn.setAutoCommit(false);
 
-            int rows = ps.executeUpdate();
-            if (rows > 0) {
-                updateInventoryStatus(inventoryId);
-                return true;
+            int lowBefore = lockLowStock(conn, inventoryId);
+            int rows;
+            try (PreparedStatement ps = conn.prepareStatement(sql)) {
+                ps.setInt(1, quantity);
+                ps.setInt(2, inventoryId);
+                ps.setInt(3, quantity);
+                rows = ps.executeUpdate();
             }
+            if (rows > 0) recalculateStatus(conn, inventoryId, lowBefore);
+
+            conn.commit();
+            return rows > 0;
 
         } catch (SQLException e) {
             System.err.println("Error decrementing stock: " + e.getMessage());
@@ -97,17 +208,20 @@ public class InventoryDAO {
     public boolean incrementStock(int inventoryId, int quantity) {
         String sql = "UPDATE inventory SET quantity = quantity + ? WHERE inventory_id = ?";
 
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
-
-            ps.setInt(1, quantity);
-            ps.setInt(2, inventoryId);
+        try (Connection conn = DBConnection.getConnection()) {
+            conn.setAutoCommit(false);
 
-            int rows = ps.executeUpdate();
-            if (rows > 0) {
-                updateInventoryStatus(inventoryId);
-                return true;
+            int lowBefore = lockLowStock(conn, inventoryId);
+            int rows;
+            try (PreparedStatement ps = conn.prepareStatement(sql)) {
+                ps.setInt(1, quantity);
+                ps.setInt(2, inventoryId);
+                rows = ps.executeUpdate();
             }
+            if (rows > 0) recalculateStatus(conn, inventoryId, lowBefore);
+
+            conn.commit();
+            return rows > 0;
 
         } catch (SQLException e) {
             System.err.println("Error incrementing stock: " + e.getMessage());
@@ -115,24 +229,16 @@ public class InventoryDAO {
         return false;
     }
 
+    // Recalculates status from quantity/reorder_level and moves the dashboard's
+    // low-stock counter by the change, in one transaction
     public void updateInventoryStatus(int inventoryId) {
-        String sql = 
-            "UPDATE inventory " +
-            "SET " +
-            "   status = CASE " +
-            "       WHEN quantity <= 0 THEN 'Out of Stock' " +
-            "       WHEN quantity <= reorder_level THEN 'Low' " +
-            "       ELSE 'Available' " +
-            "   END, " +
-            "   date_updated = NOW() " +
-            "WHERE inventory_id = ?";
+        try (Connection conn = DBConnection.getConnection()) {
+            conn.setAutoCommit(false);
 
-        try (Connection conn = DBConnection.getConnection();
-            PreparedStatement ps = conn.prepareStatement(sql)) {
+            int lowBefore = lockLowStock(conn, inventoryId);
+            int updated = recalculateStatus(conn, inventoryId, lowBefore);
 
-            ps.setInt(1, inventoryId);
-
-            int updated = ps.executeUpdate();
+            conn.commit();
             System.out.println("Status updated for ID " + inventoryId + ": rows=" + updated);
 
         } catch (SQLException e) {
@@ -140,6 +246,70 @@ public class InventoryDAO {
         }
     }
 
+    // --- DELETE ---
+    public boolean deleteInventory(int inventoryId) {
+        String sql = "DELETE FROM inventory WHERE inventory_id = ?";
+
+        try (Connection conn = DBConnection.getConnection()) {
+            conn.setAutoCommit(false);
+
+            int lowBefore = lockLowStock(conn, inventoryId);
+            int rows;
+            try (PreparedStatement ps = conn.prepareStatement(sql)) {
+                ps.setInt(1, inventoryId);
+                rows = ps.executeUpdate();
+            }
+            DashboardMetrics.add(conn, DashboardMetrics.LOW_STOCK, -lowBefore);
+
+            conn.commit();
+            return rows > 0;
+
+        } catch (SQLException e) {
+            System.err.println("Error deleting inventory: " + e.getMessage());
+            return false;
+        }
+    }
+
+    // Status from the row's quantity/reorder_level, and the low-stock counter moved by
+    // the difference from lowBefore; on the caller's transaction. Returns rows updated.
+    private int recalculateStatus(Connection conn, int inventoryId, int lowBefore) throws SQLException {
+        int updated;
+        try (PreparedStatement ps = conn.prepareStatement(UPDATE_STATUS_SQL)) {
+            ps.setInt(1, inventoryId);
+            updated = ps.executeUpdate();
+        }
+        DashboardMetrics.add(conn, DashboardMetrics.LOW_STOCK,
+                DashboardMetrics.countLowStock(conn, "inventory_id = ?", inventoryId) - lowBefore);
+        return updated;
+    }
+
+    // Parameters 1-10 of the INSERT and UPDATE statements (same column order)
+    private void bindInventory(PreparedStatement ps, Inventory inv) throws SQLException {
+        ps.setString(1, inv.getItemName());
+        ps.setString(2, inv.getDescription());
+        ps.setString(3, inv.getCategory());
+        ps.setString(4, inv.getUnit());
+        ps.setInt(5, inv.getQuantity());
+        ps.setInt(6, inv.getReorderLevel());
+        ps.setString(7, inv.getSupplierName());
+        if (inv.getLastRestockDate() != null) ps.setDate(8, Date.valueOf(inv.getLastRestockDate()));
+        else ps.setNull(8, Types.DATE);
+        ps.setBigDecimal(9, inv.getCostPerUnit() != null ? inv.getCostPerUnit() : BigDecimal.ZERO);
+        ps.setString(10, inv.getRemarks());
+    }
+
+    // Locks the row and returns 1 if it currently counts as low stock
+    private int lockLowStock(Connection conn, int inventoryId) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement("SELECT status FROM inventory WHERE inventory_id = ? FOR UPDATE")) {
+            ps.setInt(1, inventoryId);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (!rs.next()) return 0;
+                String status = rs.getString("status");
+                return "Low".equals(status) || "Out of Stock".equals(status) ? 1 : 0;
+            }
+        }
+    }
+
     // --- Helper method to map inventory object ---
     private Inventory extractInventory(ResultSet rs) throws SQLException {
         Inventory inv = new Inventory();
@@ -2,19 +2,49 @@ package com.println.dao;
 
 import com.println.config.DBConnection;
 import com.println.model.Order;
+import com.println.model.OrderCompletionResult;
 import com.println.model.OrderDetail;
+import com.println.model.OrderFilter;
+import com.println.model.OrderPage;
 import java.math.BigDecimal;
 import java.sql.*;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 
 
 public class OrderDAO {
 
+    // Max ids bound into one IN (...) list by getOrderDetailsForOrders
+    private static final int DETAILS_BATCH_SIZE = 500;
+
+    // Inventory items linked to an order's products (bind: order_id)
+    private static final String ORDER_INVENTORY_IDS_SQL =
+            "SELECT p.inventory_id FROM order_details od " +
+            "JOIN products p ON p.product_id = od.product_id " +
+            "WHERE od.order_id = ? AND p.inventory_id IS NOT NULL";
+
+    // Set-based status recalculation for every inventory row an order touches
+    private static final String UPDATE_INVENTORY_STATUS_FOR_ORDER_SQL =
+            "UPDATE inventory SET " +
+            "   status = CASE " +
+            "       WHEN quantity <= 0 THEN 'Out of Stock' " +
+            "       WHEN quantity <= reorder_level THEN 'Low' " +
+            "       ELSE 'Available' " +
+            "   END, " +
+            "   date_updated = NOW() " +
+            "WHERE inventory_id IN (" + ORDER_INVENTORY_IDS_SQL + ")";
+
+    private static final String INSERT_LOG_SQL = "INSERT INTO logs (user_id, action, description) VALUES (?, ?, ?)";
+
     /**
      * Add order and its details in a single transaction.
+     * Totals and quantity_total are computed in Java (see OrderTotals) and the
+     * reference comes from OrderReferenceAllocator, so the order row is written once.
      * Returns generated order_id on success, or -1 on failure.
      */
     public int addOrder(Order order) {
@@ -24,29 +54,39 @@ public class OrderDAO {
         String insertDetailSql = "INSERT INTO order_details (order_id, product_id, quantity, unit_price, material_used, discount, print_size, color_type, remarks, created_by, tax) "
                                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
 
+        List<OrderDetail> details = order.getDetails() != null ? order.getDetails() : new ArrayList<>();
+
+        // 1) Compute everything the old SUM/UPDATE round trips used to fix up
+        BigDecimal totalAmount = OrderTotals.orderTotal(details);
+        int totalQty = OrderTotals.quantityTotal(details);
+        String ref = order.getOrderReference();
+        String status = order.getStatus() != null ? order.getStatus() : "Pending";
+
         Connection conn = null;
         PreparedStatement psOrder = null;
         PreparedStatement psDetail = null;
         ResultSet rsOrderKeys = null;
 
         try {
+            // Reserved outside the order transaction so terminals never wait on each other
+            if (ref == null) ref = OrderReferenceAllocator.getInstance().next();
+
             conn = DBConnection.getConnection();
             conn.setAutoCommit(false); // start transaction
 
-            // 1) Insert minimal order row (we'll update totals and reference after inserting details)
+            // 2) Insert the complete order row
             psOrder = conn.prepareStatement(insertOrderSql, Statement.RETURN_GENERATED_KEYS);
             if (order.getCustomerId() != null) psOrder.setInt(1, order.getCustomerId()); else psOrder.setNull(1, Types.INTEGER);
             psOrder.setInt(2, order.getUserId());
             if (order.getDueDate() != null) psOrder.setDate(3, java.sql.Date.valueOf(order.getDueDate())); else psOrder.setNull(3, Types.DATE);
-            psOrder.setString(4, order.getStatus() != null ? order.getStatus() : "Pending");
-            // initial total_amount set to 0; will update after inserting details
-            psOrder.setBigDecimal(5, order.getTotalAmount() != null ? order.getTotalAmount() : BigDecimal.ZERO);
+            psOrder.setString(4, status);
+            psOrder.setBigDecimal(5, totalAmount);
             psOrder.setString(6, order.getPaymentStatus() != null ? order.getPaymentStatus() : "Unpaid");
             psOrder.setString(7, order.getPaymentMethod());
             psOrder.setBigDecimal(8, order.getDiscount() != null ? order.getDiscount() : BigDecimal.ZERO);
             psOrder.setString(9, order.getRemarks());
-            psOrder.setInt(10, order.getQuantityTotal()); // initial, may update later
-            psOrder.setString(11, order.getOrderReference()); // can be null; we'll generate and update later
+            psOrder.setInt(10, totalQty);
+            psOrder.setString(11, ref);
             if (order.getDateCompleted() != null) psOrder.setDate(12, java.sql.Date.valueOf(order.getDateCompleted())); else psOrder.setNull(12, Types.DATE);
             if (order.getPrintedBy() != null) psOrder.setInt(13, order.getPrintedBy()); else psOrder.setNull(13, Types.INTEGER);
 
@@ -57,13 +97,16 @@ public class OrderDAO {
             }
 
             rsOrderKeys = psOrder.getGeneratedKeys();
-            if (rsOrderKeys.next()) {
-                int generatedOrderId = rsOrderKeys.getInt(1);
+            if (!rsOrderKeys.next()) {
+                conn.rollback();
+                return -1;
+            }
+            int generatedOrderId = rsOrderKeys.getInt(1);
 
-                // 2) Insert each order detail
+            // 3) Insert all order details as one batch
+            if (!details.isEmpty()) {
                 psDetail = conn.prepareStatement(insertDetailSql);
-                int totalQty = 0;
-                for (OrderDetail d : order.getDetails()) {
+                for (OrderDetail d : details) {
                     psDetail.setInt(1, generatedOrderId);
                     psDetail.setInt(2, d.getProductId());
                     psDetail.setInt(3, d.getQuantity());
@@ -76,46 +119,24 @@ public class OrderDAO {
                     if (d.getCreatedBy() != null) psDetail.setInt(10, d.getCreatedBy()); else psDetail.setNull(10, Types.INTEGER);
                     psDetail.setBigDecimal(11, d.getTax() != null ? d.getTax() : BigDecimal.ZERO);
                     psDetail.addBatch();
-
-                    totalQty += d.getQuantity();
                 }
                 psDetail.executeBatch();
+            }
 
-                // 3) Compute totals (subtotal is GENERATED in DB; sum it from order_details)
-                BigDecimal totalAmount = BigDecimal.ZERO;
-                String totalSql = 
-                    "SELECT " +
-                    "COALESCE(SUM(subtotal - (subtotal * (discount / 100)) + tax), 0) AS total, " +
-                    "COALESCE(SUM(quantity), 0) AS qty_sum " +
-                    "FROM order_details WHERE order_id = ?";
-                try (PreparedStatement psTotal = conn.prepareStatement(totalSql)) {
-                    psTotal.setInt(1, generatedOrderId);
-                    try (ResultSet rsTotal = psTotal.executeQuery()) {
-                        if (rsTotal.next()) {
-                            totalAmount = rsTotal.getBigDecimal("total");
-                            totalQty = rsTotal.getInt("qty_sum");
-                        }
-                    }
-                }
+            // 4) Dashboard counters and sales rollups, in the same transaction
+            orderStatusChanged(conn, generatedOrderId, null, status);
 
-                // 4) Generate a readable order_reference and update order with totals & reference & qty
-                String ref = generateOrderReference(generatedOrderId);
-                String updateOrderSql = "UPDATE orders SET total_amount = ?, quantity_total = ?, order_reference = ? WHERE order_id = ?";
-                try (PreparedStatement psUpdate = conn.prepareStatement(updateOrderSql)) {
-                    psUpdate.setBigDecimal(1, totalAmount);
-                    psUpdate.setInt(2, totalQty);
-                    psUpdate.setString(3, ref);
-                    psUpdate.setInt(4, generatedOrderId);
-                    psUpdate.executeUpdate();
-                }
+            conn.commit();
 
-                conn.commit();
-                order.setOrderReference(ref);
-                return generatedOrderId;
-            } else {
-                conn.rollback();
-                return -1;
+            order.setOrderId(generatedOrderId);
+            order.setOrderReference(ref);
+            order.setTotalAmount(totalAmount);
+            order.setQuantityTotal(totalQty);
+            for (OrderDetail d : details) {
+                d.setOrderId(generatedOrderId);
+                d.setSubtotal(OrderTotals.lineSubtotal(d));
             }
+            return generatedOrderId;
 
         } catch (SQLException e) {
             System.err.println("Error adding order: " + e.getMessage());
@@ -130,15 +151,10 @@ public class OrderDAO {
             try {
                 if (conn != null) conn.setAutoCommit(true);
             } catch (SQLException ignored) {}
+            try { if (conn != null) conn.close(); } catch (SQLException ignored) {}
         }
     }
 
-    private String generateOrderReference(int orderId) {
-        DateTimeFormatter fmt = DateTimeFormatter.ofPattern("yyyyMMddHHmm");
-        String ts = LocalDateTime.now().format(fmt);
-        return "ORD-" + orderId + "-" + ts;
-    }
-
     // --- Get all orders (basic info) ---
     public List<Order> getAllOrders() {
         List<Order> list = new ArrayList<>();
@@ -178,6 +194,79 @@ public class OrderDAO {
         return list;
     }
 
+    /**
+     * One page of orders, newest first, matching {@code filter}.
+     *
+     * Keyset pagination: pass null/0 for the first page, then the previous
+     * page's getLastOrderDate()/getLastOrderId(). The seek on
+     * (order_date, order_id) uses idx_orders_date_id, so every page costs the
+     * same however far back the user scrolls. order_date always has a value
+     * (DEFAULT CURRENT_TIMESTAMP), which the seek relies on.
+     * Returns an empty page on error.
+     */
+    public OrderPage getOrdersPage(OrderFilter filter, LocalDateTime afterDate, int afterId, int pageSize) {
+        StringBuilder sql = new StringBuilder(
+                "SELECT o.*, c.name AS customer_name, u.username AS user_name " +
+                "FROM orders o LEFT JOIN customers c ON o.customer_id = c.customer_id " +
+                "LEFT JOIN users u ON o.user_id = u.user_id WHERE 1=1");
+        List<Object> params = new ArrayList<>();
+
+        if (afterDate != null) {
+            sql.append(" AND (o.order_date < ? OR (o.order_date = ? AND o.order_id < ?))");
+            params.add(Timestamp.valueOf(afterDate));
+            params.add(Timestamp.valueOf(afterDate));
+            params.add(afterId);
+        }
+        if (filter != null && filter.hasStatus()) {
+            sql.append(" AND o.status = ?");
+            params.add(filter.getStatus().trim());
+        }
+        if (filter != null && filter.getFromDate() != null) {
+            sql.append(" AND o.order_date >= ?");
+            params.add(Timestamp.valueOf(filter.getFromDate().atStartOfDay()));
+        }
+        if (filter != null && filter.getToDate() != null) {
+            sql.append(" AND o.order_date < ?");
+            params.add(Timestamp.valueOf(filter.getToDate().plusDays(1).atStartOfDay()));
+        }
+        if (filter != null && filter.hasKeyword()) {
+            sql.append(" AND (o.order_reference LIKE ? OR c.name LIKE ? OR DATE_FORMAT(o.order_date, '%Y-%m-%d %H:%i') LIKE ?)");
+            String like = "%" + filter.getKeyword().trim() + "%";
+            params.add(like);
+            params.add(like);
+            params.add(like);
+        }
+
+        // One extra row tells us whether another page exists
+        sql.append(" ORDER BY o.order_date DESC, o.order_id DESC LIMIT ?");
+        params.add(pageSize + 1);
+
+        OrderPage page = new OrderPage();
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql.toString())) {
+
+            for (int i = 0; i < params.size(); i++) {
+                ps.setObject(i + 1, params.get(i));
+            }
+
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    if (page.getOrders().size() == pageSize) {
+                        page.setHasMore(true);
+                        break;
+                    }
+                    Order o = extractOrder(rs);
+                    o.setCustomerName(rs.getString("customer_name"));
+                    page.getOrders().add(o);
+                }
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error fetching orders page: " + e.getMessage());
+        }
+        return page;
+    }
+
     // --- Get order by ID (with details) ---
     public Order getOrderById(int id) {
         String sql = "SELECT * FROM orders WHERE order_id = ?";
@@ -210,23 +299,7 @@ public class OrderDAO {
             ps.setInt(1, orderId);
             try (ResultSet rs = ps.executeQuery()) {
                 while (rs.next()) {
-                    OrderDetail d = new OrderDetail();
-                    d.setOrderDetailId(rs.getInt("orderdetail_id"));
-                    d.setOrderId(rs.getInt("order_id"));
-                    d.setProductId(rs.getInt("product_id"));
-                    d.setQuantity(rs.getInt("quantity"));
-                    d.setUnitPrice(rs.getBigDecimal("unit_price"));
-                    d.setSubtotal(rs.getBigDecimal("subtotal"));
-                    d.setMaterialUsed(rs.getString("material_used"));
-                    d.setDiscount(rs.getBigDecimal("discount"));
-                    d.setPrintSize(rs.getString("print_size"));
-                    d.setColorType(rs.getString("color_type"));
-                    d.setRemarks(rs.getString("remarks"));
-                    d.setCreatedAt(rs.getTimestamp("created_at") != null ? rs.getTimestamp("created_at").toLocalDateTime() : null);
-                    d.setCreatedBy(rs.getObject("created_by") != null ? rs.getInt("created_by") : null);
-                    d.setDateUpdated(rs.getTimestamp("date_updated") != null ? rs.getTimestamp("date_updated").toLocalDateTime() : null);
-                    d.setTax(rs.getBigDecimal("tax"));
-                    list.add(d);
+                    list.add(extractOrderDetail(rs));
                 }
             }
 
@@ -236,15 +309,69 @@ public class OrderDAO {
         return list;
     }
 
+    // --- Get order details (with product names) for many orders at once ---
+    // One query per DETAILS_BATCH_SIZE ids instead of one per order + one per line item.
+    public Map<Integer, List<OrderDetail>> getOrderDetailsForOrders(Collection<Integer> orderIds) {
+        Map<Integer, List<OrderDetail>> result = new HashMap<>();
+        if (orderIds == null || orderIds.isEmpty()) return result;
+
+        List<Integer> ids = new ArrayList<>(new LinkedHashSet<>(orderIds));
+
+        try (Connection conn = DBConnection.getConnection()) {
+            for (int from = 0; from < ids.size(); from += DETAILS_BATCH_SIZE) {
+                List<Integer> chunk = ids.subList(from, Math.min(from + DETAILS_BATCH_SIZE, ids.size()));
+
+                StringBuilder sql = new StringBuilder(
+                        "SELECT od.*, p.product_name FROM order_details od " +
+                        "LEFT JOIN products p ON od.product_id = p.product_id " +
+                        "WHERE od.order_id IN (");
+                for (int i = 0; i < chunk.size(); i++) {
+                    sql.append(i == 0 ? "?" : ", ?");
+                }
+                sql.append(") ORDER BY od.order_id, od.orderdetail_id");
+
+                try (PreparedStatement ps = conn.prepareStatement(sql.toString())) {
+                    for (int i = 0; i < chunk.size(); i++) {
+                        ps.setInt(i + 1, chunk.get(i));
+                    }
+                    try (ResultSet rs = ps.executeQuery()) {
+                        while (rs.next()) {
+                            OrderDetail d = extractOrderDetail(rs);
+                            d.setProductName(rs.getString("product_name"));
+                            result.computeIfAbsent(d.getOrderId(), k -> new ArrayList<>()).add(d);
+                        }
+                    }
+                }
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error fetching order details in bulk: " + e.getMessage());
+        }
+        return result;
+    }
+
     // --- Update order (status/payment) ---
+    // Not for Completed/Cancelled: those move stock, see completeOrderWithInventory and cancelOrder
     public boolean updateOrderStatus(int orderId, String status) {
         String sql = "UPDATE orders SET status = ? WHERE order_id = ?";
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+        try (Connection conn = DBConnection.getConnection()) {
+            conn.setAutoCommit(false);
 
-            ps.setString(1, status);
-            ps.setInt(2, orderId);
-            return ps.executeUpdate() > 0;
+            String oldStatus = lockOrderStatus(conn, orderId);
+            if (oldStatus == null || movesStock(orderId, oldStatus, status)) {
+                conn.rollback();
+                return false;
+            }
+
+            try (PreparedStatement ps = conn.prepareStatement(sql)) {
+                ps.setString(1, status);
+                ps.setInt(2, orderId);
+                ps.executeUpdate();
+            }
+            orderStatusChanged(conn, orderId, oldStatus, status);
+
+            conn.commit();
+            return true;
 
         } catch (SQLException e) {
             System.err.println("Error updating order status: " + e.getMessage());
@@ -254,13 +381,24 @@ public class OrderDAO {
 
     public boolean updatePayment(int orderId, String paymentStatus, String paymentMethod) {
         String sql = "UPDATE orders SET payment_status = ?, payment_method = ? WHERE order_id = ?";
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+        try (Connection conn = DBConnection.getConnection()) {
+            conn.setAutoCommit(false);
+
+            // A completed order's sale is filed under its payment method: move it along
+            boolean completed = "Completed".equalsIgnoreCase(lockOrderStatus(conn, orderId));
+            if (completed) SalesRollup.applyOrder(conn, orderId, -1);
 
-            ps.setString(1, paymentStatus);
-            ps.setString(2, paymentMethod);
-            ps.setInt(3, orderId);
-            return ps.executeUpdate() > 0;
+            int rows;
+            try (PreparedStatement ps = conn.prepareStatement(sql)) {
+                ps.setString(1, paymentStatus);
+                ps.setString(2, paymentMethod);
+                ps.setInt(3, orderId);
+                rows = ps.executeUpdate();
+            }
+            if (completed) SalesRollup.applyOrder(conn, orderId, 1);
+
+            conn.commit();
+            return rows > 0;
 
         } catch (SQLException e) {
             System.err.println("Error updating payment: " + e.getMessage());
@@ -271,11 +409,24 @@ public class OrderDAO {
     // --- Delete order (order_details will be deleted by ON DELETE CASCADE) ---
     public boolean deleteOrder(int orderId) {
         String sql = "DELETE FROM orders WHERE order_id = ?";
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+        try (Connection conn = DBConnection.getConnection()) {
+            conn.setAutoCommit(false);
 
-            ps.setInt(1, orderId);
-            return ps.executeUpdate() > 0;
+            String oldStatus = lockOrderStatus(conn, orderId);
+            if (oldStatus == null) {
+                conn.rollback();
+                return false;
+            }
+
+            // Counters and rollups first: they read the row being deleted
+            orderStatusChanged(conn, orderId, oldStatus, null);
+            try (PreparedStatement ps = conn.prepareStatement(sql)) {
+                ps.setInt(1, orderId);
+                ps.executeUpdate();
+            }
+
+            conn.commit();
+            return true;
 
         } catch (SQLException e) {
             System.err.println("Error deleting order: " + e.getMessage());
@@ -284,7 +435,57 @@ public class OrderDAO {
     }
 
     // --- Search orders by customer name or order_reference ---
+    /**
+     * Orders whose reference or remarks, or whose customer's name, email or
+     * contact number, match {@code keyword}; best match first, then newest.
+     * Each side is answered from its FULLTEXT index (ft_orders_search,
+     * ft_customers_search) and the two are merged by order_id. Keywords with
+     * no word of at least 3 characters (and databases without the indexes)
+     * fall back to the LIKE '%keyword%' scan.
+     */
     public List<Order> searchOrders(String keyword) {
+        String query = FullTextQuery.build(keyword);
+        if (query == null) return searchOrdersLike(keyword);
+
+        List<Order> list = new ArrayList<>();
+        // UNION ALL rather than OR: MySQL can only use a FULLTEXT index when MATCH is the whole WHERE
+        String sql =
+                "SELECT o.* FROM (" +
+                "  SELECT order_id, MAX(relevance) AS relevance FROM (" +
+                "    SELECT order_id, MATCH(order_reference, remarks) AGAINST(? IN BOOLEAN MODE) AS relevance " +
+                "    FROM orders WHERE MATCH(order_reference, remarks) AGAINST(? IN BOOLEAN MODE)" +
+                "    UNION ALL " +
+                "    SELECT o2.order_id, MATCH(c.name, c.email, c.contact_no) AGAINST(? IN BOOLEAN MODE) " +
+                "    FROM customers c JOIN orders o2 ON o2.customer_id = c.customer_id " +
+                "    WHERE MATCH(c.name, c.email, c.contact_no) AGAINST(? IN BOOLEAN MODE)" +
+                "  ) hits GROUP BY order_id" +
+                ") m JOIN orders o ON o.order_id = m.order_id " +
+                "ORDER BY m.relevance DESC, o.order_date DESC, o.order_id DESC";
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+
+            for (int i = 1; i <= 4; i++) {
+                ps.setString(i, query);
+            }
+
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    list.add(extractOrder(rs));
+                }
+            }
+
+        } catch (SQLException e) {
+            if (e.getErrorCode() == FullTextQuery.ER_FT_MATCHING_KEY_NOT_FOUND) {
+                return searchOrdersLike(keyword);
+            }
+            System.err.println("Error searching orders: " + e.getMessage());
+        }
+        return list;
+    }
+
+    // Substring match on every row; used for one- and two-letter keywords
+    private List<Order> searchOrdersLike(String keyword) {
         List<Order> list = new ArrayList<>();
         String sql = "SELECT o.* FROM orders o LEFT JOIN customers c ON o.customer_id = c.customer_id " +
                      "WHERE c.name LIKE ? OR o.order_reference LIKE ? ORDER BY o.order_date DESC";
@@ -309,123 +510,341 @@ public class OrderDAO {
     }
 
     public boolean completeOrder(int orderId, Integer completedBy) {
-        String sql = "UPDATE orders SET status = 'Completed', date_completed = CURDATE(), printed_by = ? WHERE order_id = ?";
+        return completeOrderWithInventory(orderId, completedBy).isSuccess();
+    }
 
-        try (Connection conn = DBConnection.getConnection();
-            PreparedStatement ps = conn.prepareStatement(sql)) {
+    /**
+     * Completes an order and deducts the stock of every linked inventory item
+     * in one transaction. Product -> inventory links are resolved with one join,
+     * stock is checked against the locked inventory rows, the guarded decrements
+     * go out as one JDBC batch, and inventory.status is
+     * recalculated with one set-based UPDATE. If any line lacks stock the whole
+     * completion is rolled back; the result lists what happened per line.
+     * Completed and Cancelled orders are refused.
+     */
+    public OrderCompletionResult completeOrderWithInventory(int orderId, Integer completedBy) {
+        OrderCompletionResult result = new OrderCompletionResult(orderId);
+
+        String sqlLines =
+                "SELECT od.orderdetail_id, od.product_id, od.quantity, p.product_name, p.inventory_id " +
+                "FROM order_details od " +
+                "LEFT JOIN products p ON p.product_id = od.product_id " +
+                "WHERE od.order_id = ? ORDER BY od.orderdetail_id";
+        String sqlDecrement = "UPDATE inventory SET quantity = quantity - ? WHERE inventory_id = ? AND quantity >= ?";
+        String sqlComplete = "UPDATE orders SET status = 'Completed', date_completed = CURDATE(), printed_by = ? WHERE order_id = ?";
+
+        Connection conn = null;
+        try {
+            conn = DBConnection.getConnection();
+            conn.setAutoCommit(false);
+
+            // 1) Lock the order row so two terminals cannot complete it twice
+            String orderStatus = lockOrderStatus(conn, orderId);
+            if (orderStatus == null) {
+                conn.rollback();
+                result.setMessage("Order not found.");
+                return result;
+            }
+            if ("Completed".equalsIgnoreCase(orderStatus)) {
+                conn.rollback();
+                result.setMessage("Order is already completed; inventory was not deducted again.");
+                return result;
+            }
+            if ("Cancelled".equalsIgnoreCase(orderStatus)) {
+                conn.rollback();
+                result.setMessage("Order is cancelled and cannot be completed.");
+                return result;
+            }
+
+            // 2) Resolve all lines and their inventory links in one query
+            try (PreparedStatement ps = conn.prepareStatement(sqlLines)) {
+                ps.setInt(1, orderId);
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        Integer invId = rs.getObject("inventory_id") != null ? rs.getInt("inventory_id") : null;
+                        result.getLines().add(new OrderCompletionResult.LineResult(
+                                rs.getInt("orderdetail_id"), rs.getInt("product_id"),
+                                rs.getString("product_name"), invId, rs.getInt("quantity")));
+                    }
+                }
+            }
 
-            if (completedBy != null) {
-                ps.setInt(1, completedBy);
-            } else {
-                ps.setNull(1, java.sql.Types.INTEGER);
+            // 3) Check stock under row locks first: with rewriteBatchedStatements the
+            //    batch may report SUCCESS_NO_INFO, which says nothing about whether a
+            //    guarded decrement matched, so the counts alone cannot be trusted
+            List<OrderCompletionResult.LineResult> stocked = new ArrayList<>();
+            for (OrderCompletionResult.LineResult line : result.getLines()) {
+                if (line.getInventoryId() != null) stocked.add(line);
+            }
+            if (!stocked.isEmpty()) {
+                Map<Integer, Integer> available = lockInventoryQuantities(conn, stocked);
+                for (OrderCompletionResult.LineResult line : stocked) {
+                    // Lines sharing an inventory item draw from the same running balance
+                    int left = available.getOrDefault(line.getInventoryId(), 0);
+                    if (left >= line.getQuantity()) {
+                        available.put(line.getInventoryId(), left - line.getQuantity());
+                        line.setStatus(OrderCompletionResult.LineStatus.DEDUCTED);
+                    } else {
+                        line.setStatus(OrderCompletionResult.LineStatus.INSUFFICIENT_STOCK);
+                    }
+                }
             }
 
-            ps.setInt(2, orderId);
+            List<OrderCompletionResult.LineResult> shortLines =
+                    result.getLines(OrderCompletionResult.LineStatus.INSUFFICIENT_STOCK);
+            if (!shortLines.isEmpty()) {
+                conn.rollback();
+                result.setMessage("Not enough stock for " + shortLines.size() + " line(s); nothing was deducted.");
+                return result;
+            }
 
-            int rows = ps.executeUpdate();
-            return rows > 0;
+            // 4) All guarded decrements as one batch; the rows are locked and checked,
+            //    so only a count of 0 or EXECUTE_FAILED would signal a problem
+            if (!stocked.isEmpty()) {
+                try (PreparedStatement ps = conn.prepareStatement(sqlDecrement)) {
+                    for (OrderCompletionResult.LineResult line : stocked) {
+                        ps.setInt(1, line.getQuantity());
+                        ps.setInt(2, line.getInventoryId());
+                        ps.setInt(3, line.getQuantity());
+                        ps.addBatch();
+                    }
+                    int[] counts = ps.executeBatch();
+                    for (int i = 0; i < stocked.size(); i++) {
+                        if (counts[i] == 0 || counts[i] == Statement.EXECUTE_FAILED) {
+                            conn.rollback();
+                            stocked.get(i).setStatus(OrderCompletionResult.LineStatus.INSUFFICIENT_STOCK);
+                            result.setMessage("Stock changed while completing the order; nothing was deducted.");
+                            return result;
+                        }
+                    }
+                }
+            }
+
+            // 5) Recalculate status for every touched inventory row at once
+            if (!stocked.isEmpty()) {
+                updateInventoryStatusForOrder(conn, orderId);
+            }
+
+            // 6) Mark the order completed
+            try (PreparedStatement ps = conn.prepareStatement(sqlComplete)) {
+                if (completedBy != null) ps.setInt(1, completedBy); else ps.setNull(1, Types.INTEGER);
+                ps.setInt(2, orderId);
+                ps.executeUpdate();
+            }
+            orderStatusChanged(conn, orderId, orderStatus, "Completed");
+
+            conn.commit();
+            result.setSuccess(true);
+            return result;
 
         } catch (SQLException e) {
             System.err.println("Error completing order: " + e.getMessage());
-            return false;
+            try { if (conn != null) conn.rollback(); } catch (SQLException ex) { System.err.println("Rollback failed: " + ex.getMessage()); }
+            result.setSuccess(false);
+            result.setMessage(e.getMessage());
+            return result;
+        } finally {
+            try { if (conn != null) conn.setAutoCommit(true); } catch (SQLException ignored) {}
+            try { if (conn != null) conn.close(); } catch (SQLException ignored) {}
         }
     }
 
-    public boolean revertInventoryForOrder(int orderId, Integer revertedBy) {
-        Connection conn = null;
-        PreparedStatement psSelectDetails = null;
-        PreparedStatement psGetProduct = null;
-        PreparedStatement psUpdateInventory = null;
-        PreparedStatement psInsertLog = null;
-        PreparedStatement psGetInventoryAfter = null;
-        PreparedStatement psUpdateStatus = null;
-        ResultSet rsDetails = null;
-        ResultSet rsProduct = null;
-
-        String sqlSelectDetails = "SELECT product_id, quantity FROM order_details WHERE order_id = ?";
-        String sqlGetProduct = "SELECT inventory_id FROM products WHERE product_id = ?";
-        String sqlUpdateInventory = "UPDATE inventory SET quantity = quantity + ? WHERE inventory_id = ?";
-        String sqlGetInventoryAfter = "SELECT quantity, reorder_level FROM inventory WHERE inventory_id = ?";
-        String sqlUpdateStatus = "UPDATE inventory SET status = ? WHERE inventory_id = ?";
-        String sqlInsertLog = "INSERT INTO logs (user_id, action, description) VALUES (?, ?, ?)";
+    /**
+     * Cancels an order atomically. Stock is only given back when the order was
+     * Completed: completeOrderWithInventory is the only way into Completed (the
+     * plain updateOrderStatus refuses it), and it deducts the stock. Increments,
+     * status recalculation, the status change and all log rows commit together.
+     */
+    public boolean cancelOrder(int orderId, Integer cancelledBy) {
+        String sqlLockOrder = "SELECT status FROM orders WHERE order_id = ? FOR UPDATE";
+        String sqlCancel = "UPDATE orders SET status = 'Cancelled' WHERE order_id = ?";
 
+        Connection conn = null;
         try {
             conn = DBConnection.getConnection();
             conn.setAutoCommit(false);
 
-            psSelectDetails = conn.prepareStatement(sqlSelectDetails);
-            psSelectDetails.setInt(1, orderId);
-            rsDetails = psSelectDetails.executeQuery();
-
-            psGetProduct = conn.prepareStatement(sqlGetProduct);
-            psUpdateInventory = conn.prepareStatement(sqlUpdateInventory);
-            psInsertLog = conn.prepareStatement(sqlInsertLog);
-            psGetInventoryAfter = conn.prepareStatement(sqlGetInventoryAfter);
-            psUpdateStatus = conn.prepareStatement(sqlUpdateStatus);
-
-            while (rsDetails.next()) {
-                int productId = rsDetails.getInt("product_id");
-                int qtyToReturn = rsDetails.getInt("quantity");
-
-                // Get linked inventory item for product
-                psGetProduct.setInt(1, productId);
-                rsProduct = psGetProduct.executeQuery();
-
-                if (rsProduct.next()) {
-                    Integer inventoryId = rsProduct.getObject("inventory_id") != null ? rsProduct.getInt("inventory_id") : null;
-                    if (inventoryId != null) {
-                        // Restore stock
-                        psUpdateInventory.setInt(1, qtyToReturn);
-                        psUpdateInventory.setInt(2, inventoryId);
-                        psUpdateInventory.executeUpdate();
-
-                        // Get updated quantity and reorder level
-                        psGetInventoryAfter.setInt(1, inventoryId);
-                        try (ResultSet rsInv = psGetInventoryAfter.executeQuery()) {
-                            if (rsInv.next()) {
-                                int qty = rsInv.getInt("quantity");
-                                int reorder = rsInv.getInt("reorder_level");
-                                String newStatus = (qty == 0) ? "Out of Stock" : (qty <= reorder ? "Low" : "Available");
-
-                                psUpdateStatus.setString(1, newStatus);
-                                psUpdateStatus.setInt(2, inventoryId);
-                                psUpdateStatus.executeUpdate();
-
-                                // Log the restoration
-                                String action = "Inventory Revert";
-                                String desc = String.format("Order %d cancelled: Restored %d units to inventory_id=%d (new qty=%d)",
-                                        orderId, qtyToReturn, inventoryId, qty);
-                                if (revertedBy != null) psInsertLog.setInt(1, revertedBy);
-                                else psInsertLog.setNull(1, java.sql.Types.INTEGER);
-                                psInsertLog.setString(2, action);
-                                psInsertLog.setString(3, desc);
-                                psInsertLog.executeUpdate();
-                            }
-                        }
+            String status;
+            try (PreparedStatement ps = conn.prepareStatement(sqlLockOrder)) {
+                ps.setInt(1, orderId);
+                try (ResultSet rs = ps.executeQuery()) {
+                    if (!rs.next()) {
+                        conn.rollback();
+                        System.err.println("Order #" + orderId + " not found.");
+                        return false;
                     }
+                    status = rs.getString("status");
                 }
-                if (rsProduct != null) { rsProduct.close(); rsProduct = null; }
+            }
+
+            // Already cancelled: nothing to restore a second time
+            if ("Cancelled".equalsIgnoreCase(status)) {
+                conn.rollback();
+                return true;
+            }
+
+            try (PreparedStatement psLog = conn.prepareStatement(INSERT_LOG_SQL)) {
+                if ("Completed".equalsIgnoreCase(status)) {
+                    restoreInventory(conn, psLog, orderId, cancelledBy);
+                }
+
+                try (PreparedStatement ps = conn.prepareStatement(sqlCancel)) {
+                    ps.setInt(1, orderId);
+                    ps.executeUpdate();
+                }
+                orderStatusChanged(conn, orderId, status, "Cancelled");
+
+                addLog(psLog, cancelledBy, "Order Status Change",
+                        String.format("Order #%d status changed to '%s'", orderId, "Cancelled"));
+                psLog.executeBatch();
             }
 
             conn.commit();
-            System.out.println("🔄 Inventory successfully reverted for cancelled order #" + orderId);
+            System.out.println("✅ Order #" + orderId + " cancelled.");
             return true;
 
         } catch (SQLException e) {
-            System.err.println("Error reverting inventory for order: " + e.getMessage());
+            System.err.println("Error cancelling order: " + e.getMessage());
             try { if (conn != null) conn.rollback(); } catch (SQLException ex) { System.err.println("Rollback failed: " + ex.getMessage()); }
             return false;
         } finally {
-            try { if (rsDetails != null) rsDetails.close(); } catch (Exception ignored) {}
-            try { if (rsProduct != null) rsProduct.close(); } catch (Exception ignored) {}
-            try { if (psSelectDetails != null) psSelectDetails.close(); } catch (Exception ignored) {}
-            try { if (psGetProduct != null) psGetProduct.close(); } catch (Exception ignored) {}
-            try { if (psUpdateInventory != null) psUpdateInventory.close(); } catch (Exception ignored) {}
-            try { if (psInsertLog != null) psInsertLog.close(); } catch (Exception ignored) {}
             try { if (conn != null) conn.setAutoCommit(true); } catch (Exception ignored) {}
+            try { if (conn != null) conn.close(); } catch (Exception ignored) {}
+        }
+    }
+
+    // Adds each line's quantity back to its inventory item on the caller's transaction.
+    // Log rows are only queued on psLog; the caller executes the batch.
+    private void restoreInventory(Connection conn, PreparedStatement psLog, int orderId, Integer userId) throws SQLException {
+        String sqlLines =
+                "SELECT od.quantity, p.inventory_id FROM order_details od " +
+                "JOIN products p ON p.product_id = od.product_id " +
+                "WHERE od.order_id = ? AND p.inventory_id IS NOT NULL ORDER BY od.orderdetail_id";
+        String sqlIncrement = "UPDATE inventory SET quantity = quantity + ? WHERE inventory_id = ?";
+        String sqlQuantities = "SELECT inventory_id, quantity FROM inventory WHERE inventory_id IN (" + ORDER_INVENTORY_IDS_SQL + ")";
+
+        // 1) Lines with their inventory ids, resolved by a join
+        List<int[]> lines = new ArrayList<>(); // {inventory_id, quantity}
+        try (PreparedStatement ps = conn.prepareStatement(sqlLines)) {
+            ps.setInt(1, orderId);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    lines.add(new int[]{rs.getInt("inventory_id"), rs.getInt("quantity")});
+                }
+            }
+        }
+        if (lines.isEmpty()) return;
+
+        // 2) All increments in one batch
+        try (PreparedStatement ps = conn.prepareStatement(sqlIncrement)) {
+            for (int[] line : lines) {
+                ps.setInt(1, line[1]);
+                ps.setInt(2, line[0]);
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+
+        // 3) One status recalculation for all touched items
+        updateInventoryStatusForOrder(conn, orderId);
+
+        // 4) New quantities for the log text, read once
+        Map<Integer, Integer> newQty = new HashMap<>();
+        try (PreparedStatement ps = conn.prepareStatement(sqlQuantities)) {
+            ps.setInt(1, orderId);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    newQty.put(rs.getInt("inventory_id"), rs.getInt("quantity"));
+                }
+            }
+        }
+
+        for (int[] line : lines) {
+            addLog(psLog, userId, "Inventory Revert",
+                    String.format("Order %d cancelled: Restored %d units to inventory_id=%d (new qty=%d)",
+                            orderId, line[1], line[0], newQty.getOrDefault(line[0], 0)));
         }
     }
 
+    private void addLog(PreparedStatement psLog, Integer userId, String action, String description) throws SQLException {
+        if (userId != null) psLog.setInt(1, userId);
+        else psLog.setNull(1, java.sql.Types.INTEGER);
+        psLog.setString(2, action);
+        psLog.setString(3, description);
+        psLog.addBatch();
+    }
+
+    // Recalculates inventory.status for an order's items and moves the low-stock
+    // counter by the difference. The items are already locked by the caller's
+    // quantity updates, so the before/after counts see this transaction's rows.
+    private void updateInventoryStatusForOrder(Connection conn, int orderId) throws SQLException {
+        String orderItems = "inventory_id IN (" + ORDER_INVENTORY_IDS_SQL + ")";
+        int lowBefore = DashboardMetrics.countLowStock(conn, orderItems, orderId);
+        try (PreparedStatement ps = conn.prepareStatement(UPDATE_INVENTORY_STATUS_FOR_ORDER_SQL)) {
+            ps.setInt(1, orderId);
+            ps.executeUpdate();
+        }
+        DashboardMetrics.add(conn, DashboardMetrics.LOW_STOCK,
+                DashboardMetrics.countLowStock(conn, orderItems, orderId) - lowBefore);
+    }
+
+    // Everything derived from an order's status, updated on the caller's transaction
+    private void orderStatusChanged(Connection conn, int orderId, String oldStatus, String newStatus) throws SQLException {
+        DashboardMetrics.orderStatusChanged(conn, orderId, oldStatus, newStatus);
+        int sale = ("Completed".equalsIgnoreCase(newStatus) ? 1 : 0) - ("Completed".equalsIgnoreCase(oldStatus) ? 1 : 0);
+        SalesRollup.applyOrder(conn, orderId, sale);
+    }
+
+    // True (and logged) when a plain status update would skip the inventory side of Completed/Cancelled
+    private boolean movesStock(int orderId, String oldStatus, String newStatus) {
+        if (oldStatus.equalsIgnoreCase(newStatus)) return false;
+        boolean moves = "Completed".equalsIgnoreCase(oldStatus) || "Cancelled".equalsIgnoreCase(oldStatus)
+                || "Completed".equalsIgnoreCase(newStatus) || "Cancelled".equalsIgnoreCase(newStatus);
+        if (moves) {
+            System.err.println("Order #" + orderId + ": '" + oldStatus + "' -> '" + newStatus
+                    + "' changes stock; use completeOrder or cancelOrder instead.");
+        }
+        return moves;
+    }
+
+    // Current status of an order, row-locked until the caller commits; null if it does not exist
+    // Locks the inventory rows behind the given lines and returns their current quantities
+    private Map<Integer, Integer> lockInventoryQuantities(Connection conn,
+            List<OrderCompletionResult.LineResult> lines) throws SQLException {
+        LinkedHashSet<Integer> ids = new LinkedHashSet<>();
+        for (OrderCompletionResult.LineResult line : lines) ids.add(line.getInventoryId());
+
+        StringBuilder sql = new StringBuilder("SELECT inventory_id, quantity FROM inventory WHERE inventory_id IN (");
+        for (int i = 0; i < ids.size(); i++) sql.append(i == 0 ? "?" : ", ?");
+        sql.append(") FOR UPDATE");
+
+        Map<Integer, Integer> quantities = new HashMap<>();
+        try (PreparedStatement ps = conn.prepareStatement(sql.toString())) {
+            int i = 1;
+            for (Integer id : ids) ps.setInt(i++, id);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    quantities.put(rs.getInt("inventory_id"), rs.getInt("quantity"));
+                }
+            }
+        }
+        return quantities;
+    }
+
+    private String lockOrderStatus(Connection conn, int orderId) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement("SELECT status FROM orders WHERE order_id = ? FOR UPDATE")) {
+            ps.setInt(1, orderId);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? rs.getString("status") : null;
+            }
+        }
+    }
+
+    /**
+     * Plain status change with a log row. Transitions into or out of Completed
+     * or Cancelled are refused (returns false): stock is deducted and given back
+     * only by completeOrderWithInventory and cancelOrder.
+     */
     public boolean updateOrderStatus(int orderId, String newStatus, Integer updatedBy) {
         Connection conn = null;
         PreparedStatement psUpdate = null;
@@ -439,11 +858,18 @@ public class OrderDAO {
             conn = DBConnection.getConnection();
             conn.setAutoCommit(false);
 
+            String oldStatus = lockOrderStatus(conn, orderId);
+            if (oldStatus == null || movesStock(orderId, oldStatus, newStatus)) {
+                conn.rollback();
+                return false;
+            }
+
             psUpdate = conn.prepareStatement(sqlUpdate);
             psUpdate.setString(1, newStatus);
             psUpdate.setString(2, newStatus);
             psUpdate.setInt(3, orderId);
             psUpdate.executeUpdate();
+            orderStatusChanged(conn, orderId, oldStatus, newStatus);
 
             // Log the status change
             psInsertLog = conn.prepareStatement(sqlInsertLog);
@@ -465,6 +891,7 @@ public class OrderDAO {
             try { if (psUpdate != null) psUpdate.close(); } catch (Exception ignored) {}
             try { if (psInsertLog != null) psInsertLog.close(); } catch (Exception ignored) {}
             try { if (conn != null) conn.setAutoCommit(true); } catch (Exception ignored) {}
+            try { if (conn != null) conn.close(); } catch (Exception ignored) {}
         }
     }
 
@@ -505,6 +932,27 @@ public class OrderDAO {
         return null;
     }
 
+    // --- Helper to convert ResultSet -> OrderDetail ---
+    private OrderDetail extractOrderDetail(ResultSet rs) throws SQLException {
+        OrderDetail d = new OrderDetail();
+        d.setOrderDetailId(rs.getInt("orderdetail_id"));
+        d.setOrderId(rs.getInt("order_id"));
+        d.setProductId(rs.getInt("product_id"));
+        d.setQuantity(rs.getInt("quantity"));
+        d.setUnitPrice(rs.getBigDecimal("unit_price"));
+        d.setSubtotal(rs.getBigDecimal("subtotal"));
+        d.setMaterialUsed(rs.getString("material_used"));
+        d.setDiscount(rs.getBigDecimal("discount"));
+        d.setPrintSize(rs.getString("print_size"));
+        d.setColorType(rs.getString("color_type"));
+        d.setRemarks(rs.getString("remarks"));
+        d.setCreatedAt(rs.getTimestamp("created_at") != null ? rs.getTimestamp("created_at").toLocalDateTime() : null);
+        d.setCreatedBy(rs.getObject("created_by") != null ? rs.getInt("created_by") : null);
+        d.setDateUpdated(rs.getTimestamp("date_updated") != null ? rs.getTimestamp("date_updated").toLocalDateTime() : null);
+        d.setTax(rs.getBigDecimal("tax"));
+        return d;
+    }
+
     // --- Helper to convert ResultSet -> Order (without details) ---
     private Order extractOrder(ResultSet rs) throws SQLException {
         Order o = new Order();
@@ -0,0 +1,117 @@
+package com.println.dao;
+
+import com.println.config.DBConnection;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.Properties;
+
+/**
+ * Hands out order references of the form ORD-yyyyMMdd-NNNN.
+ *
+ * Each JVM reserves a block of sequence numbers for the current day from the
+ * order_reference_sequences table with one atomic upsert, then serves the block
+ * from memory. Two terminals can never receive the same number, so there is no
+ * retry-on-duplicate against the UNIQUE order_reference column. Numbers left in
+ * a block when the app exits are simply skipped.
+ */
+public final class OrderReferenceAllocator {
+
+    private static final int DEFAULT_BLOCK_SIZE = 10;
+
+    private static final String CREATE_TABLE_SQL =
+            "CREATE TABLE IF NOT EXISTS order_reference_sequences ("
+          + "seq_date DATE PRIMARY KEY, "
+          + "next_value INT NOT NULL)";
+
+    // LAST_INSERT_ID(expr) makes the new high-water mark readable on this connection
+    // for both the first insert of the day and every later block.
+    private static final String RESERVE_SQL =
+            "INSERT INTO order_reference_sequences (seq_date, next_value) VALUES (?, LAST_INSERT_ID(1 + ?)) "
+          + "ON DUPLICATE KEY UPDATE next_value = LAST_INSERT_ID(next_value + ?)";
+
+    private static final OrderReferenceAllocator INSTANCE = new OrderReferenceAllocator();
+
+    private final int blockSize;
+    private boolean tableChecked;
+
+    // Current block (guarded by this)
+    private LocalDate blockDate;
+    private String prefix;
+    private int nextValue;
+    private int endValue; // exclusive
+
+    private OrderReferenceAllocator() {
+        int size = DEFAULT_BLOCK_SIZE;
+        try {
+            Properties props = DBConnection.getConfig();
+            size = Integer.parseInt(props.getProperty("order.reference.blockSize", String.valueOf(DEFAULT_BLOCK_SIZE)).trim());
+        } catch (Exception e) {
+            System.err.println("Using default order reference block size: " + e.getMessage());
+        }
+        this.blockSize = Math.max(1, size);
+    }
+
+    public static OrderReferenceAllocator getInstance() {
+        return INSTANCE;
+    }
+
+    /** Returns the next unused reference for today. */
+    public synchronized String next() throws SQLException {
+        LocalDate today = LocalDate.now();
+        if (!today.equals(blockDate) || nextValue >= endValue) {
+            reserveBlock(today);
+        }
+        int value = nextValue++;
+        return value < 10000 ? prefix + pad4(value) : prefix + value;
+    }
+
+    private void reserveBlock(LocalDate day) throws SQLException {
+        try (Connection conn = DBConnection.getConnection()) {
+            if (conn == null) throw new SQLException("No database connection for order reference allocation");
+
+            if (!tableChecked) {
+                try (Statement st = conn.createStatement()) {
+                    st.execute(CREATE_TABLE_SQL);
+                }
+                tableChecked = true;
+            }
+
+            try (PreparedStatement ps = conn.prepareStatement(RESERVE_SQL)) {
+                ps.setDate(1, java.sql.Date.valueOf(day));
+                ps.setInt(2, blockSize);
+                ps.setInt(3, blockSize);
+                ps.executeUpdate();
+            }
+
+            int end;
+            try (Statement st = conn.createStatement();
+                 ResultSet rs = st.executeQuery("SELECT LAST_INSERT_ID()")) {
+                if (!rs.next()) throw new SQLException("Could not read reserved order reference block");
+                end = rs.getInt(1);
+            }
+
+            // Only switch blocks once the reservation has succeeded
+            endValue = end;
+            nextValue = end - blockSize;
+            if (!day.equals(blockDate)) {
+                blockDate = day;
+                prefix = "ORD-" + day.getYear() + pad2(day.getMonthValue()) + pad2(day.getDayOfMonth()) + "-";
+            }
+        }
+    }
+
+    private static String pad2(int v) {
+        return v < 10 ? "0" + v : String.valueOf(v);
+    }
+
+    private static String pad4(int v) {
+        if (v >= 1000) return String.valueOf(v);
+        if (v >= 100) return "0" + v;
+        if (v >= 10) return "00" + v;
+        return "000" + v;
+    }
+}
@@ -0,0 +1,67 @@
+package com.println.dao;
+
+import com.println.model.OrderDetail;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+
+/**
+ * Java mirror of the order total formula stored in the database:
+ *
+ *   order_details.subtotal = quantity * unit_price          (DECIMAL(10,2), generated)
+ *   orders.total_amount    = SUM(subtotal - (subtotal * (discount / 100)) + tax)
+ *
+ * MySQL keeps full decimal precision inside the expression and rounds half away
+ * from zero only when the result is stored into DECIMAL(10,2); the same is done here.
+ */
+public final class OrderTotals {
+
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    private OrderTotals() {}
+
+    // --- quantity * unit_price, as the generated subtotal column stores it ---
+    public static BigDecimal lineSubtotal(OrderDetail d) {
+        BigDecimal unit = d.getUnitPrice() != null ? d.getUnitPrice() : BigDecimal.ZERO;
+        return unit.setScale(2, RoundingMode.HALF_UP)
+                .multiply(BigDecimal.valueOf(d.getQuantity()))
+                .setScale(2, RoundingMode.HALF_UP);
+    }
+
+    // --- subtotal - (subtotal * (discount / 100)) + tax, unrounded ---
+    public static BigDecimal lineTotal(OrderDetail d) {
+        BigDecimal subtotal = lineSubtotal(d);
+        BigDecimal discount = money(d.getDiscount());
+        BigDecimal tax = money(d.getTax());
+
+        // discount has 2 decimals, so discount / 100 is exact at 4
+        BigDecimal rate = discount.divide(HUNDRED, 4, RoundingMode.HALF_UP);
+        return subtotal.subtract(subtotal.multiply(rate)).add(tax);
+    }
+
+    // --- Value that ends up in orders.total_amount ---
+    public static BigDecimal orderTotal(List<OrderDetail> details) {
+        BigDecimal sum = BigDecimal.ZERO;
+        if (details != null) {
+            for (OrderDetail d : details) {
+                sum = sum.add(lineTotal(d));
+            }
+        }
+        return sum.setScale(2, RoundingMode.HALF_UP);
+    }
+
+    public static int quantityTotal(List<OrderDetail> details) {
+        int qty = 0;
+        if (details != null) {
+            for (OrderDetail d : details) {
+                qty += d.getQuantity();
+            }
+        }
+        return qty;
+    }
+
+    // Values bound into DECIMAL(10,2) columns are rounded the same way first
+    private static BigDecimal money(BigDecimal v) {
+        return v != null ? v.setScale(2, RoundingMode.HALF_UP) : BigDecimal.ZERO;
+    }
+}
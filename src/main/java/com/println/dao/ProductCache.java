@@ -0,0 +1,188 @@
+package com.println.dao;
+
+import com.println.config.DBConnection;
+import com.println.model.Product;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Read-through, in-memory copy of the products table, used by ProductDAO.
+ *
+ * The whole catalog is loaded at once (it is small) and indexed by product_id,
+ * by lower-cased name and by lower-cased category. Local writes through
+ * ProductDAO invalidate it immediately. Writes from other terminals are picked
+ * up by re-reading the products counter in data_versions at most once every
+ * cache.products.checkIntervalMs (default 3000 ms).
+ *
+ * Callers always receive copies, so editing a returned Product never
+ * changes the cached one.
+ */
+final class ProductCache {
+
+    private static final ProductCache INSTANCE = new ProductCache();
+
+    private static final long DEFAULT_CHECK_INTERVAL_MS = 3000L;
+
+    private static final class Snapshot {
+        final Map<Integer, Product> byId;               // product_id DESC, like getAllProducts
+        final Map<String, List<Product>> byName;
+        final Map<String, List<Product>> byCategory;
+        final long version;
+        volatile long checkedAt;
+
+        Snapshot(List<Product> products, long version) {
+            Map<Integer, Product> ids = new LinkedHashMap<>();
+            Map<String, List<Product>> names = new HashMap<>();
+            Map<String, List<Product>> categories = new HashMap<>();
+            for (Product p : products) {
+                ids.put(p.getProductId(), p);
+                names.computeIfAbsent(key(p.getProductName()), k -> new ArrayList<>()).add(p);
+                categories.computeIfAbsent(key(p.getCategory()), k -> new ArrayList<>()).add(p);
+            }
+            this.byId = ids;
+            this.byName = names;
+            this.byCategory = categories;
+            this.version = version;
+            this.checkedAt = System.currentTimeMillis();
+        }
+    }
+
+    private final ProductDAO loader = new ProductDAO();
+    private final long checkIntervalMillis;
+    private volatile Snapshot snapshot;
+    // Bumped by every invalidate(), so a refresh that was already loading can tell
+    // its result may predate the write and must not be published
+    private final AtomicLong generation = new AtomicLong();
+
+    private ProductCache() {
+        long interval = DEFAULT_CHECK_INTERVAL_MS;
+        try {
+            String v = DBConnection.getConfig().getProperty("cache.products.checkIntervalMs");
+            if (v != null && !v.trim().isEmpty()) interval = Long.parseLong(v.trim());
+        } catch (Exception e) {
+            System.err.println("Using default product cache check interval: " + e.getMessage());
+        }
+        this.checkIntervalMillis = Math.max(0L, interval);
+    }
+
+    static ProductCache getInstance() {
+        return INSTANCE;
+    }
+
+    // =============================================================
+    //  Lookups (all return copies)
+    // =============================================================
+    List<Product> getAll() {
+        Snapshot s = current();
+        if (s != null) return copies(s.byId.values());
+        try {
+            return loader.queryAllProducts(); // cache could not be refreshed
+        } catch (SQLException e) {
+            System.err.println("Error retrieving products: " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    Product getById(int id) {
+        Snapshot s = current();
+        Product p = s != null ? s.byId.get(id) : null;
+        if (p != null) return new Product(p);
+        // Not cached yet (e.g. just added elsewhere): fall through to the database
+        try {
+            return loader.queryProductById(id);
+        } catch (SQLException e) {
+            System.err.println("Error fetching product by ID: " + e.getMessage());
+            return null;
+        }
+    }
+
+    List<Product> getByName(String name) {
+        Snapshot s = current();
+        if (s == null) return new ArrayList<>();
+        return copies(s.byName.getOrDefault(key(name), Collections.emptyList()));
+    }
+
+    List<Product> getByCategory(String category) {
+        Snapshot s = current();
+        if (s == null) return new ArrayList<>();
+        return copies(s.byCategory.getOrDefault(key(category), Collections.emptyList()));
+    }
+
+    // =============================================================
+    //  Invalidation
+    // =============================================================
+
+    /** Drops the local copy and tells other terminals the catalog changed. */
+    void invalidate(Connection conn) {
+        generation.incrementAndGet();   // before the drop; refresh() re-checks it after publishing
+        snapshot = null;
+        try {
+            DataVersion.bump(conn, DataVersion.PRODUCTS);
+        } catch (SQLException e) {
+            System.err.println("Error bumping product catalog version: " + e.getMessage());
+        }
+    }
+
+    private Snapshot current() {
+        Snapshot s = snapshot;
+        if (s != null && System.currentTimeMillis() - s.checkedAt < checkIntervalMillis) {
+            return s;
+        }
+        return refresh(s);
+    }
+
+    private synchronized Snapshot refresh(Snapshot seen) {
+        // Another thread may have refreshed while we waited for the lock
+        Snapshot s = snapshot;
+        if (s != null && s != seen && System.currentTimeMillis() - s.checkedAt < checkIntervalMillis) {
+            return s;
+        }
+
+        long gen = generation.get();
+        try {
+            long version;
+            try (Connection conn = DBConnection.getConnection()) {
+                if (conn == null) return s;
+                version = DataVersion.read(conn, DataVersion.PRODUCTS);
+            }
+
+            if (s != null && s.version == version) {
+                s.checkedAt = System.currentTimeMillis();
+                return s;
+            }
+
+            Snapshot fresh = new Snapshot(loader.queryAllProducts(), version);
+            snapshot = fresh;
+            if (generation.get() != gen) {
+                // Invalidated while loading: let the next lookup load again
+                snapshot = null;
+            }
+            return fresh;
+
+        } catch (SQLException e) {
+            // Keep serving the previous copy (if any) rather than caching a failed load
+            System.err.println("Error refreshing product cache: " + e.getMessage());
+            return s;
+        }
+    }
+
+    private static List<Product> copies(Iterable<Product> products) {
+        List<Product> list = new ArrayList<>();
+        for (Product p : products) {
+            list.add(new Product(p));
+        }
+        return list;
+    }
+
+    private static String key(String s) {
+        return s == null ? "" : s.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -17,6 +17,7 @@
             try (Connection conn = DBConnection.getConnection();
                 PreparedStatement ps = conn.prepareStatement(sql)) {
 
+                conn.setAutoCommit(false);
                 ps.setString(1, product.getProductName());
                 ps.setString(2, product.getDescription());
                 ps.setString(3, product.getCategory());
@@ -42,7 +43,12 @@
                 else
                     ps.setNull(14, Types.INTEGER);
 
-                return ps.executeUpdate() > 0;
+                int rows = ps.executeUpdate();
+                DashboardMetrics.add(conn, DashboardMetrics.PRODUCTS, rows);
+                boolean ok = rows > 0;
+                if (ok) ProductCache.getInstance().invalidate(conn);   // version bump commits with the row
+                conn.commit();
+                return ok;
 
             } catch (SQLException e) {
                 System.err.println("Error adding product: " + e.getMessage());
@@ -50,8 +56,27 @@
             }
         }
 
-        // --- READ ALL ---
+        // --- READ ALL (served from ProductCache) ---
         public List<Product> getAllProducts() {
+            return ProductCache.getInstance().getAll();
+        }
+
+        // --- READ ONE (served from ProductCache) ---
+        public Product getProductById(int id) {
+            return ProductCache.getInstance().getById(id);
+        }
+
+        // --- READ BY NAME / CATEGORY (case-insensitive, served from ProductCache) ---
+        public List<Product> getProductsByName(String name) {
+            return ProductCache.getInstance().getByName(name);
+        }
+
+        public List<Product> getProductsByCategory(String category) {
+            return ProductCache.getInstance().getByCategory(category);
+        }
+
+        // --- Direct database reads used to fill the cache ---
+        List<Product> queryAllProducts() throws SQLException {
             List<Product> list = new ArrayList<>();
             String sql = "SELECT * FROM products ORDER BY product_id DESC";
 
@@ -62,16 +87,12 @@
                 while (rs.next()) {
                     list.add(extractProduct(rs));
                 }
-
-            } catch (SQLException e) {
-                System.err.println("Error retrieving products: " + e.getMessage());
             }
 
             return list;
         }
 
-        // --- READ ONE ---
-        public Product getProductById(int id) {
+        Product queryProductById(int id) throws SQLException {
             String sql = "SELECT * FROM products WHERE product_id = ?";
 
             try (Connection conn = DBConnection.getConnection();
@@ -83,9 +104,6 @@
                         return extractProduct(rs);
                     }
                 }
-
-            } catch (SQLException e) {
-                System.err.println("Error fetching product by ID: " + e.getMessage());
             }
 
             return null;
@@ -121,7 +139,9 @@
 
                 ps.setInt(14, product.getProductId());
 
-                return ps.executeUpdate() > 0;
+                boolean ok = ps.executeUpdate() > 0;
+                if (ok) ProductCache.getInstance().invalidate(conn);
+                return ok;
 
             } catch (SQLException e) {
                 System.err.println("Error updating product: " + e.getMessage());
@@ -136,8 +156,14 @@
             try (Connection conn = DBConnection.getConnection();
                 PreparedStatement ps = conn.prepareStatement(sql)) {
 
+                conn.setAutoCommit(false);
                 ps.setInt(1, id);
-                return ps.executeUpdate() > 0;
+                int rows = ps.executeUpdate();
+                DashboardMetrics.add(conn, DashboardMetrics.PRODUCTS, -rows);
+                boolean ok = rows > 0;
+                if (ok) ProductCache.getInstance().invalidate(conn);   // version bump commits with the row
+                conn.commit();
+                return ok;
 
             } catch (SQLException e) {
                 System.err.println("Error deleting product: " + e.getMessage());
@@ -0,0 +1,114 @@
+package com.println.dao;
+
+import com.println.config.DBConnection;
+import com.println.model.SalesRow;
+import java.sql.*;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sales reports answered from the daily rollups (see SalesRollup) instead of
+ * joining every order line in the range: a one-year report reads at most a
+ * few hundred rows per day-and-dimension combination.
+ */
+public class SalesReportDAO {
+
+    private static final String BY_DAY_SQL =
+            "SELECT DATE_FORMAT(sale_date, '%Y-%m-%d') AS label, SUM(orders_count) AS orders, " +
+            "       SUM(quantity) AS quantity, SUM(revenue) AS revenue " +
+            "FROM sales_daily_orders WHERE sale_date BETWEEN ? AND ? " +
+            "GROUP BY sale_date ORDER BY sale_date";
+
+    private static final String BY_PRODUCT_SQL =
+            "SELECT COALESCE(p.product_name, CONCAT('Product #', s.product_id)) AS label, s.orders, s.quantity, s.revenue " +
+            "FROM (SELECT product_id, SUM(orders_count) AS orders, SUM(quantity) AS quantity, SUM(revenue) AS revenue " +
+            "      FROM sales_daily_products WHERE sale_date BETWEEN ? AND ? GROUP BY product_id) s " +
+            "LEFT JOIN products p ON p.product_id = s.product_id " +
+            "ORDER BY s.revenue DESC";
+
+    private static final String BY_CATEGORY_SQL =
+            "SELECT IF(category = '', '(none)', category) AS label, SUM(orders_count) AS orders, " +
+            "       SUM(quantity) AS quantity, SUM(revenue) AS revenue " +
+            "FROM sales_daily_products WHERE sale_date BETWEEN ? AND ? " +
+            "GROUP BY category ORDER BY revenue DESC";
+
+    // {staff column}: user_id or printed_by (0 = not recorded)
+    private static final String BY_STAFF_SQL =
+            "SELECT CASE WHEN s.staff_id = 0 THEN '(not recorded)' " +
+            "            ELSE COALESCE(NULLIF(TRIM(CONCAT_WS(' ', u.first_name, u.last_name)), ''), u.username, CONCAT('User #', s.staff_id)) " +
+            "       END AS label, s.orders, s.quantity, s.revenue " +
+            "FROM (SELECT {staff} AS staff_id, SUM(orders_count) AS orders, SUM(quantity) AS quantity, SUM(revenue) AS revenue " +
+            "      FROM sales_daily_orders WHERE sale_date BETWEEN ? AND ? GROUP BY {staff}) s " +
+            "LEFT JOIN users u ON u.user_id = s.staff_id " +
+            "ORDER BY s.revenue DESC";
+
+    private static final String BY_PAYMENT_SQL =
+            "SELECT IF(payment_method = '', '(none)', payment_method) AS label, SUM(orders_count) AS orders, " +
+            "       SUM(quantity) AS quantity, SUM(revenue) AS revenue " +
+            "FROM sales_daily_orders WHERE sale_date BETWEEN ? AND ? " +
+            "GROUP BY payment_method ORDER BY revenue DESC";
+
+    // --- Sales of Completed orders with order_date in [from, to], grouped by one dimension ---
+    public List<SalesRow> getSales(SalesRow.Dimension dimension, LocalDate from, LocalDate to) {
+        List<SalesRow> list = new ArrayList<>();
+        String sql;
+        switch (dimension) {
+            case DAY:            sql = BY_DAY_SQL; break;
+            case PRODUCT:        sql = BY_PRODUCT_SQL; break;
+            case CATEGORY:       sql = BY_CATEGORY_SQL; break;
+            case TAKEN_BY:       sql = BY_STAFF_SQL.replace("{staff}", "user_id"); break;
+            case PRINTED_BY:     sql = BY_STAFF_SQL.replace("{staff}", "printed_by"); break;
+            case PAYMENT_METHOD: sql = BY_PAYMENT_SQL; break;
+            default: throw new IllegalArgumentException("Unknown dimension: " + dimension);
+        }
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+
+            ps.setDate(1, Date.valueOf(from));
+            ps.setDate(2, Date.valueOf(to));
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    list.add(new SalesRow(rs.getString("label"), rs.getInt("orders"),
+                            rs.getInt("quantity"), rs.getBigDecimal("revenue")));
+                }
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error fetching sales report: " + e.getMessage());
+        }
+        return list;
+    }
+
+    // --- Month of the oldest order, or null if there are none ---
+    public YearMonth getFirstOrderMonth() {
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement ps = conn.prepareStatement("SELECT MIN(order_date) FROM orders");
+             ResultSet rs = ps.executeQuery()) {
+
+            if (rs.next() && rs.getTimestamp(1) != null) {
+                return YearMonth.from(rs.getTimestamp(1).toLocalDateTime());
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error fetching first order month: " + e.getMessage());
+        }
+        return null;
+    }
+
+    // --- Recompute one month of rollups from the orders, in one transaction ---
+    public boolean rebuildMonth(YearMonth month) {
+        try (Connection conn = DBConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            SalesRollup.rebuild(conn, Date.valueOf(month.atDay(1)), Date.valueOf(month.plusMonths(1).atDay(1)));
+            conn.commit();
+            return true;
+
+        } catch (SQLException e) {
+            System.err.println("Error rebuilding sales rollups for " + month + ": " + e.getMessage());
+            return false;
+        }
+    }
+}
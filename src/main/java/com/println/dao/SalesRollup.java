@@ -0,0 +1,131 @@
+package com.println.dao;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * Daily sales rollups in sales_daily_orders and sales_daily_products.
+ *
+ * A sale is a Completed order, dated by DATE(order_date). OrderDAO calls
+ * {@link #applyOrder} in the same transaction whenever an order enters
+ * Completed (+1) or leaves it (-1), so the rollups always agree with the
+ * orders they summarize. {@link #rebuild} recomputes a date range from the
+ * base tables, for repairs.
+ *
+ * Row locks are always taken orders first, rollups second, on both paths,
+ * so a rebuild running next to live order traffic waits instead of
+ * deadlocking.
+ */
+final class SalesRollup {
+
+    private static final int ER_NO_SUCH_TABLE = 1146;
+
+    // Line revenue, same formula as OrderTotals.lineTotal
+    private static final String LINE_REVENUE = "od.subtotal - od.subtotal * (od.discount / 100) + od.tax";
+
+    private static final String APPLY_ORDER_SQL =
+            "INSERT INTO sales_daily_orders (sale_date, user_id, printed_by, payment_method, orders_count, quantity, revenue) " +
+            "SELECT * FROM (" +
+            "   SELECT DATE(order_date) AS d, user_id AS u, COALESCE(printed_by, 0) AS p, COALESCE(payment_method, '') AS m, " +
+            "          ? AS n, ? * quantity_total AS q, ? * total_amount AS r " +
+            "   FROM orders WHERE order_id = ?) AS s " +
+            "ON DUPLICATE KEY UPDATE orders_count = orders_count + s.n, quantity = quantity + s.q, revenue = revenue + s.r";
+
+    private static final String APPLY_PRODUCTS_SQL =
+            "INSERT INTO sales_daily_products (sale_date, product_id, category, orders_count, quantity, gross, revenue) " +
+            "SELECT * FROM (" +
+            "   SELECT DATE(o.order_date) AS d, od.product_id AS pid, COALESCE(MAX(p.category), '') AS c, " +
+            "          ? AS n, ? * SUM(od.quantity) AS q, ? * SUM(od.subtotal) AS g, ? * SUM(" + LINE_REVENUE + ") AS r " +
+            "   FROM orders o " +
+            "   JOIN order_details od ON od.order_id = o.order_id " +
+            "   LEFT JOIN products p ON p.product_id = od.product_id " +
+            "   WHERE o.order_id = ? " +
+            "   GROUP BY DATE(o.order_date), od.product_id) AS s " +
+            "ON DUPLICATE KEY UPDATE orders_count = orders_count + s.n, quantity = quantity + s.q, " +
+            "   gross = gross + s.g, revenue = revenue + s.r";
+
+    // Shared locks on every order in the range: completions wait until the rebuild commits
+    private static final String LOCK_RANGE_SQL =
+            "SELECT COUNT(*) FROM orders WHERE order_date >= ? AND order_date < ? LOCK IN SHARE MODE";
+
+    private static final String REBUILD_ORDERS_SQL =
+            "INSERT INTO sales_daily_orders (sale_date, user_id, printed_by, payment_method, orders_count, quantity, revenue) " +
+            "SELECT DATE(order_date), user_id, COALESCE(printed_by, 0), COALESCE(payment_method, ''), " +
+            "       COUNT(*), SUM(quantity_total), SUM(total_amount) " +
+            "FROM orders " +
+            "WHERE status = 'Completed' AND order_date >= ? AND order_date < ? " +
+            "GROUP BY DATE(order_date), user_id, COALESCE(printed_by, 0), COALESCE(payment_method, '')";
+
+    private static final String REBUILD_PRODUCTS_SQL =
+            "INSERT INTO sales_daily_products (sale_date, product_id, category, orders_count, quantity, gross, revenue) " +
+            "SELECT DATE(o.order_date), od.product_id, COALESCE(MAX(p.category), ''), " +
+            "       COUNT(DISTINCT o.order_id), SUM(od.quantity), SUM(od.subtotal), SUM(" + LINE_REVENUE + ") " +
+            "FROM orders o " +
+            "JOIN order_details od ON od.order_id = o.order_id " +
+            "LEFT JOIN products p ON p.product_id = od.product_id " +
+            "WHERE o.status = 'Completed' AND o.order_date >= ? AND o.order_date < ? " +
+            "GROUP BY DATE(o.order_date), od.product_id";
+
+    private static volatile boolean tablesMissing;
+
+    private SalesRollup() {}
+
+    /** Adds (sign = 1) or removes (sign = -1) one order's sale. The order row must still exist. */
+    static void applyOrder(Connection conn, int orderId, int sign) throws SQLException {
+        if (sign == 0 || tablesMissing) return;
+        try {
+            try (PreparedStatement ps = conn.prepareStatement(APPLY_ORDER_SQL)) {
+                ps.setInt(1, sign);
+                ps.setInt(2, sign);
+                ps.setInt(3, sign);
+                ps.setInt(4, orderId);
+                ps.executeUpdate();
+            }
+            try (PreparedStatement ps = conn.prepareStatement(APPLY_PRODUCTS_SQL)) {
+                ps.setInt(1, sign);
+                ps.setInt(2, sign);
+                ps.setInt(3, sign);
+                ps.setInt(4, sign);
+                ps.setInt(5, orderId);
+                ps.executeUpdate();
+            }
+        } catch (SQLException e) {
+            if (!isMissingTable(e)) throw e;
+        }
+    }
+
+    /** Replaces the rollup rows for sale dates in [from, to) with totals recomputed from orders. */
+    static void rebuild(Connection conn, Date from, Date to) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement(LOCK_RANGE_SQL)) {
+            ps.setDate(1, from);
+            ps.setDate(2, to);
+            ps.executeQuery().close();
+        }
+        for (String table : new String[]{"sales_daily_orders", "sales_daily_products"}) {
+            try (PreparedStatement ps = conn.prepareStatement(
+                    "DELETE FROM " + table + " WHERE sale_date >= ? AND sale_date < ?")) {
+                ps.setDate(1, from);
+                ps.setDate(2, to);
+                ps.executeUpdate();
+            }
+        }
+        for (String sql : new String[]{REBUILD_ORDERS_SQL, REBUILD_PRODUCTS_SQL}) {
+            try (PreparedStatement ps = conn.prepareStatement(sql)) {
+                ps.setDate(1, from);
+                ps.setDate(2, to);
+                ps.executeUpdate();
+            }
+        }
+    }
+
+    private static boolean isMissingTable(SQLException e) {
+        if (e.getErrorCode() != ER_NO_SUCH_TABLE) return false;
+        if (!tablesMissing) {
+            tablesMissing = true;
+            System.err.println("Sales rollups disabled: " + e.getMessage() + " (run the schema migrations)");
+        }
+        return true;
+    }
+}
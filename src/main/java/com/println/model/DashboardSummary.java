@@ -0,0 +1,36 @@
+package com.println.model;
+
+import java.math.BigDecimal;
+
+/**
+ * The KPIs on the admin dashboard, as read from dashboard_metrics and this
+ * month's dashboard_monthly_revenue row by DashboardDAO.getSummary.
+ */
+public class DashboardSummary {
+    private int totalCustomers;
+    private int totalProducts;
+    private int lowStockItems;
+    private int pendingOrders;
+    private BigDecimal monthlyRevenue = BigDecimal.ZERO;   // Completed orders placed this month
+    private int completedThisMonth;
+
+    public DashboardSummary() {}
+
+    public int getTotalCustomers() { return totalCustomers; }
+    public void setTotalCustomers(int totalCustomers) { this.totalCustomers = totalCustomers; }
+
+    public int getTotalProducts() { return totalProducts; }
+    public void setTotalProducts(int totalProducts) { this.totalProducts = totalProducts; }
+
+    public int getLowStockItems() { return lowStockItems; }
+    public void setLowStockItems(int lowStockItems) { this.lowStockItems = lowStockItems; }
+
+    public int getPendingOrders() { return pendingOrders; }
+    public void setPendingOrders(int pendingOrders) { this.pendingOrders = pendingOrders; }
+
+    public BigDecimal getMonthlyRevenue() { return monthlyRevenue; }
+    public void setMonthlyRevenue(BigDecimal monthlyRevenue) { this.monthlyRevenue = monthlyRevenue; }
+
+    public int getCompletedThisMonth() { return completedThisMonth; }
+    public void setCompletedThisMonth(int completedThisMonth) { this.completedThisMonth = completedThisMonth; }
+}
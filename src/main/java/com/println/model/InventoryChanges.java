@@ -0,0 +1,29 @@
+package com.println.model;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Inventory rows added or updated since a given time, read together with the
+ * database clock and a cheap fingerprint of the whole table (row count and sum
+ * of inventory_id) so callers can tell when rows were deleted.
+ */
+public class InventoryChanges {
+
+    private final Timestamp serverTime;
+    private final List<Inventory> changed = new ArrayList<>();
+    private long rowCount;
+    private long idSum;
+
+    public InventoryChanges(Timestamp serverTime) {
+        this.serverTime = serverTime;
+    }
+
+    public Timestamp getServerTime() { return serverTime; }
+    public List<Inventory> getChanged() { return changed; }
+    public long getRowCount() { return rowCount; }
+    public void setRowCount(long rowCount) { this.rowCount = rowCount; }
+    public long getIdSum() { return idSum; }
+    public void setIdSum(long idSum) { this.idSum = idSum; }
+}
@@ -0,0 +1,85 @@
+package com.println.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of completing an order, with one entry per order line describing
+ * what happened to the linked inventory item.
+ */
+public class OrderCompletionResult {
+
+    public enum LineStatus {
+        DEDUCTED,           // stock reduced by the line quantity
+        INSUFFICIENT_STOCK, // inventory quantity was lower than the line quantity
+        NO_INVENTORY_LINK   // product has no inventory_id; nothing to deduct
+    }
+
+    public static class LineResult {
+        private final int orderDetailId;
+        private final int productId;
+        private final String productName;
+        private final Integer inventoryId;
+        private final int quantity;
+        private LineStatus status;
+
+        public LineResult(int orderDetailId, int productId, String productName, Integer inventoryId, int quantity) {
+            this.orderDetailId = orderDetailId;
+            this.productId = productId;
+            this.productName = productName;
+            this.inventoryId = inventoryId;
+            this.quantity = quantity;
+            this.status = inventoryId == null ? LineStatus.NO_INVENTORY_LINK : null;
+        }
+
+        public int getOrderDetailId() { return orderDetailId; }
+        public int getProductId() { return productId; }
+        public String getProductName() { return productName; }
+        public Integer getInventoryId() { return inventoryId; }
+        public int getQuantity() { return quantity; }
+        public LineStatus getStatus() { return status; }
+        public void setStatus(LineStatus status) { this.status = status; }
+
+        @Override
+        public String toString() {
+            return (productName != null ? productName : "Product ID " + productId)
+                    + " x" + quantity + " -> " + status
+                    + (inventoryId != null ? " (inventory_id=" + inventoryId + ")" : "");
+        }
+    }
+
+    private final int orderId;
+    private boolean success;
+    private String message;
+    private final List<LineResult> lines = new ArrayList<>();
+
+    public OrderCompletionResult(int orderId) {
+        this.orderId = orderId;
+    }
+
+    public int getOrderId() { return orderId; }
+    public boolean isSuccess() { return success; }
+    public void setSuccess(boolean success) { this.success = success; }
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+    public List<LineResult> getLines() { return lines; }
+
+    public List<LineResult> getLines(LineStatus status) {
+        List<LineResult> list = new ArrayList<>();
+        for (LineResult l : lines) {
+            if (l.getStatus() == status) list.add(l);
+        }
+        return list;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("Order #").append(orderId)
+                .append(success ? " completed" : " not completed");
+        if (message != null) sb.append(": ").append(message);
+        for (LineResult l : lines) {
+            sb.append("\n  - ").append(l);
+        }
+        return sb.toString();
+    }
+}
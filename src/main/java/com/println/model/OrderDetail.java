@@ -19,6 +19,7 @@ public class OrderDetail {
     private Integer createdBy;
     private LocalDateTime dateUpdated;
     private BigDecimal tax;
+    private String productName; // display only, filled by joined reads
 
     // --- Constructors ---
     public OrderDetail() {}
@@ -75,6 +76,9 @@ public class OrderDetail {
     public BigDecimal getTax() { return tax; }
     public void setTax(BigDecimal tax) { this.tax = tax; }
 
+    public String getProductName() { return productName; }
+    public void setProductName(String productName) { this.productName = productName; }
+
     @Override
     public String toString() {
         return "OrderDetail [id=" + orderDetailId + ", orderId=" + orderId +
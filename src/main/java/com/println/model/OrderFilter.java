@@ -0,0 +1,36 @@
+package com.println.model;
+
+import java.time.LocalDate;
+
+/**
+ * Criteria for OrderDAO.getOrdersPage. Every field is optional; null (or
+ * "All" for status) means "no restriction".
+ */
+public class OrderFilter {
+    private String status;
+    private LocalDate fromDate;   // inclusive
+    private LocalDate toDate;     // inclusive
+    private String keyword;       // order reference, customer name or "yyyy-MM-dd HH:mm"
+
+    public OrderFilter() {}
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public LocalDate getFromDate() { return fromDate; }
+    public void setFromDate(LocalDate fromDate) { this.fromDate = fromDate; }
+
+    public LocalDate getToDate() { return toDate; }
+    public void setToDate(LocalDate toDate) { this.toDate = toDate; }
+
+    public String getKeyword() { return keyword; }
+    public void setKeyword(String keyword) { this.keyword = keyword; }
+
+    public boolean hasStatus() {
+        return status != null && !status.trim().isEmpty() && !"All".equalsIgnoreCase(status.trim());
+    }
+
+    public boolean hasKeyword() {
+        return keyword != null && !keyword.trim().isEmpty();
+    }
+}
@@ -0,0 +1,31 @@
+package com.println.model;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One page of orders, newest first, from OrderDAO.getOrdersPage.
+ *
+ * The next page is requested with this page's last (order_date, order_id),
+ * so fetching page N costs the same as fetching page 1.
+ */
+public class OrderPage {
+    private final List<Order> orders = new ArrayList<>();
+    private boolean hasMore;
+
+    public List<Order> getOrders() { return orders; }
+
+    public boolean hasMore() { return hasMore; }
+    public void setHasMore(boolean hasMore) { this.hasMore = hasMore; }
+
+    /** order_date of the last order, to pass as afterDate for the next page; null if empty. */
+    public LocalDateTime getLastOrderDate() {
+        return orders.isEmpty() ? null : orders.get(orders.size() - 1).getOrderDate();
+    }
+
+    /** order_id of the last order, to pass as afterId for the next page; 0 if empty. */
+    public int getLastOrderId() {
+        return orders.isEmpty() ? 0 : orders.get(orders.size() - 1).getOrderId();
+    }
+}
@@ -32,6 +32,26 @@ public class Product {
         this.status = "Active";
     }
 
+    // Copy constructor (used so cached products are never modified by callers)
+    public Product(Product other) {
+        this.productId = other.productId;
+        this.productName = other.productName;
+        this.description = other.description;
+        this.category = other.category;
+        this.price = other.price;
+        this.unit = other.unit;
+        this.materialUsed = other.materialUsed;
+        this.quantityUsed = other.quantityUsed;
+        this.reorderLevel = other.reorderLevel;
+        this.status = other.status;
+        this.dateAdded = other.dateAdded;
+        this.addedBy = other.addedBy;
+        this.printTime = other.printTime;
+        this.size = other.size;
+        this.notes = other.notes;
+        this.inventoryId = other.inventoryId;
+    }
+
     // --- Getters and Setters ---
     public int getProductId() { return productId; }
     public void setProductId(int productId) { this.productId = productId; }
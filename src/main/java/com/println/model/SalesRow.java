@@ -0,0 +1,48 @@
+package com.println.model;
+
+import java.math.BigDecimal;
+
+/**
+ * One line of a sales report from SalesReportDAO.getSales: the total of
+ * Completed orders for one day, product, category, staff member or payment
+ * method over the requested range.
+ */
+public class SalesRow {
+
+    /** What a report is grouped by. */
+    public enum Dimension {
+        DAY("Day"),
+        PRODUCT("Product"),
+        CATEGORY("Category"),
+        TAKEN_BY("Staff (taken by)"),
+        PRINTED_BY("Staff (printed by)"),
+        PAYMENT_METHOD("Payment method");
+
+        private final String label;
+
+        Dimension(String label) { this.label = label; }
+
+        /** True when rows come from sales_daily_products, where orders are counted once per product. */
+        public boolean isProductLevel() { return this == PRODUCT || this == CATEGORY; }
+
+        @Override
+        public String toString() { return label; }
+    }
+
+    private final String label;
+    private final int orders;
+    private final int quantity;
+    private final BigDecimal revenue;
+
+    public SalesRow(String label, int orders, int quantity, BigDecimal revenue) {
+        this.label = label;
+        this.orders = orders;
+        this.quantity = quantity;
+        this.revenue = revenue != null ? revenue : BigDecimal.ZERO;
+    }
+
+    public String getLabel() { return label; }
+    public int getOrders() { return orders; }
+    public int getQuantity() { return quantity; }
+    public BigDecimal getRevenue() { return revenue; }
+}
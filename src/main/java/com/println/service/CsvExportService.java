@@ -0,0 +1,206 @@
+package com.println.service;
+
+import com.println.config.DBConnection;
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.CancellationException;
+import java.util.function.BooleanSupplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Exports whole tables to CSV (RFC 4180, UTF-8), optionally gzip-compressed.
+ *
+ * Rows are read from a forward-only, streaming ResultSet (Connector/J
+ * fetch size Integer.MIN_VALUE) and written out one at a time, so memory use
+ * does not depend on the size of the table. The file is written next to the
+ * target as "name.part" and only renamed into place once complete; a
+ * cancelled or failed export leaves nothing behind.
+ *
+ * Cancelling kills the server-side query with KILL QUERY from a second
+ * connection. Statement.cancel() cannot be used: Connector/J ignores it once
+ * executeQuery has returned, and closing a streaming ResultSet otherwise
+ * reads every remaining row off the socket.
+ */
+public final class CsvExportService {
+
+    /** What can be exported, in primary-key order. */
+    public enum Dataset {
+        ORDERS("Orders", "orders",
+                "SELECT o.order_id, o.order_reference, o.order_date, o.status, o.customer_id, c.name AS customer_name, " +
+                "o.user_id, o.total_amount, o.discount, o.quantity_total, o.payment_status, o.payment_method, " +
+                "o.due_date, o.date_completed, o.printed_by, o.remarks " +
+                "FROM orders o LEFT JOIN customers c ON c.customer_id = o.customer_id " +
+                "ORDER BY o.order_id"),
+        ORDER_DETAILS("Order lines", "order_details",
+                "SELECT od.orderdetail_id, od.order_id, od.product_id, p.product_name, od.quantity, od.unit_price, " +
+                "od.subtotal, od.discount, od.tax, od.material_used, od.print_size, od.color_type, od.remarks, " +
+                "od.created_at, od.created_by " +
+                "FROM order_details od LEFT JOIN products p ON p.product_id = od.product_id " +
+                "ORDER BY od.orderdetail_id"),
+        CUSTOMERS("Customers", "customers", "SELECT * FROM customers ORDER BY customer_id"),
+        INVENTORY("Inventory", "inventory", "SELECT * FROM inventory ORDER BY inventory_id");
+
+        private final String label;
+        private final String table;
+        private final String sql;
+
+        Dataset(String label, String table, String sql) {
+            this.label = label;
+            this.table = table;
+            this.sql = sql;
+        }
+
+        /** Base file name, e.g. "order_details". */
+        public String getTable() { return table; }
+
+        @Override
+        public String toString() { return label; }
+    }
+
+    /** Called on the exporting thread, at most every PROGRESS_INTERVAL_MS and once at the end. */
+    public interface ProgressListener {
+        /** {@code estimatedTotal} comes from table statistics and may be off, or -1 if unknown. */
+        void onProgress(long rowsWritten, long estimatedTotal);
+    }
+
+    private static final long PROGRESS_INTERVAL_MS = 200L;
+    private static final int BUFFER_BYTES = 64 * 1024;
+
+    private CsvExportService() {}
+
+    /**
+     * Writes {@code dataset} to {@code target} and returns the number of data
+     * rows. Throws CancellationException (after cleaning up) once
+     * {@code cancelled} returns true.
+     */
+    public static long export(Dataset dataset, File target, boolean gzip,
+                              ProgressListener listener, BooleanSupplier cancelled) throws IOException, SQLException {
+        File part = new File(target.getPath() + ".part");
+        long rows = 0;
+        boolean complete = false;
+
+        try (Connection conn = DBConnection.getConnection()) {
+            if (conn == null) throw new SQLException("Database not reachable");
+            long estimate = estimateRows(conn, dataset.table);
+            long connectionId = connectionId(conn);
+
+            try (PreparedStatement ps = conn.prepareStatement(dataset.sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                // Connector/J: stream rows one at a time instead of buffering the whole result
+                ps.setFetchSize(Integer.MIN_VALUE);
+
+                try (ResultSet rs = ps.executeQuery();
+                     Writer out = open(part, gzip)) {
+
+                    ResultSetMetaData meta = rs.getMetaData();
+                    int columns = meta.getColumnCount();
+                    for (int i = 1; i <= columns; i++) {
+                        if (i > 1) out.write(',');
+                        writeField(out, meta.getColumnLabel(i));
+                    }
+                    out.write("\r\n");
+
+                    long lastReport = System.currentTimeMillis();
+                    while (rs.next()) {
+                        if (cancelled.getAsBoolean()) {
+                            // Before close(), which would otherwise read the rest of the result
+                            killQuery(connectionId);
+                            throw new CancellationException("Export cancelled after " + rows + " rows");
+                        }
+                        for (int i = 1; i <= columns; i++) {
+                            if (i > 1) out.write(',');
+                            writeField(out, rs.getString(i));
+                        }
+                        out.write("\r\n");
+                        rows++;
+
+                        long now = System.currentTimeMillis();
+                        if (listener != null && now - lastReport >= PROGRESS_INTERVAL_MS) {
+                            listener.onProgress(rows, estimate);
+                            lastReport = now;
+                        }
+                    }
+                }
+            }
+            complete = true;
+        } finally {
+            if (!complete) Files.deleteIfExists(part.toPath());
+        }
+
+        Files.move(part.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        if (listener != null) listener.onProgress(rows, rows);
+        return rows;
+    }
+
+    private static Writer open(File file, boolean gzip) throws IOException {
+        OutputStream out = new BufferedOutputStream(new FileOutputStream(file), BUFFER_BYTES);
+        if (gzip) out = new GZIPOutputStream(out, BUFFER_BYTES);
+        return new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_BYTES);
+    }
+
+    // Quoted only when needed; embedded quotes doubled
+    private static void writeField(Writer out, String value) throws IOException {
+        if (value == null) return;
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char ch = value.charAt(i);
+            quote = ch == ',' || ch == '"' || ch == '\n' || ch == '\r';
+        }
+        if (!quote) {
+            out.write(value);
+            return;
+        }
+        out.write('"');
+        out.write(value.replace("\"", "\"\""));
+        out.write('"');
+    }
+
+    private static long connectionId(Connection conn) throws SQLException {
+        try (Statement st = conn.createStatement();
+             ResultSet rs = st.executeQuery("SELECT CONNECTION_ID()")) {
+            return rs.next() ? rs.getLong(1) : -1;
+        }
+    }
+
+    // Stops the query on the server so the streaming result ends early; the
+    // exporting connection itself stays usable and goes back to the pool
+    private static void killQuery(long connectionId) {
+        if (connectionId < 0) return;
+        try (Connection conn = DBConnection.getConnection()) {
+            if (conn == null) throw new SQLException("Database not reachable");
+            try (Statement st = conn.createStatement()) {
+                st.execute("KILL QUERY " + connectionId);
+            }
+        } catch (SQLException e) {
+            System.err.println("Could not stop export query: " + e.getMessage());
+        }
+    }
+
+    // InnoDB's row estimate from table statistics: free, unlike COUNT(*) on a large table
+    private static long estimateRows(Connection conn, String table) {
+        String sql = "SELECT TABLE_ROWS FROM information_schema.TABLES WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ?";
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setString(1, table);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : -1;
+            }
+        } catch (SQLException e) {
+            System.err.println("Could not estimate rows in " + table + ": " + e.getMessage());
+            return -1;
+        }
+    }
+}
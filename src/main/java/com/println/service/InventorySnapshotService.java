@@ -0,0 +1,160 @@
+package com.println.service;
+
+import com.println.config.DBConnection;
+import com.println.dao.InventoryDAO;
+import com.println.model.Inventory;
+import com.println.model.InventoryChanges;
+import java.sql.Timestamp;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory index of inventory status and quantity by item name
+ * (case-insensitive), for checks that must not wait on the database, such as
+ * the material check when a cashier selects a product.
+ *
+ * The first use loads the whole table; after that a background thread asks
+ * only for rows whose date_updated/date_added moved since the last refresh,
+ * every cache.inventory.refreshMs (default 5000 ms). A change in the table's
+ * row count or id sum (i.e. a delete) triggers a full reload.
+ */
+public final class InventorySnapshotService {
+
+    /** Immutable view of one inventory row. */
+    public static final class ItemStatus {
+        private final int inventoryId;
+        private final String itemName;
+        private final String status;
+        private final int quantity;
+        private final int reorderLevel;
+
+        ItemStatus(Inventory inv) {
+            this.inventoryId = inv.getInventoryId();
+            this.itemName = inv.getItemName();
+            this.status = inv.getStatus();
+            this.quantity = inv.getQuantity();
+            this.reorderLevel = inv.getReorderLevel();
+        }
+
+        public int getInventoryId() { return inventoryId; }
+        public String getItemName() { return itemName; }
+        public String getStatus() { return status; }   // "Available", "Low", "Out of Stock"
+        public int getQuantity() { return quantity; }
+        public int getReorderLevel() { return reorderLevel; }
+    }
+
+    private static final long DEFAULT_REFRESH_MS = 5000L;
+
+    // Re-read rows stamped this long before the previous refresh, so a transaction
+    // that committed late (date_updated is set before commit) is not missed.
+    private static final long OVERLAP_MS = 60_000L;
+
+    private static final InventorySnapshotService INSTANCE = new InventorySnapshotService();
+
+    private final InventoryDAO inventoryDAO = new InventoryDAO();
+    private final long refreshMillis;
+    private ScheduledExecutorService refresher;
+
+    // Written only by refresh() (synchronized); readers see the published byName map
+    private final Map<Integer, ItemStatus> byId = new HashMap<>();
+    private long idSum;
+    private Timestamp lastServerTime;
+    private volatile Map<String, ItemStatus> byName;
+
+    private InventorySnapshotService() {
+        long interval = DEFAULT_REFRESH_MS;
+        try {
+            String v = DBConnection.getConfig().getProperty("cache.inventory.refreshMs");
+            if (v != null && !v.trim().isEmpty()) interval = Long.parseLong(v.trim());
+        } catch (Exception e) {
+            System.err.println("Using default inventory refresh interval: " + e.getMessage());
+        }
+        this.refreshMillis = Math.max(500L, interval);
+    }
+
+    public static InventorySnapshotService getInstance() {
+        return INSTANCE;
+    }
+
+    /** Starts the background refresh (and the initial load) if it is not running yet. */
+    public synchronized void start() {
+        if (refresher != null) return;
+        refresher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "inventory-snapshot");
+            t.setDaemon(true);
+            return t;
+        });
+        refresher.scheduleWithFixedDelay(() -> {
+            try {
+                refresh();
+            } catch (RuntimeException e) {
+                System.err.println("Error refreshing inventory snapshot: " + e.getMessage());
+            }
+        }, 0, refreshMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Returns the indexed row for an item name, or null if there is no such item.
+     * Only the very first call (before any load) touches the database.
+     */
+    public ItemStatus lookup(String itemName) {
+        if (itemName == null) return null;
+        Map<String, ItemStatus> index = byName;
+        if (index == null) {
+            start();
+            refresh();
+            index = byName;
+            if (index == null) return null;
+        }
+        return index.get(key(itemName));
+    }
+
+    /** Status ("Available", "Low", "Out of Stock") for an item name, or null if unknown. */
+    public String getStatus(String itemName) {
+        ItemStatus s = lookup(itemName);
+        return s != null ? s.getStatus() : null;
+    }
+
+    /** Applies the rows changed since the last refresh; falls back to a full load when needed. */
+    public synchronized void refresh() {
+        boolean full = byName == null || lastServerTime == null;
+        Timestamp since = full ? null : new Timestamp(lastServerTime.getTime() - OVERLAP_MS);
+
+        InventoryChanges changes = inventoryDAO.getInventoryChangesSince(since);
+        if (changes == null) return; // keep serving the previous snapshot
+
+        if (full) {
+            byId.clear();
+            idSum = 0;
+        }
+        for (Inventory inv : changes.getChanged()) {
+            ItemStatus old = byId.put(inv.getInventoryId(), new ItemStatus(inv));
+            if (old == null) idSum += inv.getInventoryId();
+        }
+
+        // Deleted rows never show up as changes: detect them from the table fingerprint
+        if (!full && (byId.size() != changes.getRowCount() || idSum != changes.getIdSum())) {
+            lastServerTime = null;
+            refresh();
+            return;
+        }
+
+        lastServerTime = changes.getServerTime();
+        if (!full && changes.getChanged().isEmpty()) return;
+
+        Map<String, ItemStatus> index = new HashMap<>(byId.size() * 2);
+        for (ItemStatus s : byId.values()) {
+            index.put(key(s.getItemName()), s);
+        }
+        byName = Collections.unmodifiableMap(index);
+    }
+
+    private static String key(String s) {
+        return s == null ? "" : s.trim().toLowerCase(Locale.ROOT);
+    }
+}
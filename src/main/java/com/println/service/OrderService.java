@@ -1,13 +1,11 @@
 package com.println.service;
 
-import com.println.dao.InventoryDAO;
 import com.println.dao.OrderDAO;
-import com.println.dao.ProductDAO;
+import com.println.dao.OrderReferenceAllocator;
 import com.println.model.Order;
+import com.println.model.OrderCompletionResult;
 import com.println.model.OrderDetail;
-import com.println.model.Product;
-import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
+import java.sql.SQLException;
 import java.util.List;
 
 /**
@@ -19,22 +17,14 @@ import java.util.List;
 public class OrderService {
 
     private final OrderDAO orderDAO;
-    private final ProductDAO productDAO;
-    private final InventoryDAO inventoryDAO;
 
     public OrderService() {
         this.orderDAO = new OrderDAO();
-        this.productDAO = new ProductDAO();
-        this.inventoryDAO = new InventoryDAO();
     }
 
-    // 1. Generate unique Order Reference
-    private String generateOrderReference() {
-        LocalDate today = LocalDate.now();
-        String datePart = today.format(DateTimeFormatter.ofPattern("yyyyMMdd"));
-
-        int sequence = (int) (System.currentTimeMillis() % 1000);
-        return String.format("ORD-%s-%03d", datePart, sequence);
+    // 1. Generate unique Order Reference (per-day sequence, shared with OrderDAO)
+    private String generateOrderReference() throws SQLException {
+        return OrderReferenceAllocator.getInstance().next();
     }
 
     // -----------------------------------------------------
@@ -60,6 +50,10 @@ public class OrderService {
                 order.setPaymentMethod("Cash"); // default fallback, safe
             }
 
+            if (order.getOrderReference() == null) {
+                order.setOrderReference(generateOrderReference());
+            }
+
             int orderId = orderDAO.addOrder(order);
 
             if (orderId <= 0) {
@@ -80,41 +74,33 @@ public class OrderService {
 
     // 3. COMPLETE ORDER — Deduct inventory
     public boolean completeOrder(int orderId, int completedBy) {
+        return completeOrderWithReport(orderId, completedBy).isSuccess();
+    }
+
+    // Same as completeOrder, but returns what happened to each order line
+    public OrderCompletionResult completeOrderWithReport(int orderId, int completedBy) {
         System.out.println("Completing order #" + orderId + "...");
 
-        boolean done = orderDAO.completeOrder(orderId, completedBy);
+        OrderCompletionResult result = orderDAO.completeOrderWithInventory(orderId, completedBy);
 
-        if (done) {
+        if (result.isSuccess()) {
             System.out.println("Order #" + orderId + " completed & inventory updated.");
         } else {
             System.err.println("Failed to complete order.");
         }
+        System.out.println(result);
 
-        return done;
+        return result;
     }
 
 
-    // 4. CANCEL ORDER — Restore inventory
+    // 4. CANCEL ORDER — Restore inventory (one transaction, see OrderDAO.cancelOrder)
     public boolean cancelOrder(int orderId, int cancelledBy) {
         System.out.println("Cancelling order #" + orderId + "...");
 
-        List<OrderDetail> details = orderDAO.getOrderDetails(orderId);
-
-        if (details != null) {
-            for (OrderDetail d : details) {
-                Product p = productDAO.getProductById(d.getProductId());
-                if (p == null) continue;
-
-                Integer invId = p.getInventoryId();
-                if (invId == null) continue;
-
-                inventoryDAO.incrementStock(invId, d.getQuantity());
-            }
-        }
-
-        boolean statusUpdated = orderDAO.updateOrderStatus(orderId, "Cancelled", cancelledBy);
+        boolean cancelled = orderDAO.cancelOrder(orderId, cancelledBy);
 
-        if (statusUpdated) {
+        if (cancelled) {
             System.out.println("Order #" + orderId + " cancelled. Inventory restored.");
             return true;
         }
@@ -123,8 +109,11 @@ public class OrderService {
         return false;
     }
 
-    //  5. Manual status change
+    //  5. Manual status change; Completed and Cancelled go through the inventory-aware paths.
+    //     Moving an order out of Completed or Cancelled is refused by the DAO.
     public boolean updateOrderStatus(int orderId, String status, int userId) {
+        if ("Completed".equalsIgnoreCase(status)) return completeOrder(orderId, userId);
+        if ("Cancelled".equalsIgnoreCase(status)) return cancelOrder(orderId, userId);
         return orderDAO.updateOrderStatus(orderId, status, userId);
     }
 }
@@ -1,32 +1,104 @@
 package com.println.service;
 
 import com.println.config.DBConnection;
+import com.println.dao.CustomerDAO;
+import com.println.dao.OrderDAO;
+import com.println.dao.OrderTotals;
+import com.println.dao.ProductDAO;
+import com.println.model.Customer;
+import com.println.model.Order;
+import com.println.model.OrderDetail;
+import com.println.model.Product;
+import java.io.File;
+import java.math.BigDecimal;
+import java.nio.file.Files;
 import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
 import net.sf.jasperreports.engine.*;
+import net.sf.jasperreports.engine.data.JRMapCollectionDataSource;
+import net.sf.jasperreports.engine.fill.AsynchronousFillHandle;
+import net.sf.jasperreports.engine.fill.AsynchronousFilllListener;
+import net.sf.jasperreports.engine.fill.FillListener;
+import net.sf.jasperreports.engine.fill.JRSwapFileVirtualizer;
+import net.sf.jasperreports.engine.util.JRSwapFile;
+import net.sf.jasperreports.export.SimpleExporterInput;
+import net.sf.jasperreports.export.SimpleOutputStreamExporterOutput;
+import net.sf.jasperreports.pdf.JRPdfExporter;
+import net.sf.jasperreports.pdf.SimplePdfReportConfiguration;
 import net.sf.jasperreports.view.JasperViewer;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.swing.SwingUtilities;
 
 public class ReportService {
 
-    public static void printReceipt(int orderId) {
-        try {
-            // Correct classpath location of your JRXML
-            String jrxmlPath = "/receipt.jrxml";
+    // Classpath location of the receipt JRXML
+    public static final String RECEIPT_TEMPLATE = "/receipt.jrxml";
+
+    // Classpath location of the line-by-line sales listing (FROM_DATE, TO_DATE)
+    public static final String SALES_LISTING_TEMPLATE = "/sales_listing.jrxml";
 
-            // Load and compile the JRXML from resources
-            JasperReport report = JasperCompileManager.compileReport(
-                ReportService.class.getResourceAsStream(jrxmlPath)
-            );
+    // --- Large-report mode ---
+    // Pages kept in memory while filling (report.large.pageBudget in dbconfig.properties);
+    // the rest are serialized to a swap file in report.large.swapDir (default: temp dir).
+    private static final int DEFAULT_PAGE_BUDGET = 50;
+    private static final int SWAP_BLOCK_SIZE = 4096;
+    private static final int SWAP_MIN_GROW_BLOCKS = 1024;
 
-            // Parameters to pass to Jasper
-            HashMap<String, Object> params = new HashMap<>();
-            params.put("ORDER_ID", orderId);
+    // --- Async receipt pipeline ---
+    // Fills run in parallel on a small bounded pool; delivery (viewer, printer, PDF)
+    // runs on one thread in submission order so receipts never come out shuffled.
+    private static final int FILL_THREADS = 2;
+    private static final int FILL_QUEUE_CAPACITY = 16;
 
-            // DB connection
-            Connection conn = DBConnection.getConnection();
+    private static final ExecutorService fillExecutor = new ThreadPoolExecutor(
+            FILL_THREADS, FILL_THREADS, 30L, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(FILL_QUEUE_CAPACITY),
+            daemonThreads("receipt-fill"),
+            new ThreadPoolExecutor.AbortPolicy());
 
-            // Fill report with data
-            JasperPrint print = JasperFillManager.fillReport(report, params, conn);
+    private static final ExecutorService outputExecutor =
+            Executors.newSingleThreadExecutor(daemonThreads("receipt-output"));
+
+    private static final OrderDAO orderDAO = new OrderDAO();
+    private static final CustomerDAO customerDAO = new CustomerDAO();
+    private static final ProductDAO productDAO = new ProductDAO();
+
+    // Completes when the most recently queued receipt has been delivered (or failed)
+    private static CompletableFuture<Void> lastDelivery = CompletableFuture.completedFuture(null);
+
+    /** Progress of a large report; called on the fill and export threads, once per page. */
+    public interface LargeReportListener {
+        void onPageFilled(int pages, long elapsedMillis);
+        void onPageExported(int page, int totalPages, long elapsedMillis);
+    }
+
+    /** Where a filled receipt goes once it reaches the front of the queue. */
+    @FunctionalInterface
+    public interface ReceiptSink {
+        void deliver(JasperPrint print) throws Exception;
+    }
+
+    public static void printReceipt(int orderId) {
+        try {
+            JasperPrint print = fillReceipt(orderId);
 
             // Display viewer
             JasperViewer.viewReport(print, false);
@@ -35,4 +107,287 @@ public class ReportService {
             e.printStackTrace();
         }
     }
-}
\ No newline at end of file
+
+    // =============================================================
+    //  Async API — safe to call from the EDT
+    // =============================================================
+
+    /** Fills the receipt in the background, then opens it in the Jasper viewer. */
+    public static CompletableFuture<JasperPrint> printReceiptAsync(int orderId) {
+        return submit(() -> fillReceipt(orderId), ReportService::showInViewer);
+    }
+
+    /**
+     * Same, for an order just placed through OrderService: fills from the order
+     * and its lines as they are in memory, without reading them back from the
+     * database. The order must not be changed after this call.
+     */
+    public static CompletableFuture<JasperPrint> printReceiptAsync(Order order) {
+        return submit(() -> fillReceipt(order), ReportService::showInViewer);
+    }
+
+    /** Fills the receipt in the background, then sends it to the default printer without a dialog. */
+    public static CompletableFuture<JasperPrint> sendReceiptToPrinterAsync(int orderId) {
+        return submit(() -> fillReceipt(orderId), print -> JasperPrintManager.printReport(print, false));
+    }
+
+    /** Fills the receipt in the background, then exports it to a PDF file. */
+    public static CompletableFuture<JasperPrint> exportReceiptPdfAsync(int orderId, File target) {
+        return submit(() -> fillReceipt(orderId),
+                print -> JasperExportManager.exportReportToPdfFile(print, target.getAbsolutePath()));
+    }
+
+    /**
+     * Queues a fill job and its delivery. The returned future completes with the
+     * JasperPrint once it has been delivered, or exceptionally if the fill or the
+     * delivery failed, or if too many receipts are already waiting.
+     */
+    public static CompletableFuture<JasperPrint> submit(Callable<JasperPrint> fill, ReceiptSink sink) {
+        CompletableFuture<JasperPrint> filled;
+        try {
+            filled = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return fill.call();
+                } catch (Exception e) {
+                    throw new CompletionException(e);
+                }
+            }, fillExecutor);
+        } catch (RejectedExecutionException e) {
+            CompletableFuture<JasperPrint> failed = new CompletableFuture<>();
+            failed.completeExceptionally(new IllegalStateException(
+                    "Receipt queue is full (" + FILL_QUEUE_CAPACITY + " waiting). Try again shortly.", e));
+            return failed;
+        }
+
+        synchronized (ReportService.class) {
+            // Wait for the previous receipt's delivery, whatever its outcome
+            CompletableFuture<JasperPrint> delivered = filled.thenCombineAsync(lastDelivery, (print, ignored) -> {
+                try {
+                    sink.deliver(print);
+                    return print;
+                } catch (Exception e) {
+                    throw new CompletionException(e);
+                }
+            }, outputExecutor);
+
+            lastDelivery = delivered.handle((print, error) -> null);
+            delivered.whenComplete((print, error) -> {
+                if (error != null) {
+                    System.err.println("Error producing receipt: " + rootMessage(error));
+                }
+            });
+            return delivered;
+        }
+    }
+
+    // =============================================================
+    //  Large-report mode — call off the EDT
+    // =============================================================
+
+    /**
+     * Fills a report that may run to thousands of pages and writes it straight
+     * to a PDF file, without the viewer. Only the page budget is held in memory;
+     * older pages go to a swap file that is deleted when the export finishes.
+     * Returns the number of pages. Interrupting the calling thread cancels the fill
+     * or the PDF write, and the partial file is deleted.
+     */
+    public static int exportLargeReportPdf(String template, Map<String, Object> params, File target,
+                                           LargeReportListener listener) throws Exception {
+        JasperReport report = ReportTemplateRegistry.get(template);
+        String swapDir = swapDir();
+        JRSwapFileVirtualizer virtualizer = new JRSwapFileVirtualizer(pageBudget(),
+                new JRSwapFile(swapDir, SWAP_BLOCK_SIZE, SWAP_MIN_GROW_BLOCKS), true);
+
+        long start = System.currentTimeMillis();
+        boolean complete = false;
+        try {
+            HashMap<String, Object> fillParams = new HashMap<>(params);
+            fillParams.put(JRParameter.REPORT_VIRTUALIZER, virtualizer);
+
+            JasperPrint print;
+            // The connection is only needed while filling
+            try (Connection conn = DBConnection.getConnection()) {
+                if (conn == null) throw new SQLException("Database not reachable");
+                print = fillWithProgress(report, fillParams, conn, listener, start);
+            }
+            long filledAt = System.currentTimeMillis();
+
+            // No more pages will be added; lets the virtualizer drop swapped-in copies freely
+            virtualizer.setReadOnly(true);
+
+            int totalPages = print.getPages().size();
+            int[] exported = {0};
+            SimplePdfReportConfiguration config = new SimplePdfReportConfiguration();
+            // Checked after every page, so an interrupt also stops a long PDF write
+            config.setProgressMonitor(() -> {
+                if (Thread.currentThread().isInterrupted()) throw new CancellationException("Report cancelled");
+                if (listener != null) {
+                    listener.onPageExported(++exported[0], totalPages, System.currentTimeMillis() - start);
+                }
+            });
+            JRPdfExporter exporter = new JRPdfExporter();
+            exporter.setExporterInput(new SimpleExporterInput(print));
+            exporter.setExporterOutput(new SimpleOutputStreamExporterOutput(target));
+            exporter.setConfiguration(config);
+            exporter.exportReport();
+            complete = true;
+
+            System.out.println("Large report " + template + ": " + totalPages + " page(s) filled in "
+                    + (filledAt - start) + " ms, PDF written in " + (System.currentTimeMillis() - filledAt) + " ms");
+            return totalPages;
+
+        } finally {
+            virtualizer.cleanup();
+            if (!complete) Files.deleteIfExists(target.toPath());
+        }
+    }
+
+    // Fill on Jasper's own thread so pages can be counted as they are generated
+    private static JasperPrint fillWithProgress(JasperReport report, Map<String, Object> params, Connection conn,
+                                                LargeReportListener listener, long start) throws Exception {
+        AsynchronousFillHandle handle = AsynchronousFillHandle.createHandle(report, params, conn);
+        CompletableFuture<JasperPrint> filled = new CompletableFuture<>();
+
+        if (listener != null) {
+            handle.addFillListener(new FillListener() {
+                @Override
+                public void pageGenerated(JasperPrint print, int pageIndex) {
+                    listener.onPageFilled(pageIndex + 1, System.currentTimeMillis() - start);
+                }
+
+                @Override
+                public void pageUpdated(JasperPrint print, int pageIndex) {
+                }
+            });
+        }
+        handle.addListener(new AsynchronousFilllListener() {
+            @Override
+            public void reportFinished(JasperPrint print) {
+                filled.complete(print);
+            }
+
+            @Override
+            public void reportCancelled() {
+                filled.completeExceptionally(new CancellationException("Report cancelled"));
+            }
+
+            @Override
+            public void reportFillError(Throwable t) {
+                filled.completeExceptionally(t);
+            }
+        });
+        handle.setThreadName("large-report-fill");
+        handle.startFill();
+
+        try {
+            return filled.get();
+        } catch (InterruptedException e) {
+            handle.cancellFill();
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Report cancelled");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception cause) throw cause;
+            throw e;
+        }
+    }
+
+    private static int pageBudget() {
+        try {
+            String v = DBConnection.getConfig().getProperty("report.large.pageBudget");
+            if (v != null && !v.trim().isEmpty()) return Math.max(2, Integer.parseInt(v.trim()));
+        } catch (Exception e) {
+            System.err.println("Using default report page budget: " + e.getMessage());
+        }
+        return DEFAULT_PAGE_BUDGET;
+    }
+
+    private static String swapDir() {
+        String tmp = System.getProperty("java.io.tmpdir");
+        try {
+            String v = DBConnection.getConfig().getProperty("report.large.swapDir");
+            if (v != null && !v.trim().isEmpty()) return v.trim();
+        } catch (Exception e) {
+            System.err.println("Using default report swap folder: " + e.getMessage());
+        }
+        return tmp;
+    }
+
+    // =============================================================
+    //  Filling / delivery helpers
+    // =============================================================
+    // Receipt for an order already in the database: one read for the order and its lines
+    private static JasperPrint fillReceipt(int orderId) throws Exception {
+        Order order = orderDAO.getOrderById(orderId);
+        if (order == null) throw new IllegalArgumentException("Order #" + orderId + " not found");
+
+        if (order.getCustomerName() == null && order.getCustomerId() != null) {
+            Customer customer = customerDAO.getCustomerById(order.getCustomerId());
+            if (customer != null) order.setCustomerName(customer.getName());
+        }
+        return fillReceipt(order);
+    }
+
+    // receipt.jrxml has no query: it is filled with one row per order line, each
+    // carrying the order-level fields too (the header and summary read them).
+    private static JasperPrint fillReceipt(Order order) throws Exception {
+        // Compiled once per template (and cached on disk) by the registry
+        JasperReport report = ReportTemplateRegistry.get(RECEIPT_TEMPLATE);
+
+        List<OrderDetail> details = order.getDetails() != null ? order.getDetails() : new ArrayList<>();
+        Timestamp orderDate = Timestamp.valueOf(order.getOrderDate() != null ? order.getOrderDate() : LocalDateTime.now());
+        BigDecimal total = order.getTotalAmount() != null ? order.getTotalAmount() : OrderTotals.orderTotal(details);
+
+        List<Map<String, ?>> rows = new ArrayList<>();
+        for (OrderDetail d : details) {
+            rows.add(receiptRow(order, orderDate, total, d));
+        }
+        // Still print the header and totals for an order without lines
+        if (rows.isEmpty()) rows.add(receiptRow(order, orderDate, total, null));
+
+        return JasperFillManager.fillReport(report, new HashMap<>(), new JRMapCollectionDataSource(rows));
+    }
+
+    private static Map<String, Object> receiptRow(Order order, Timestamp orderDate, BigDecimal total, OrderDetail d) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("customer_name", order.getCustomerName() != null ? order.getCustomerName() : "Walk-in");
+        row.put("order_date", orderDate);
+        row.put("payment_method", order.getPaymentMethod());
+        row.put("total_amount", total);
+        row.put("remarks", order.getRemarks() != null ? order.getRemarks() : "");
+        if (d != null) {
+            row.put("product_name", productName(d));
+            row.put("quantity", d.getQuantity());
+            row.put("unit_price", d.getUnitPrice());
+            row.put("subtotal", d.getSubtotal() != null ? d.getSubtotal() : OrderTotals.lineSubtotal(d));
+        }
+        return row;
+    }
+
+    // Lines built at the counter carry their name; others come from the product cache
+    private static String productName(OrderDetail d) {
+        if (d.getProductName() != null) return d.getProductName();
+        Product product = productDAO.getProductById(d.getProductId());
+        return product != null ? product.getProductName() : "Product #" + d.getProductId();
+    }
+
+    private static void showInViewer(JasperPrint print) {
+        SwingUtilities.invokeLater(() -> JasperViewer.viewReport(print, false));
+    }
+
+    private static String rootMessage(Throwable t) {
+        Throwable cause = t;
+        while ((cause instanceof CompletionException) && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause.getMessage();
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger seq = new AtomicInteger(1);
+        return r -> {
+            Thread t = new Thread(r, prefix + "-" + seq.getAndIncrement());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+}
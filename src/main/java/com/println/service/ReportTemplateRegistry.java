@@ -0,0 +1,179 @@
+package com.println.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import net.sf.jasperreports.engine.JRException;
+import net.sf.jasperreports.engine.JasperCompileManager;
+import net.sf.jasperreports.engine.JasperReport;
+import net.sf.jasperreports.engine.util.JRLoader;
+import net.sf.jasperreports.engine.util.JRSaver;
+
+/**
+ * Compiles each JRXML template once and keeps the resulting JasperReport.
+ *
+ * Compiled templates are also written to a cache folder next to the app
+ * (compiled-reports/ by default, override with -Dprintln.reportCache=...)
+ * under a name that includes the SHA-256 of the JRXML source. A restart
+ * loads the .jasper file instead of recompiling, and an edited template
+ * gets a new checksum, so it is recompiled automatically.
+ */
+public class ReportTemplateRegistry {
+
+    private static final String CACHE_DIR_PROPERTY = "println.reportCache";
+
+    private static final Map<String, JasperReport> compiled = new ConcurrentHashMap<>();
+    private static final Map<String, Object> locks = new ConcurrentHashMap<>();
+
+    private ReportTemplateRegistry() {}
+
+    /** Returns the compiled report for a classpath JRXML such as "/receipt.jrxml". */
+    public static JasperReport get(String jrxmlResource) throws JRException {
+        JasperReport report = compiled.get(jrxmlResource);
+        if (report != null) return report;
+
+        // Per-template lock so two threads never compile the same JRXML twice
+        synchronized (lockFor(jrxmlResource)) {
+            report = compiled.get(jrxmlResource);
+            if (report == null) {
+                report = load(jrxmlResource);
+                compiled.put(jrxmlResource, report);
+            }
+            return report;
+        }
+    }
+
+    /** Warms the cache on a background thread so the first receipt does not pay for compilation. */
+    public static void preloadAsync(String... jrxmlResources) {
+        Thread t = new Thread(() -> {
+            for (String res : jrxmlResources) {
+                try {
+                    get(res);
+                } catch (Exception e) {
+                    System.err.println("Error preloading report " + res + ": " + e.getMessage());
+                }
+            }
+        }, "report-preload");
+        t.setDaemon(true);
+        t.start();
+    }
+
+    /** Drops the in-memory copy; the next get() re-reads the source and checks its checksum. */
+    public static void invalidate(String jrxmlResource) {
+        compiled.remove(jrxmlResource);
+    }
+
+    // =============================================================
+    //  Loading
+    // =============================================================
+    private static JasperReport load(String jrxmlResource) throws JRException {
+        byte[] source = readResource(jrxmlResource);
+        String checksum = sha256(source);
+
+        File cacheDir = cacheDir();
+        String baseName = baseName(jrxmlResource);
+        File cached = new File(cacheDir, baseName + "-" + checksum.substring(0, 16) + ".jasper");
+
+        if (cached.isFile()) {
+            try {
+                Object obj = JRLoader.loadObject(cached);
+                if (obj instanceof JasperReport) {
+                    return (JasperReport) obj;
+                }
+            } catch (JRException e) {
+                System.err.println("Ignoring unreadable compiled report " + cached + ": " + e.getMessage());
+            }
+        }
+
+        long start = System.currentTimeMillis();
+        JasperReport report = JasperCompileManager.compileReport(new ByteArrayInputStream(source));
+        System.out.println("Compiled " + jrxmlResource + " in " + (System.currentTimeMillis() - start) + " ms");
+
+        save(report, cacheDir, baseName, cached);
+        return report;
+    }
+
+    private static void save(JasperReport report, File cacheDir, String baseName, File target) {
+        try {
+            if (!cacheDir.isDirectory() && !cacheDir.mkdirs()) {
+                System.err.println("Cannot create report cache folder: " + cacheDir.getAbsolutePath());
+                return;
+            }
+
+            // Write to a temp file first so a crash never leaves a half-written .jasper
+            File tmp = File.createTempFile(baseName, ".tmp", cacheDir);
+            JRSaver.saveObject(report, tmp);
+            Files.move(tmp.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+
+            // Remove files compiled from older versions of the same template
+            File[] stale = cacheDir.listFiles((dir, name) ->
+                    name.startsWith(baseName + "-") && name.endsWith(".jasper") && !name.equals(target.getName()));
+            if (stale != null) {
+                for (File f : stale) {
+                    f.delete();
+                }
+            }
+        } catch (IOException | JRException e) {
+            System.err.println("Error saving compiled report " + target + ": " + e.getMessage());
+        }
+    }
+
+    // =============================================================
+    //  Helpers
+    // =============================================================
+    private static Object lockFor(String key) {
+        return locks.computeIfAbsent(key, k -> new Object());
+    }
+
+    private static byte[] readResource(String resource) throws JRException {
+        try (InputStream in = ReportTemplateRegistry.class.getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new JRException("Report template not found on classpath: " + resource);
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buf = new byte[8192];
+            int n;
+            while ((n = in.read(buf)) != -1) {
+                out.write(buf, 0, n);
+            }
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new JRException("Error reading report template " + resource, e);
+        }
+    }
+
+    private static String sha256(byte[] data) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(data);
+            StringBuilder sb = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                sb.append(String.format("%02x", b));
+            }
+            return sb.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static String baseName(String resource) {
+        String name = resource.substring(resource.lastIndexOf('/') + 1);
+        int dot = name.lastIndexOf('.');
+        return dot > 0 ? name.substring(0, dot) : name;
+    }
+
+    private static File cacheDir() {
+        String configured = System.getProperty(CACHE_DIR_PROPERTY);
+        if (configured != null && !configured.trim().isEmpty()) {
+            return new File(configured.trim());
+        }
+        return new File(System.getProperty("user.dir"), "compiled-reports");
+    }
+}
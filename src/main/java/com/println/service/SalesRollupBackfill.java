@@ -0,0 +1,68 @@
+package com.println.service;
+
+import com.println.dao.SalesReportDAO;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Fills the daily sales rollups from existing order history.
+ *
+ * New sales are rolled up by OrderDAO as they happen and the V005 migration
+ * seeds the history; this job repairs the rollups on demand (ReportsPanel's
+ * rebuild button). It rebuilds
+ * one month per transaction, newest month first so recent reports are usable
+ * soonest, on a single daemon thread. Each month is recomputed from scratch,
+ * so running it twice (or on two terminals) gives the same result.
+ */
+public final class SalesRollupBackfill {
+
+    /** Progress callbacks, called on the backfill thread. */
+    public interface Listener {
+        void onMonth(YearMonth month, int done, int total);
+        void onFinished(int failedMonths);
+    }
+
+    private static final SalesRollupBackfill INSTANCE = new SalesRollupBackfill();
+
+    private final SalesReportDAO salesReportDAO = new SalesReportDAO();
+    private Thread worker;
+
+    private SalesRollupBackfill() {}
+
+    public static SalesRollupBackfill getInstance() {
+        return INSTANCE;
+    }
+
+    public synchronized boolean isRunning() {
+        return worker != null && worker.isAlive();
+    }
+
+    /**
+     * Rebuilds every month from the first order to the current one.
+     * Returns false (and does nothing) if a backfill is already running.
+     */
+    public synchronized boolean start(Listener listener) {
+        if (isRunning()) return false;
+        worker = new Thread(() -> run(listener), "sales-rollup-backfill");
+        worker.setDaemon(true);
+        worker.start();
+        return true;
+    }
+
+    private void run(Listener listener) {
+        YearMonth first = salesReportDAO.getFirstOrderMonth();
+        YearMonth current = YearMonth.now();
+        int total = first == null ? 0 : (int) first.until(current, ChronoUnit.MONTHS) + 1;
+        int failed = 0;
+
+        long start = System.currentTimeMillis();
+        for (int i = 0; i < total; i++) {
+            YearMonth month = current.minusMonths(i);
+            if (!salesReportDAO.rebuildMonth(month)) failed++;
+            if (listener != null) listener.onMonth(month, i + 1, total);
+        }
+        System.out.println("Sales rollups rebuilt for " + total + " month(s) in "
+                + (System.currentTimeMillis() - start) + " ms" + (failed > 0 ? ", " + failed + " failed" : ""));
+        if (listener != null) listener.onFinished(failed);
+    }
+}
@@ -13,6 +13,8 @@ public class TestDB {
 
         if (conn != null) {
             System.out.println("SUCCESS: Connected to the database!");
+            try { conn.close(); } catch (Exception ignored) {}
+            System.out.println("Pool: " + DBConnection.getPoolStats());
         } else {
             System.out.println("FAILED: Could not connect to the database!");
         }
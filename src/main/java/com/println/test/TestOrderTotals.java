@@ -0,0 +1,115 @@
+package com.println.test;
+
+import com.println.config.DBConnection;
+import com.println.dao.OrderTotals;
+import com.println.model.OrderDetail;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Checks that OrderTotals (used by OrderDAO.addOrder) gives the same
+ * total_amount as the SQL formula that used to be run after the insert.
+ * The expected values are checked offline; if the database is reachable
+ * the same lines are also evaluated by MySQL and compared.
+ */
+public class TestOrderTotals {
+
+    private static int failures = 0;
+
+    public static void main(String[] args) {
+        // qty, unit price, discount %, tax -> expected orders.total_amount
+        check("plain line", "500.00", line(2, "250.00", "0.00", "0.00"));
+        check("10% discount", "450.00", line(2, "250.00", "10.00", "0.00"));
+        check("discount + tax", "463.50", line(3, "150.00", "5.00", "36.00"));
+        check("half cent rounds away from zero", "0.29", line(1, "0.30", "5.00", "0.00"));
+        check("fractional percent", "1219.06", line(7, "199.99", "12.92", "0.00"));
+        check("three lines", "1109.53",
+                line(1, "99.99", "0.00", "0.00"),
+                line(4, "12.50", "33.33", "1.15"),
+                line(10, "97.75", "0.25", "0.00"));
+        check("no lines", "0.00");
+
+        List<OrderDetail> mixed = new ArrayList<>();
+        mixed.add(line(5, "10.00", "0.00", "0.00").get(0));
+        mixed.add(line(3, "20.00", "0.00", "0.00").get(0));
+        int qty = OrderTotals.quantityTotal(mixed);
+        report("quantity_total", qty == 8, "expected 8, got " + qty);
+
+        compareWithDatabase();
+
+        System.out.println(failures == 0 ? "\n✅ All order total checks passed." : "\n❌ " + failures + " check(s) failed.");
+    }
+
+    // Runs the old SUM(...) formula on the same values inside MySQL
+    private static void compareWithDatabase() {
+        Connection conn = DBConnection.getConnection();
+        if (conn == null) {
+            System.out.println("Database not reachable — skipping SQL comparison.");
+            return;
+        }
+
+        String sql = "SELECT CAST(SUM(subtotal - (subtotal * (discount / 100)) + tax) AS DECIMAL(10,2)) "
+                   + "FROM (SELECT CAST(? * ? AS DECIMAL(10,2)) AS subtotal, "
+                   + "CAST(? AS DECIMAL(10,2)) AS discount, CAST(? AS DECIMAL(10,2)) AS tax) x";
+
+        String[][] samples = {
+            {"2", "250.00", "10.00", "0.00"},
+            {"3", "150.00", "5.00", "36.00"},
+            {"1", "0.30", "5.00", "0.00"},
+            {"7", "199.99", "12.92", "0.00"},
+            {"4", "12.50", "33.33", "1.15"},
+            {"13", "0.07", "99.99", "0.01"},
+        };
+
+        try (Connection c = conn;
+             PreparedStatement ps = c.prepareStatement(sql)) {
+            for (String[] s : samples) {
+                ps.setInt(1, Integer.parseInt(s[0]));
+                ps.setBigDecimal(2, new BigDecimal(s[1]));
+                ps.setBigDecimal(3, new BigDecimal(s[2]));
+                ps.setBigDecimal(4, new BigDecimal(s[3]));
+
+                try (ResultSet rs = ps.executeQuery()) {
+                    rs.next();
+                    BigDecimal db = rs.getBigDecimal(1);
+                    BigDecimal java = OrderTotals.orderTotal(line(Integer.parseInt(s[0]), s[1], s[2], s[3]));
+                    report("SQL vs Java " + String.join("/", s), db.compareTo(java) == 0,
+                            "db=" + db + " java=" + java);
+                }
+            }
+        } catch (Exception e) {
+            failures++;
+            System.out.println("❌ SQL comparison failed: " + e.getMessage());
+        }
+    }
+
+    private static List<OrderDetail> line(int qty, String unitPrice, String discount, String tax) {
+        OrderDetail d = new OrderDetail(1, qty, new BigDecimal(unitPrice));
+        d.setDiscount(new BigDecimal(discount));
+        d.setTax(new BigDecimal(tax));
+        List<OrderDetail> list = new ArrayList<>();
+        list.add(d);
+        return list;
+    }
+
+    @SafeVarargs
+    private static void check(String name, String expected, List<OrderDetail>... lines) {
+        List<OrderDetail> all = new ArrayList<>();
+        for (List<OrderDetail> l : lines) all.addAll(l);
+        BigDecimal actual = OrderTotals.orderTotal(all);
+        report(name, actual.compareTo(new BigDecimal(expected)) == 0, "expected " + expected + ", got " + actual);
+    }
+
+    private static void report(String name, boolean ok, String detail) {
+        if (ok) {
+            System.out.println("✅ " + name);
+        } else {
+            failures++;
+            System.out.println("❌ " + name + ": " + detail);
+        }
+    }
+}
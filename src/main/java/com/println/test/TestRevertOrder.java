@@ -1,12 +1,13 @@
 package com.println.test;
 
-import com.println.dao.OrderDAO;
+import com.println.service.OrderService;
 
 public class TestRevertOrder {
     public static void main(String[] args) {
-        OrderDAO dao = new OrderDAO();
+        OrderService service = new OrderService();
         int orderId = 1; // replace with order ID to revert
-        boolean ok = dao.revertInventoryForOrder(orderId, 1); // 1 = admin user ID
+        // Stock only comes back once: cancelling an already cancelled order is a no-op
+        boolean ok = service.cancelOrder(orderId, 1); // 1 = admin user ID
         System.out.println(ok ? "✅ Revert successful!" : "Revert failed.");
     }
 }
@@ -0,0 +1,269 @@
+package com.println.test;
+
+import com.println.config.DBConnection;
+import com.println.config.SchemaMigrator;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Runs the schema migrations, then EXPLAINs the indexed queries the DAOs
+ * issue and checks that each table is read through the index meant for it.
+ *
+ * A plan fails when a listed table is read with any other key, when any
+ * table is read with type ALL, or when an index is walked end to end
+ * (type index) by a query without LIMIT. On a nearly empty database the
+ * optimizer prefers table scans whatever the indexes, so the checks run
+ * after seeding a few thousand generated rows in one transaction that is
+ * rolled back at the end: nothing is committed to the database.
+ *
+ * searchOrders and searchCustomers are checked in their FULLTEXT form. Their
+ * LIKE fallback for very short keywords, searchProducts and the inventory
+ * search match substrings, which no index can serve; they are not checked.
+ */
+public class TestSchemaIndexes {
+
+    private static final int SEED_ORDERS = 5000;
+    private static final int SEED_CUSTOMERS = 1000;
+    private static final int SEED_INVENTORY = 1000;
+    private static final int SEED_USERS = 300;
+    private static final int SEED_LOGS = 2000;
+    private static final String REF_PREFIX = "IDXTEST-";
+
+    private static int failures = 0;
+
+    public static void main(String[] args) {
+        System.out.println("Migrations applied: " + SchemaMigrator.migrate());
+
+        Connection conn = DBConnection.getConnection();
+        if (conn == null) {
+            System.out.println("Database not reachable — skipping EXPLAIN checks.");
+            return;
+        }
+
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        Timestamp monthAgo = new Timestamp(now.getTime() - 30L * 86_400_000L);
+        Timestamp dayAgo = new Timestamp(now.getTime() - 86_400_000L);
+        String orderPage = "SELECT o.*, c.name AS customer_name, u.username AS user_name "
+                + "FROM orders o LEFT JOIN customers c ON o.customer_id = c.customer_id "
+                + "LEFT JOIN users u ON o.user_id = u.user_id WHERE 1=1";
+
+        try (Connection c = conn) {
+            c.setAutoCommit(false);
+            try {
+                int orderId = seed(c, now);
+
+                // --- OrderDAO ---
+                explain(c, "getOrdersPage (first page)", uses("o", "idx_orders_date_id", "c", "PRIMARY", "u", "PRIMARY"),
+                        orderPage + " ORDER BY o.order_date DESC, o.order_id DESC LIMIT ?", 61);
+                explain(c, "getOrdersPage (next page)", uses("o", "idx_orders_date_id", "c", "PRIMARY", "u", "PRIMARY"),
+                        orderPage + " AND (o.order_date < ? OR (o.order_date = ? AND o.order_id < ?))"
+                        + " ORDER BY o.order_date DESC, o.order_id DESC LIMIT ?", monthAgo, monthAgo, orderId, 61);
+                explain(c, "getOrdersPage (status)", uses("o", "idx_orders_status_date_id"),
+                        orderPage + " AND o.status = ? ORDER BY o.order_date DESC, o.order_id DESC LIMIT ?",
+                        "Pending", 61);
+                explain(c, "getOrdersPage (date range)", uses("o", "idx_orders_date_id"),
+                        orderPage + " AND o.order_date >= ? AND o.order_date < ?"
+                        + " ORDER BY o.order_date DESC, o.order_id DESC LIMIT ?", monthAgo, now, 61);
+                explain(c, "getOrderById", uses("orders", "PRIMARY"),
+                        "SELECT * FROM orders WHERE order_id = ?", orderId);
+                explain(c, "getOrderByReference", uses("orders", "order_reference"),
+                        "SELECT * FROM orders WHERE order_reference = ?", REF_PREFIX + 1);
+                explain(c, "getOrderDetails", uses("order_details", "idx_order_details_order_product"),
+                        "SELECT * FROM order_details WHERE order_id = ?", orderId);
+                explain(c, "getOrderDetailsForOrders", uses("od", "idx_order_details_order_product", "p", "PRIMARY"),
+                        "SELECT od.*, p.product_name FROM order_details od "
+                        + "LEFT JOIN products p ON od.product_id = p.product_id "
+                        + "WHERE od.order_id IN (?, ?, ?) ORDER BY od.order_id, od.orderdetail_id",
+                        orderId, orderId + 1, orderId + 2);
+                explain(c, "restoreInventory lines", uses("od", "idx_order_details_order_product", "p", "PRIMARY"),
+                        "SELECT od.quantity, p.inventory_id FROM order_details od "
+                        + "JOIN products p ON p.product_id = od.product_id "
+                        + "WHERE od.order_id = ? AND p.inventory_id IS NOT NULL ORDER BY od.orderdetail_id", orderId);
+
+                // --- InventoryDAO ---
+                explain(c, "getInventoryByName", uses("inventory", "item_name"),
+                        "SELECT * FROM inventory WHERE item_name = ? LIMIT 1", REF_PREFIX + "Item 1");
+                explain(c, "getInventoryChangesSince",
+                        uses("inventory", "idx_inventory_date_updated,idx_inventory_date_added"),
+                        "SELECT * FROM inventory WHERE date_updated >= ? OR date_added >= ?", dayAgo, dayAgo);
+                explain(c, "inventory by category", uses("inventory", "idx_inventory_category"),
+                        "SELECT * FROM inventory WHERE category = ?", REF_PREFIX + "Cat 1");
+
+                // --- FULLTEXT searches ---
+                explain(c, "searchCustomers", uses("customers", "ft_customers_search"),
+                        "SELECT * FROM customers WHERE MATCH(name, email, contact_no) AGAINST(? IN BOOLEAN MODE)", "+juan*");
+                explain(c, "searchOrders (reference/remarks)", uses("orders", "ft_orders_search"),
+                        "SELECT order_id FROM orders WHERE MATCH(order_reference, remarks) AGAINST(? IN BOOLEAN MODE)", "+ord*");
+
+                // --- Dashboard and sales rollups ---
+                explain(c, "DashboardDAO.getSummary", uses("m", "PRIMARY"),
+                        "SELECT m.pending_orders, r.revenue FROM dashboard_metrics m "
+                        + "LEFT JOIN dashboard_monthly_revenue r ON r.month_start = DATE_FORMAT(CURDATE(), '%Y-%m-01') "
+                        + "WHERE m.metrics_id = 1");
+                explain(c, "SalesReportDAO by day", uses("sales_daily_orders", "PRIMARY"),
+                        "SELECT sale_date, SUM(revenue) FROM sales_daily_orders WHERE sale_date BETWEEN ? AND ? GROUP BY sale_date",
+                        monthAgo, now);
+                explain(c, "SalesReportDAO by product", uses("sales_daily_products", "PRIMARY"),
+                        "SELECT product_id, SUM(revenue) FROM sales_daily_products WHERE sale_date BETWEEN ? AND ? GROUP BY product_id",
+                        monthAgo, now);
+
+                // --- Customers, users, logs ---
+                explain(c, "customers by name", uses("customers", "idx_customers_name"),
+                        "SELECT * FROM customers WHERE name = ?", "Juan Dela Cruz 1");
+                explain(c, "UserDAO.login", uses("users", "username"),
+                        "SELECT * FROM users WHERE username = ? AND password = ? AND status = 'Active'",
+                        REF_PREFIX + "user0", "x");
+                explain(c, "SettingsPanel staff list", uses("users", "idx_users_role_created"),
+                        "SELECT username, first_name, last_name, email, contact_no FROM users "
+                        + "WHERE role = 'Staff' ORDER BY date_created DESC");
+                explain(c, "logs since", uses("logs", "idx_logs_timestamp"),
+                        "SELECT * FROM logs WHERE timestamp >= ?", dayAgo);
+
+            } finally {
+                c.rollback();
+            }
+
+        } catch (Exception e) {
+            failures++;
+            System.out.println("❌ EXPLAIN failed: " + e.getMessage());
+        }
+
+        DBConnection.closeConnection();
+        System.out.println(failures == 0 ? "\n✅ Every query uses its index." : "\n❌ " + failures + " query plan(s) miss their index.");
+    }
+
+    // table (or alias) -> expected key, in pairs
+    private static Map<String, String> uses(String... tableKeys) {
+        Map<String, String> keys = new HashMap<>();
+        for (int i = 0; i < tableKeys.length; i += 2) keys.put(tableKeys[i], tableKeys[i + 1]);
+        return keys;
+    }
+
+    private static void explain(Connection conn, String label, Map<String, String> expected,
+                                String sql, Object... params) throws Exception {
+        boolean limited = sql.toUpperCase().contains(" LIMIT ");
+        Set<String> seen = new HashSet<>();
+        try (PreparedStatement ps = conn.prepareStatement("EXPLAIN " + sql)) {
+            for (int i = 0; i < params.length; i++) ps.setObject(i + 1, params[i]);
+
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    String table = rs.getString("table");
+                    String type = rs.getString("type");
+                    String key = rs.getString("key");
+                    String plan = table + " type=" + type + " key=" + key + " extra=" + rs.getString("Extra");
+                    seen.add(table);
+
+                    boolean fullScan = "ALL".equals(type) || ("index".equals(type) && !limited);
+                    String wanted = expected.get(table);
+                    boolean wrongKey = wanted != null && !sameKeys(wanted, key);
+                    if (fullScan || wrongKey) {
+                        failures++;
+                        System.out.println("❌ " + label + ": " + plan + (wanted != null ? " (expected key=" + wanted + ")" : ""));
+                    } else {
+                        System.out.println("✅ " + label + ": " + plan);
+                    }
+                }
+            }
+        }
+        for (String table : expected.keySet()) {
+            if (!seen.contains(table)) {
+                failures++;
+                System.out.println("❌ " + label + ": no plan row for " + table + " (expected key=" + expected.get(table) + ")");
+            }
+        }
+    }
+
+    // index_merge lists several keys, in no fixed order
+    private static boolean sameKeys(String wanted, String key) {
+        if (key == null) return false;
+        return new HashSet<>(Arrays.asList(wanted.split(","))).equals(new HashSet<>(Arrays.asList(key.split(","))));
+    }
+
+    // =============================================================
+    //  Seed data (uncommitted; rolled back by main)
+    // =============================================================
+
+    /** Returns the first seeded order_id. */
+    private static int seed(Connection conn, Timestamp now) throws Exception {
+        Random random = new Random(42);
+        long day = 86_400_000L;
+
+        List<Integer> users = batch(conn, "INSERT INTO users (username, password, role, first_name, last_name, date_created) "
+                + "VALUES (?, 'x', ?, 'Seed', 'User', ?)", SEED_USERS, (ps, i) -> {
+                    ps.setString(1, REF_PREFIX + "user" + i);
+                    // Staff a minority, so (role, date_created) is selective enough to be worth using
+                    ps.setString(2, i % 10 == 0 ? "Staff" : "Admin");
+                    ps.setTimestamp(3, new Timestamp(now.getTime() - (long) (random.nextDouble() * 730 * day)));
+                });
+        List<Integer> customers = batch(conn, "INSERT INTO customers (name, email, contact_no) VALUES (?, ?, ?)", SEED_CUSTOMERS,
+                (ps, i) -> {
+                    ps.setString(1, "Juan Dela Cruz " + i);
+                    ps.setString(2, "juan" + i + "@example.com");
+                    ps.setString(3, String.format("09%09d", i));
+                });
+        List<Integer> inventory = batch(conn, "INSERT INTO inventory (item_name, category, unit, quantity, reorder_level, date_added, date_updated) "
+                + "VALUES (?, ?, 'pcs', 100, 10, ?, ?)", SEED_INVENTORY, (ps, i) -> {
+                    Timestamp t = new Timestamp(now.getTime() - (long) (random.nextDouble() * 365 * day));
+                    ps.setString(1, REF_PREFIX + "Item " + i);
+                    ps.setString(2, REF_PREFIX + "Cat " + (i % 50));
+                    ps.setTimestamp(3, t);
+                    ps.setTimestamp(4, t);
+                });
+        List<Integer> products = batch(conn, "INSERT INTO products (product_name, price, unit, inventory_id) VALUES (?, 10, 'pcs', ?)", 50,
+                (ps, i) -> {
+                    ps.setString(1, REF_PREFIX + "Product " + i);
+                    ps.setInt(2, inventory.get(i));
+                });
+        List<Integer> orders = batch(conn, "INSERT INTO orders (customer_id, user_id, order_date, status, total_amount, order_reference, remarks) "
+                + "VALUES (?, ?, ?, ?, 100, ?, 'seeded')", SEED_ORDERS, (ps, i) -> {
+                    ps.setInt(1, customers.get(random.nextInt(customers.size())));
+                    ps.setInt(2, users.get(random.nextInt(users.size())));
+                    ps.setTimestamp(3, new Timestamp(now.getTime() - (long) (random.nextDouble() * 730 * day)));
+                    ps.setString(4, i % 10 == 0 ? "Pending" : "Completed");
+                    ps.setString(5, REF_PREFIX + i);
+                });
+        batch(conn, "INSERT INTO order_details (order_id, product_id, quantity, unit_price) VALUES (?, ?, 1, 10)", SEED_ORDERS,
+                (ps, i) -> {
+                    ps.setInt(1, orders.get(i));
+                    ps.setInt(2, products.get(random.nextInt(products.size())));
+                });
+        batch(conn, "INSERT INTO logs (user_id, action, description, timestamp) VALUES (?, 'Seed', 'seeded', ?)", SEED_LOGS,
+                (ps, i) -> {
+                    ps.setInt(1, users.get(random.nextInt(users.size())));
+                    ps.setTimestamp(2, new Timestamp(now.getTime() - (long) (random.nextDouble() * 365 * day)));
+                });
+        return orders.get(0);
+    }
+
+    private interface Row {
+        void bind(PreparedStatement ps, int i) throws Exception;
+    }
+
+    // Inserts count rows and returns their generated ids
+    private static List<Integer> batch(Connection conn, String sql, int count, Row row) throws Exception {
+        List<Integer> ids = new ArrayList<>();
+        try (PreparedStatement ps = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            for (int i = 0; i < count; i++) {
+                row.bind(ps, i);
+                ps.addBatch();
+            }
+            ps.executeBatch();
+            try (ResultSet keys = ps.getGeneratedKeys()) {
+                while (keys.next()) ids.add(keys.getInt(1));
+            }
+        }
+        return ids;
+    }
+}
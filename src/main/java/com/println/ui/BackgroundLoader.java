@@ -0,0 +1,123 @@
+package com.println.ui;
+
+import java.awt.Component;
+import java.awt.Cursor;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+import javax.swing.SwingUtilities;
+import javax.swing.SwingWorker;
+
+/**
+ *  Runs a panel's data queries off the Event Dispatch Thread.
+ *
+ *  Each panel (or each independent list inside a panel) owns one loader.
+ *  Starting a load cancels the one still in flight, and a result that
+ *  arrives after it has been superseded is dropped, so a fast typist only
+ *  ever sees the rows for the latest keystroke. While a load is running the
+ *  owner shows a wait cursor and the optional loading listener is told.
+ *  Results and errors are always delivered on the EDT.
+ */
+public class BackgroundLoader {
+    /** The query; runs on a worker thread, so it must not touch Swing components. */
+    public interface Query<T> {
+        T load() throws Exception;
+    }
+
+    /**
+     *  Optional extra for a Query: called on the EDT when the load is
+     *  superseded, e.g. to Statement.cancel() a running JDBC query. Must not
+     *  block: Connector/J's cancel() connects to the server to send KILL QUERY,
+     *  so hand that call to another thread.
+     */
+    public interface Cancellable {
+        void cancel();
+    }
+
+    private final Component owner;
+    private Consumer<Boolean> loadingListener;
+
+    // Only touched on the EDT
+    private SwingWorker<?, ?> current;
+    private Query<?> currentQuery;
+    private long generation;
+
+    public BackgroundLoader(Component owner) {
+        this.owner = owner;
+    }
+
+    /** Called with true when a load starts and false when the latest one finishes. */
+    public void setLoadingListener(Consumer<Boolean> loadingListener) {
+        this.loadingListener = loadingListener;
+    }
+
+    /**
+     *  Runs {@code query} in the background, then hands its result to
+     *  {@code onResult} on the EDT. Any load already running is cancelled.
+     *  {@code onError} may be null, in which case errors are only logged.
+     */
+    public <T> void load(Query<T> query, Consumer<T> onResult, Consumer<Exception> onError) {
+        if (!SwingUtilities.isEventDispatchThread()) {
+            SwingUtilities.invokeLater(() -> load(query, onResult, onError));
+            return;
+        }
+
+        cancel();
+        final long myGeneration = ++generation;
+
+        SwingWorker<T, Void> worker = new SwingWorker<T, Void>() {
+            @Override
+            protected T doInBackground() throws Exception {
+                return query.load();
+            }
+
+            @Override
+            protected void done() {
+                if (myGeneration != generation) return; // superseded by a newer load
+
+                current = null;
+                currentQuery = null;
+                setLoading(false);
+                if (isCancelled()) return;
+
+                try {
+                    onResult.accept(get());
+                } catch (InterruptedException | CancellationException e) {
+                    // load was cancelled; nothing to show
+                } catch (ExecutionException e) {
+                    Exception cause = e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+                    System.err.println("Error loading data: " + cause.getMessage());
+                    if (onError != null) onError.accept(cause);
+                }
+            }
+        };
+
+        current = worker;
+        currentQuery = query;
+        setLoading(true);
+        worker.execute();
+    }
+
+    /** Cancels the load in flight, if any; its result will not be delivered. */
+    public void cancel() {
+        if (current != null) {
+            current.cancel(true);
+            if (currentQuery instanceof Cancellable) ((Cancellable) currentQuery).cancel();
+            current = null;
+            currentQuery = null;
+            generation++;
+            setLoading(false);
+        }
+    }
+
+    public boolean isLoading() {
+        return current != null;
+    }
+
+    private void setLoading(boolean loading) {
+        if (owner != null) {
+            owner.setCursor(loading ? Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR) : null);
+        }
+        if (loadingListener != null) loadingListener.accept(loading);
+    }
+}
@@ -0,0 +1,437 @@
+package com.println.ui;
+
+import com.println.config.DBConnection;
+import java.awt.AWTEvent;
+import java.awt.BorderLayout;
+import java.awt.Component;
+import java.awt.Dimension;
+import java.awt.EventQueue;
+import java.awt.Font;
+import java.awt.KeyboardFocusManager;
+import java.awt.Toolkit;
+import java.awt.Window;
+import java.awt.event.InputEvent;
+import java.awt.event.KeyEvent;
+import java.io.File;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.FileHandler;
+import java.util.logging.Formatter;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+import javax.swing.JDialog;
+import javax.swing.JScrollPane;
+import javax.swing.JSplitPane;
+import javax.swing.JTable;
+import javax.swing.JTextArea;
+import javax.swing.ListSelectionModel;
+import javax.swing.SwingUtilities;
+import javax.swing.table.DefaultTableModel;
+
+/**
+ *  Finds out what freezes the UI.
+ *
+ *  Every AWT event is timed by a thin EventQueue pushed on top of the system
+ *  queue. While an event has held the EDT for half the threshold, a
+ *  background thread samples the EDT's stack every SAMPLE_MS; if the event
+ *  ends up taking longer than diagnostics.edt.thresholdMs (default 250 ms)
+ *  it is logged as a stall, attributed to the blocking frame seen most often
+ *  in the samples: the innermost com.println method and the library call it
+ *  was stuck in (JDBC, JasperReports, file or network I/O, a lock, ...).
+ *
+ *  Stalls go to a rolling log (edt-stalls.N.log in diagnostics.edt.logDir,
+ *  default logs/, 5 x 1 MB) and are summarised per blocking frame in a
+ *  dialog opened with Ctrl+Shift+D on any screen or from SettingsPanel.
+ *  Time spent inside a modal dialog's own event loop is not counted against
+ *  the event that opened it.
+ */
+public final class EdtWatchdog {
+    /** Stalls grouped by blocking frame, for the summary dialog. */
+    public static final class StallSummary {
+        private final String blockingFrame;
+        private int count;
+        private long totalMillis;
+        private long maxMillis;
+        private LocalDateTime lastSeen;
+        private String lastEvent;
+        private String lastStack;
+
+        StallSummary(String blockingFrame) {
+            this.blockingFrame = blockingFrame;
+        }
+
+        public String getBlockingFrame() { return blockingFrame; }
+        public int getCount() { return count; }
+        public long getTotalMillis() { return totalMillis; }
+        public long getMaxMillis() { return maxMillis; }
+        public LocalDateTime getLastSeen() { return lastSeen; }
+        public String getLastEvent() { return lastEvent; }
+        public String getLastStack() { return lastStack; }
+    }
+
+    private static final long DEFAULT_THRESHOLD_MS = 250L;
+    private static final long SAMPLE_MS = 50L;
+    private static final int LOG_LIMIT_BYTES = 1024 * 1024;
+    private static final int LOG_FILES = 5;
+    private static final int STACK_DEPTH = 40;
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private static EdtWatchdog instance;
+
+    private final long thresholdNanos;
+    private final Logger log;
+    private final ScheduledExecutorService sampler;
+    private final ExecutorService writer;
+
+    // Current dispatch segment, published by the EDT for the sampler thread
+    private volatile Thread edt;
+    private volatile long segmentStart;     // 0 when the EDT is idle
+    private volatile long segmentSeq;
+
+    // Only touched on the EDT: events being dispatched, innermost first (modal loops nest)
+    private final ArrayDeque<AWTEvent> dispatching = new ArrayDeque<>();
+
+    // Samples of the current segment; guarded by this
+    private long sampledSeq = -1;
+    private final List<StackTraceElement[]> samples = new ArrayList<>();
+
+    private final Map<String, StallSummary> summaries = new LinkedHashMap<>(); // guarded by itself
+
+    private EdtWatchdog(long thresholdMillis, Logger log) {
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMillis);
+        this.log = log;
+        this.sampler = Executors.newSingleThreadScheduledExecutor(r -> daemon(r, "edt-watchdog"));
+        this.writer = Executors.newSingleThreadExecutor(r -> daemon(r, "edt-watchdog-log"));
+    }
+
+    /** Starts watching the EDT; later calls do nothing. Call once from main(). */
+    public static synchronized void install() {
+        if (instance != null) return;
+
+        long threshold = DEFAULT_THRESHOLD_MS;
+        String logDir = "logs";
+        try {
+            String v = DBConnection.getConfig().getProperty("diagnostics.edt.thresholdMs");
+            if (v != null && !v.trim().isEmpty()) threshold = Long.parseLong(v.trim());
+            logDir = DBConnection.getConfig().getProperty("diagnostics.edt.logDir", logDir).trim();
+        } catch (Exception e) {
+            System.err.println("Using default EDT watchdog settings: " + e.getMessage());
+        }
+
+        instance = new EdtWatchdog(Math.max(50L, threshold), openLog(logDir));
+        instance.start();
+    }
+
+    /** Opens the per-frame stall summary; does nothing if the watchdog was never installed. */
+    public static void showSummary(Component parent) {
+        EdtWatchdog w;
+        synchronized (EdtWatchdog.class) {
+            w = instance;
+        }
+        if (w != null) w.showSummaryDialog(parent);
+    }
+
+    private void start() {
+        Toolkit.getDefaultToolkit().getSystemEventQueue().push(new TimingEventQueue());
+        sampler.scheduleWithFixedDelay(this::sample, SAMPLE_MS, SAMPLE_MS, TimeUnit.MILLISECONDS);
+
+        KeyboardFocusManager.getCurrentKeyboardFocusManager().addKeyEventDispatcher(e -> {
+            if (e.getID() == KeyEvent.KEY_PRESSED && e.getKeyCode() == KeyEvent.VK_D
+                    && (e.getModifiersEx() & (InputEvent.CTRL_DOWN_MASK | InputEvent.SHIFT_DOWN_MASK))
+                       == (InputEvent.CTRL_DOWN_MASK | InputEvent.SHIFT_DOWN_MASK)) {
+                showSummaryDialog(e.getComponent());
+                return true;
+            }
+            return false;
+        });
+    }
+
+    // =============================================================
+    //  EDT side
+    // =============================================================
+
+    private final class TimingEventQueue extends EventQueue {
+        @Override
+        protected void dispatchEvent(AWTEvent event) {
+            edt = Thread.currentThread();
+            if (!dispatching.isEmpty()) endSegment(dispatching.peek()); // a modal loop took over
+            dispatching.push(event);
+            beginSegment();
+            try {
+                super.dispatchEvent(event);
+            } finally {
+                endSegment(dispatching.pop());
+                if (!dispatching.isEmpty()) beginSegment(); // back in the outer event
+            }
+        }
+    }
+
+    private void beginSegment() {
+        segmentSeq++;
+        segmentStart = System.nanoTime();
+    }
+
+    private void endSegment(AWTEvent event) {
+        long start = segmentStart;
+        segmentStart = 0;
+        if (start == 0) return;
+
+        long nanos = System.nanoTime() - start;
+        if (nanos < thresholdNanos) return;
+
+        List<StackTraceElement[]> stacks;
+        synchronized (this) {
+            stacks = sampledSeq == segmentSeq ? new ArrayList<>(samples) : new ArrayList<>();
+        }
+        String description = describe(event);
+        long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+        // Attribution and file I/O happen off the EDT
+        writer.execute(() -> recordStall(description, millis, stacks));
+    }
+
+    // =============================================================
+    //  Sampler thread
+    // =============================================================
+
+    private void sample() {
+        Thread t = edt;
+        long start = segmentStart;
+        long seq = segmentSeq;
+        if (t == null || start == 0 || System.nanoTime() - start < thresholdNanos / 2) return;
+
+        StackTraceElement[] stack = t.getStackTrace();
+        // The segment may have ended while we were sampling
+        if (segmentStart != start || segmentSeq != seq) return;
+
+        synchronized (this) {
+            if (sampledSeq != seq) {
+                sampledSeq = seq;
+                samples.clear();
+            }
+            samples.add(stack);
+        }
+    }
+
+    // =============================================================
+    //  Attribution, log, summary
+    // =============================================================
+
+    private void recordStall(String event, long millis, List<StackTraceElement[]> stacks) {
+        // The blocking frame is the one seen in most samples
+        Map<String, Integer> votes = new HashMap<>();
+        Map<String, StackTraceElement[]> example = new HashMap<>();
+        for (StackTraceElement[] stack : stacks) {
+            String frame = blockingFrame(stack);
+            votes.merge(frame, 1, Integer::sum);
+            example.putIfAbsent(frame, stack);
+        }
+        String frame = "(not sampled: stall ended between samples)";
+        int best = 0;
+        for (Map.Entry<String, Integer> v : votes.entrySet()) {
+            if (v.getValue() > best) {
+                best = v.getValue();
+                frame = v.getKey();
+            }
+        }
+        String stack = example.containsKey(frame) ? format(example.get(frame)) : "";
+        LocalDateTime now = LocalDateTime.now();
+
+        synchronized (summaries) {
+            StallSummary s = summaries.computeIfAbsent(frame, StallSummary::new);
+            s.count++;
+            s.totalMillis += millis;
+            s.maxMillis = Math.max(s.maxMillis, millis);
+            s.lastSeen = now;
+            s.lastEvent = event;
+            s.lastStack = stack;
+        }
+
+        if (log != null) {
+            log.warning(now.format(TIME_FORMAT) + " EDT stall " + millis + " ms in " + event
+                    + "\n  blocked at: " + frame
+                    + " (" + best + "/" + stacks.size() + " samples)\n" + stack);
+        }
+    }
+
+    // "OrderDAO.getOrdersPage(OrderDAO.java:231) -> ClientPreparedStatement.executeQuery [JDBC]"
+    static String blockingFrame(StackTraceElement[] stack) {
+        int app = -1;
+        for (int i = 0; i < stack.length; i++) {
+            String cls = stack[i].getClassName();
+            if (cls.startsWith("com.println.") && !cls.startsWith(EdtWatchdog.class.getName())
+                    && !cls.startsWith("com.println.config.ConnectionPool")
+                    && !cls.startsWith("com.println.config.TimedStatement")) {
+                app = i;
+                break;
+            }
+        }
+        if (app < 0) {
+            return stack.length > 0 ? shortName(stack[0]) + " [Swing/AWT]" : "(empty stack)";
+        }
+
+        String appFrame = shortName(stack[app]) + "(" + stack[app].getFileName() + ":" + stack[app].getLineNumber() + ")";
+        if (app == 0) return appFrame + " [CPU]";
+
+        // Skip reflection/proxy frames to reach the API the app actually called
+        int called = app - 1;
+        while (called > 0 && isPlumbing(stack[called].getClassName())) called--;
+        return appFrame + " -> " + shortName(stack[called]) + " [" + category(stack, app) + "]";
+    }
+
+    private static String category(StackTraceElement[] stack, int app) {
+        String top = stack[0].getClassName() + "." + stack[0].getMethodName();
+        if (top.startsWith("java.lang.Thread.sleep")) return "sleep";
+        if (top.startsWith("jdk.internal.misc.Unsafe.park") || top.startsWith("java.lang.Object.wait")) return "lock/wait";
+        for (int i = 0; i < app; i++) {
+            String cls = stack[i].getClassName();
+            if (cls.startsWith("com.mysql.") || cls.startsWith("java.sql.")) return "JDBC";
+            if (cls.startsWith("net.sf.jasperreports.")) return "JasperReports";
+        }
+        for (int i = 0; i < app; i++) {
+            String cls = stack[i].getClassName();
+            if (cls.startsWith("java.io.") || cls.startsWith("java.net.") || cls.startsWith("sun.nio.")
+                    || cls.startsWith("java.nio.") || cls.startsWith("javax.imageio.")) return "I/O";
+        }
+        return "CPU";
+    }
+
+    private static boolean isPlumbing(String cls) {
+        return cls.startsWith("jdk.internal.reflect.") || cls.startsWith("java.lang.reflect.")
+                || cls.startsWith("jdk.proxy") || cls.startsWith("com.sun.proxy.")
+                || cls.startsWith("com.println.config.");
+    }
+
+    private static String shortName(StackTraceElement e) {
+        String cls = e.getClassName();
+        return cls.substring(cls.lastIndexOf('.') + 1) + "." + e.getMethodName();
+    }
+
+    private static String format(StackTraceElement[] stack) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < stack.length && i < STACK_DEPTH; i++) {
+            sb.append("    at ").append(stack[i]).append('\n');
+        }
+        if (stack.length > STACK_DEPTH) sb.append("    ... ").append(stack.length - STACK_DEPTH).append(" more\n");
+        return sb.toString();
+    }
+
+    private static String describe(AWTEvent event) {
+        String source = event.getSource() != null ? event.getSource().getClass().getSimpleName() : "?";
+        String name = event.getClass().getSimpleName();
+        if (event instanceof java.awt.event.InvocationEvent) {
+            // paramString() names the Runnable: "...,runnable=com.println.ui.Staff.HomeScreen$$Lambda$42/0x..@1a2b,..."
+            String params = event.paramString();
+            int at = params.indexOf("runnable=");
+            if (at >= 0) {
+                String runnable = params.substring(at + 9);
+                int end = runnable.length();
+                for (String stop : new String[]{",", "@", "$$Lambda", "/"}) {
+                    int i = runnable.indexOf(stop);
+                    if (i > 0 && i < end) end = i;
+                }
+                return "invokeLater from " + runnable.substring(runnable.lastIndexOf('.', end - 1) + 1, end);
+            }
+            return name;
+        }
+        return name + " on " + source;
+    }
+
+    private static Logger openLog(String dir) {
+        try {
+            File folder = new File(dir);
+            if (!folder.isDirectory() && !folder.mkdirs()) {
+                throw new IOException("cannot create " + folder.getAbsolutePath());
+            }
+            FileHandler handler = new FileHandler(new File(folder, "edt-stalls.%g.log").getPath(),
+                    LOG_LIMIT_BYTES, LOG_FILES, true);
+            handler.setFormatter(new Formatter() {
+                @Override
+                public String format(LogRecord record) {
+                    return record.getMessage() + "\n";
+                }
+            });
+            Logger logger = Logger.getLogger("com.println.ui.EdtWatchdog");
+            logger.setUseParentHandlers(false);
+            logger.addHandler(handler);
+            logger.setLevel(Level.WARNING);
+            return logger;
+        } catch (IOException | RuntimeException e) {
+            System.err.println("EDT stall log disabled: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static Thread daemon(Runnable r, String name) {
+        Thread t = new Thread(r, name);
+        t.setDaemon(true);
+        return t;
+    }
+
+    // =============================================================
+    //  Summary dialog
+    // =============================================================
+
+    private List<StallSummary> snapshot() {
+        synchronized (summaries) {
+            List<StallSummary> list = new ArrayList<>(summaries.values());
+            list.sort((a, b) -> Long.compare(b.totalMillis, a.totalMillis));
+            return list;
+        }
+    }
+
+    private void showSummaryDialog(Component parent) {
+        List<StallSummary> stalls = snapshot();
+
+        DefaultTableModel model = new DefaultTableModel(
+                new String[]{"Blocking frame", "Stalls", "Total ms", "Max ms", "Last seen", "Last event"}, 0) {
+            @Override
+            public boolean isCellEditable(int row, int col) {
+                return false;
+            }
+        };
+        for (StallSummary s : stalls) {
+            model.addRow(new Object[]{s.blockingFrame, s.count, s.totalMillis, s.maxMillis,
+                    s.lastSeen.format(TIME_FORMAT), s.lastEvent});
+        }
+
+        JTable table = new JTable(model);
+        table.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        table.getColumnModel().getColumn(0).setPreferredWidth(460);
+        table.getColumnModel().getColumn(5).setPreferredWidth(240);
+
+        JTextArea stack = new JTextArea(stalls.isEmpty()
+                ? "No stalls over " + TimeUnit.NANOSECONDS.toMillis(thresholdNanos) + " ms recorded yet." : "");
+        stack.setEditable(false);
+        stack.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
+        table.getSelectionModel().addListSelectionListener(e -> {
+            int row = table.getSelectedRow();
+            if (row >= 0) stack.setText(stalls.get(table.convertRowIndexToModel(row)).lastStack);
+            stack.setCaretPosition(0);
+        });
+        if (!stalls.isEmpty()) table.setRowSelectionInterval(0, 0);
+
+        JSplitPane split = new JSplitPane(JSplitPane.VERTICAL_SPLIT, new JScrollPane(table), new JScrollPane(stack));
+        split.setResizeWeight(0.4);
+
+        Window owner = parent instanceof Window ? (Window) parent
+                : parent != null ? SwingUtilities.getWindowAncestor(parent) : null;
+        JDialog dialog = new JDialog(owner, "UI Stalls (EDT held > "
+                + TimeUnit.NANOSECONDS.toMillis(thresholdNanos) + " ms)", java.awt.Dialog.ModalityType.MODELESS);
+        dialog.getContentPane().add(split, BorderLayout.CENTER);
+        dialog.setSize(new Dimension(1100, 650));
+        dialog.setLocationRelativeTo(parent);
+        dialog.setVisible(true);
+    }
+}
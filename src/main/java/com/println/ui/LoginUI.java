@@ -1,7 +1,10 @@
 package com.println.ui;
 
+import com.println.config.SchemaMigrator;
 import com.println.dao.UserDAO;
 import com.println.model.User;
+import com.println.service.ReportService;
+import com.println.service.ReportTemplateRegistry;
 import com.println.ui.Staff.HomeScreen;
 import com.println.ui.admin.*;
 import java.awt.*;
@@ -16,6 +19,14 @@ public class LoginUI {
     private final UserDAO userDAO = new UserDAO();
 
     public static void main(String[] args) {
+        // Bring the schema (columns, indexes) up to date before any DAO runs
+        SchemaMigrator.migrate();
+
+        // Log any event that holds the EDT too long, with the code it was stuck in
+        EdtWatchdog.install();
+
+        // Compile (or load the cached) receipt template while the user logs in
+        ReportTemplateRegistry.preloadAsync(ReportService.RECEIPT_TEMPLATE);
         SwingUtilities.invokeLater(() -> new LoginUI().showUI());
     }
 
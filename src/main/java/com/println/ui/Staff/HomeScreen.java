@@ -1,20 +1,26 @@
 package com.println.ui.Staff;
 
 import com.println.dao.OrderDAO;
-import com.println.dao.ProductDAO;
 import com.println.model.Order;
+import com.println.model.OrderCompletionResult;
 import com.println.model.OrderDetail;
-import com.println.model.Product;
+import com.println.model.OrderFilter;
+import com.println.model.OrderPage;
 import com.println.model.User;
 import com.println.service.OrderService;
-import com.println.ui.WrapLayout;
+import com.println.service.ReportService;
+import com.println.ui.BackgroundLoader;
+import com.println.ui.VirtualCardGrid;
 import java.awt.*;
 import java.awt.geom.RoundRectangle2D;
 import java.awt.image.BufferedImage;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import javax.swing.*;
 import javax.swing.border.*;
 
@@ -31,15 +37,32 @@ public class HomeScreen extends JFrame {
     private static final Font SUB_TITLE = new Font("Segoe UI", Font.BOLD, 16);
     private static final Font REGULAR = new Font("Segoe UI", Font.PLAIN, 15);
 
-    private JPanel cardsPanel;
+    private static final int CARD_WIDTH = 380;
+    private static final int CARD_HEIGHT = 380;
+    private static final DateTimeFormatter CARD_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    private VirtualCardGrid<Order> cardsPanel;
     private JTextField searchField;
     private JComboBox<String> cbStatusFilter;
 
     private final OrderDAO orderDAO = new OrderDAO();
     private final OrderService orderService = new OrderService();
-    private final ProductDAO productDAO = new ProductDAO();
+    private final BackgroundLoader ordersLoader = new BackgroundLoader(this);
+
+    // Orders are fetched PAGE_SIZE at a time as the user scrolls (keyset paging)
+    private static final int PAGE_SIZE = 60;
+    // Keystrokes within this window are coalesced into one search
+    private static final int SEARCH_DEBOUNCE_MS = 250;
 
     private List<Order> loadedOrders = new ArrayList<>();
+    private Map<Integer, List<OrderDetail>> loadedDetails = new HashMap<>();
+
+    // Paging state for the rows in loadedOrders; only touched on the EDT
+    private OrderFilter activeFilter;
+    private LocalDateTime nextAfterDate;
+    private int nextAfterId;
+    private boolean hasMoreOrders;
+    private Timer searchDebounce;
 
     private final int DEFAULT_USER_ID = 1;
 
@@ -80,7 +103,17 @@ public class HomeScreen extends JFrame {
 
         main.add(buildControlsRow(), BorderLayout.NORTH);
 
-        cardsPanel = new JPanel(new WrapLayout(FlowLayout.LEFT, 18, 18)) {
+        cardsPanel = new VirtualCardGrid<Order>(CARD_WIDTH, CARD_HEIGHT, 18, new VirtualCardGrid.CardBinder<Order>() {
+            @Override
+            public JComponent createCard() {
+                return new OrderCard();
+            }
+
+            @Override
+            public void bind(JComponent card, Order order) {
+                ((OrderCard) card).bind(order);
+            }
+        }) {
 
             @Override
             protected void paintComponent(Graphics g) {
@@ -111,6 +144,7 @@ public class HomeScreen extends JFrame {
         };
 
         cardsPanel.setBackground(Color.WHITE);
+        cardsPanel.setNearEndListener(this::loadNextPage);
         JScrollPane sp = new JScrollPane(cardsPanel, JScrollPane.VERTICAL_SCROLLBAR_AS_NEEDED,
                 JScrollPane.HORIZONTAL_SCROLLBAR_NEVER);
         sp.getVerticalScrollBar().setUnitIncrement(14);
@@ -272,15 +306,17 @@ public class HomeScreen extends JFrame {
             }
         });
 
+        searchDebounce = new Timer(SEARCH_DEBOUNCE_MS, e -> applyFilters());
+        searchDebounce.setRepeats(false);
         searchField.getDocument().addDocumentListener(new javax.swing.event.DocumentListener() {
             @Override
-            public void insertUpdate(javax.swing.event.DocumentEvent e) { applyFilters(); }
+            public void insertUpdate(javax.swing.event.DocumentEvent e) { searchDebounce.restart(); }
 
             @Override
-            public void removeUpdate(javax.swing.event.DocumentEvent e) { applyFilters(); }
+            public void removeUpdate(javax.swing.event.DocumentEvent e) { searchDebounce.restart(); }
 
             @Override
-            public void changedUpdate(javax.swing.event.DocumentEvent e) { applyFilters(); }
+            public void changedUpdate(javax.swing.event.DocumentEvent e) { searchDebounce.restart(); }
         });
 
         cbStatusFilter = new JComboBox<>(new String[]{"All", "Pending", "Completed", "Cancelled"});
@@ -323,12 +359,62 @@ public class HomeScreen extends JFrame {
         b.setFocusPainted(false);
     }
 
+    // Resets the grid and fetches the first page for the current search/status filter
     private void loadOrdersFromDB() {
-        try {
-            loadedOrders = orderDAO.getAllOrders();
-            applyFilters();
-        } catch (Exception e) {
-            JOptionPane.showMessageDialog(this, "Failed to load orders: " + e.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+        OrderFilter filter = currentFilter();
+        ordersLoader.load(() -> fetchPage(filter, null, 0), page -> {
+            activeFilter = filter;
+            loadedOrders = new ArrayList<>(page.orders);
+            loadedDetails = page.details;
+            nextAfterDate = page.lastDate;
+            nextAfterId = page.lastId;
+            hasMoreOrders = page.hasMore;
+            // Only the backing list changes; the grid re-binds the cards that are on screen
+            cardsPanel.setItems(loadedOrders);
+        }, e -> JOptionPane.showMessageDialog(this, "Failed to load orders: " + e.getMessage(), "Error", JOptionPane.ERROR_MESSAGE));
+    }
+
+    // Called by the grid as the user scrolls near the bottom
+    private void loadNextPage() {
+        if (!hasMoreOrders || activeFilter == null || ordersLoader.isLoading()) return;
+        OrderFilter filter = activeFilter;
+        LocalDateTime afterDate = nextAfterDate;
+        int afterId = nextAfterId;
+        ordersLoader.load(() -> fetchPage(filter, afterDate, afterId), page -> {
+            loadedOrders.addAll(page.orders);
+            loadedDetails.putAll(page.details);
+            nextAfterDate = page.lastDate;
+            nextAfterId = page.lastId;
+            hasMoreOrders = page.hasMore;
+            cardsPanel.addItems(page.orders);
+        }, e -> hasMoreOrders = false);
+    }
+
+    // Runs on the loader's worker thread
+    private LoadedPage fetchPage(OrderFilter filter, LocalDateTime afterDate, int afterId) {
+        OrderPage page = orderDAO.getOrdersPage(filter, afterDate, afterId, PAGE_SIZE);
+
+        // Details + product names for the page in one bulk read, not one query per card
+        List<Integer> ids = new ArrayList<>(page.getOrders().size());
+        for (Order o : page.getOrders()) ids.add(o.getOrderId());
+
+        return new LoadedPage(page, orderDAO.getOrderDetailsForOrders(ids));
+    }
+
+    // One page of orders and their details, fetched together by the background loader
+    private static class LoadedPage {
+        final List<Order> orders;
+        final Map<Integer, List<OrderDetail>> details;
+        final LocalDateTime lastDate;
+        final int lastId;
+        final boolean hasMore;
+
+        LoadedPage(OrderPage page, Map<Integer, List<OrderDetail>> details) {
+            this.orders = page.getOrders();
+            this.details = new HashMap<>(details);
+            this.lastDate = page.getLastOrderDate();
+            this.lastId = page.getLastOrderId();
+            this.hasMore = page.hasMore();
         }
     }
 
@@ -336,307 +422,322 @@ public class HomeScreen extends JFrame {
         SwingUtilities.invokeLater(this::loadOrdersFromDB);
     }
 
+    // Filtering happens in SQL (OrderDAO.getOrdersPage), so a new filter means a fresh first page
     private void applyFilters() {
-        String kw = searchField.getText() != null ? searchField.getText().trim().toLowerCase() : "";
-        String statusFilter = (String) cbStatusFilter.getSelectedItem();
-
-        List<Order> filtered = new ArrayList<>();
-        for (Order o : loadedOrders) {
-            boolean matches = true;
-            if (!kw.isEmpty()) {
-                String ref = safeString(o.getOrderReference()).toLowerCase();
-                String cust = safeString(o.getCustomerName()).toLowerCase();
-                String date = formatDateTime(o.getOrderDate()).toLowerCase();
-                if (!(ref.contains(kw) || cust.contains(kw) || date.contains(kw))) {
-                    matches = false;
-                }
-            }
-            if (statusFilter != null && !"All".equalsIgnoreCase(statusFilter)) {
-                if (!statusFilter.equalsIgnoreCase(safeString(o.getStatus()))) {
-                    matches = false;
+        searchDebounce.stop();
+        loadOrdersFromDB();
+    }
+
+    private OrderFilter currentFilter() {
+        OrderFilter filter = new OrderFilter();
+        filter.setKeyword(searchField.getText() != null ? searchField.getText().trim() : "");
+        filter.setStatus((String) cbStatusFilter.getSelectedItem());
+        return filter;
+    }
+
+    // Completion keeps the existing report-driven message for short stock
+    private void completeOrder(Order order) {
+        int ok = JOptionPane.showConfirmDialog(this,
+                "Mark order " + safeString(order.getOrderReference()) + " as Completed?",
+                "Confirm Complete",
+                JOptionPane.YES_NO_OPTION);
+        if (ok == JOptionPane.YES_OPTION) {
+            OrderCompletionResult result = orderService.completeOrderWithReport(order.getOrderId(), DEFAULT_USER_ID);
+            if (result.isSuccess()) {
+                JOptionPane.showMessageDialog(this, "Order completed.");
+                loadOrdersFromDB();
+            } else {
+                StringBuilder msg = new StringBuilder("Unable to complete order.\n")
+                        .append(safeString(result.getMessage()));
+                for (OrderCompletionResult.LineResult line : result.getLines(OrderCompletionResult.LineStatus.INSUFFICIENT_STOCK)) {
+                    msg.append("\n• ").append(line.getProductName() != null ? line.getProductName() : "Product ID " + line.getProductId())
+                       .append(" — needs ").append(line.getQuantity());
                 }
+                JOptionPane.showMessageDialog(this, msg.toString(), "Error", JOptionPane.ERROR_MESSAGE);
             }
-            if (matches) filtered.add(o);
         }
+    }
 
-        cardsPanel.removeAll();
-        for (Order o : filtered) {
-            cardsPanel.add(buildOrderCard(o));
+    private void cancelOrder(Order order) {
+        int ok = JOptionPane.showConfirmDialog(this,
+                "Cancel order " + safeString(order.getOrderReference()) + " ?",
+                "Confirm Cancel",
+                JOptionPane.YES_NO_OPTION);
+        if (ok == JOptionPane.YES_OPTION) {
+            boolean cancelled = orderService.cancelOrder(order.getOrderId(), DEFAULT_USER_ID);
+            if (cancelled) {
+                JOptionPane.showMessageDialog(this, "Order cancelled.");
+                loadOrdersFromDB();
+            }
         }
-        cardsPanel.revalidate();
-        cardsPanel.repaint();
     }
 
-    private JPanel buildOrderCard(Order order) {
-        // Fetch order details
-        List<OrderDetail> details = orderDAO.getOrderDetails(order.getOrderId());
-
-        // Build summary string (multi-line)
-        StringBuilder itemsSummary = new StringBuilder("Items:\n");
-
-        for (OrderDetail d : details) {
-
-            // Fetch product name
-            Product p = productDAO.getProductById(d.getProductId());
-            String productName = (p != null) ? p.getProductName() : ("Product ID " + d.getProductId());
-
-            itemsSummary.append("• ")
-                    .append(productName)
-                    .append(" — Qty ").append(d.getQuantity())
-                    .append("\n");
+    private void deleteOrder(Order order) {
+        int ok = JOptionPane.showConfirmDialog(this,
+                "Permanently delete order?",
+                "Confirm Delete",
+                JOptionPane.YES_NO_OPTION);
+        if (ok == JOptionPane.YES_OPTION) {
+            boolean removed = orderDAO.deleteOrder(order.getOrderId());
+            if (removed) {
+                JOptionPane.showMessageDialog(this, "Order deleted.");
+                loadOrdersFromDB();
+            }
+        }
     }
 
-        RoundedPanel card = new RoundedPanel(10, Color.WHITE);
-        card.setPreferredSize(new Dimension(380, 380));
-        card.setLayout(new BorderLayout());
-        card.setBorder(new CompoundBorder(new LineBorder(BORDER_YELLOW, 3, true), new EmptyBorder(0, 0, 0, 0)));
-
-        // TOP SECTION (Order No + Status + Menu)
-        JPanel top = new JPanel(new BorderLayout());
-        top.setPreferredSize(new Dimension(360, 86));
-        top.setBackground(HEADER_YELLOW);
-        top.setBorder(new EmptyBorder(12, 16, 12, 16));
-
-        JPanel leftTop = new JPanel();
-        leftTop.setLayout(new BoxLayout(leftTop, BoxLayout.Y_AXIS));
-        leftTop.setOpaque(false);
-
-        JLabel lblOrder = new JLabel("Order No.");
-        lblOrder.setFont(new Font("Segoe UI", Font.PLAIN, 13));
-        lblOrder.setForeground(NAVY);
-        leftTop.add(lblOrder);
-
-        JLabel lblRef = new JLabel(safeString(order.getOrderReference()));
-        lblRef.setFont(new Font("Segoe UI", Font.BOLD, 16));
-        lblRef.setForeground(NAVY);
-        leftTop.add(lblRef);
-
-        top.add(leftTop, BorderLayout.WEST);
-
-        // STATUS BADGE
-        JPanel rightTop = new JPanel(new FlowLayout(FlowLayout.RIGHT, 6, 0));
-        rightTop.setOpaque(false);
-
-        JLabel badge = new JLabel(order.getStatus());
-        badge.setOpaque(true);
-        badge.setFont(new Font("Segoe UI Symbol", Font.BOLD, 12));
-        badge.setBorder(new EmptyBorder(5, 10, 5, 10));
-
-        // Color logic
-        switch (safeString(order.getStatus()).toLowerCase()) {
-            case "completed":
-                badge.setBackground(new Color(200, 255, 220));
-                badge.setForeground(new Color(18, 110, 69));
-                badge.setText("✓ Completed");
-                break;
-            case "cancelled":
-                badge.setBackground(new Color(255, 220, 220));
-                badge.setForeground(new Color(160, 30, 30));
-                badge.setText("✖ Cancelled");
-                break;
-            default:
-                badge.setBackground(new Color(255, 246, 230));
-                badge.setForeground(new Color(102, 60, 8));
-                badge.setText("⏱ Pending");
-                break;
+    /**
+     * One order card. The grid creates only as many as fit on screen and
+     * re-binds them to other orders while scrolling, so every component is
+     * built once here and bind() only updates text and colours.
+     */
+    private class OrderCard extends RoundedPanel {
+        private Order order;
+
+        private final JLabel lblRef = new JLabel();
+        private final JLabel badge = new JLabel();
+        private final JLabel lblCust = new JLabel();
+        private final JLabel lblDate = new JLabel();
+        private final JLabel lblDue = new JLabel();
+        private final JLabel lblPM = new JLabel();
+        private final JLabel lblPS = new JLabel();
+        private final JLabel qtyValue = new JLabel();
+        private final JTextArea summaryArea = new JTextArea();
+        private final JLabel lblPrice = new JLabel();
+
+        OrderCard() {
+            super(10, Color.WHITE);
+            setPreferredSize(new Dimension(CARD_WIDTH, CARD_HEIGHT));
+            setLayout(new BorderLayout());
+            setBorder(new CompoundBorder(new LineBorder(BORDER_YELLOW, 3, true), new EmptyBorder(0, 0, 0, 0)));
+
+            // TOP SECTION (Order No + Status + Menu)
+            JPanel top = new JPanel(new BorderLayout());
+            top.setPreferredSize(new Dimension(360, 86));
+            top.setBackground(HEADER_YELLOW);
+            top.setBorder(new EmptyBorder(12, 16, 12, 16));
+
+            JPanel leftTop = new JPanel();
+            leftTop.setLayout(new BoxLayout(leftTop, BoxLayout.Y_AXIS));
+            leftTop.setOpaque(false);
+
+            JLabel lblOrder = new JLabel("Order No.");
+            lblOrder.setFont(new Font("Segoe UI", Font.PLAIN, 13));
+            lblOrder.setForeground(NAVY);
+            leftTop.add(lblOrder);
+
+            lblRef.setFont(new Font("Segoe UI", Font.BOLD, 16));
+            lblRef.setForeground(NAVY);
+            leftTop.add(lblRef);
+
+            top.add(leftTop, BorderLayout.WEST);
+
+            // STATUS BADGE
+            JPanel rightTop = new JPanel(new FlowLayout(FlowLayout.RIGHT, 6, 0));
+            rightTop.setOpaque(false);
+
+            badge.setOpaque(true);
+            badge.setFont(new Font("Segoe UI Symbol", Font.BOLD, 12));
+            badge.setBorder(new EmptyBorder(5, 10, 5, 10));
+            rightTop.add(badge);
+
+            // Larger three-dot menu (acts on whichever order the card currently shows)
+            JButton menuBtn = new JButton("⋮");
+            menuBtn.setFont(new Font("Segoe UI Symbol", Font.BOLD, 12));
+            menuBtn.setBackground(new Color(0,0,0,0));
+            menuBtn.setForeground(NAVY);
+            menuBtn.setBorder(null);
+            menuBtn.setFocusPainted(false);
+
+            JPopupMenu menu = new JPopupMenu();
+            JMenuItem miView = new JMenuItem("View / Details");
+            miView.addActionListener(ev -> viewOrderDetails(order));
+            menu.add(miView);
+
+            JMenuItem miReceipt = new JMenuItem("Print Receipt");
+            miReceipt.addActionListener(ev -> printReceipt(order));
+            menu.add(miReceipt);
+
+            JMenuItem miComplete = new JMenuItem("Mark as Completed");
+            miComplete.addActionListener(ev -> completeOrder(order));
+            menu.add(miComplete);
+
+            JMenuItem miCancel = new JMenuItem("Cancel Order");
+            miCancel.addActionListener(ev -> cancelOrder(order));
+            menu.add(miCancel);
+
+            JMenuItem miDelete = new JMenuItem("Delete Order");
+            miDelete.addActionListener(ev -> deleteOrder(order));
+            menu.add(miDelete);
+
+            menuBtn.addActionListener(ev -> menu.show(menuBtn, 0, menuBtn.getHeight()));
+            rightTop.add(menuBtn);
+
+            top.add(rightTop, BorderLayout.EAST);
+            add(top, BorderLayout.NORTH);
+
+            // BOTTOM SECTION
+            JPanel bottom = new JPanel(new BorderLayout());
+            bottom.setBackground(Color.WHITE);
+            bottom.setBorder(new EmptyBorder(14, 16, 16, 16));
+
+            JPanel infoLeft = new JPanel();
+            infoLeft.setLayout(new BoxLayout(infoLeft, BoxLayout.Y_AXIS));
+            infoLeft.setOpaque(false);
+            infoLeft.setAlignmentX(Component.LEFT_ALIGNMENT);
+
+            // Customer Name
+            lblCust.setFont(new Font("Segoe UI", Font.BOLD, 15));
+            lblCust.setForeground(NAVY);
+            infoLeft.add(lblCust);
+
+            // DATE CREATED
+            lblDate.setFont(new Font("Segoe UI", Font.PLAIN, 13));
+            lblDate.setForeground(new Color(100, 100, 100));
+            infoLeft.add(lblDate);
+
+            // DUE DATE
+            lblDue.setFont(new Font("Segoe UI", Font.PLAIN, 13));
+            lblDue.setForeground(new Color(120, 120, 120));
+            infoLeft.add(lblDue);
+
+            // PAYMENT METHOD
+            lblPM.setFont(new Font("Segoe UI", Font.PLAIN, 13));
+            lblPM.setForeground(new Color(120, 120, 120));
+            infoLeft.add(lblPM);
+
+            // PAYMENT STATUS (Colored in bind)
+            lblPS.setFont(new Font("Segoe UI", Font.PLAIN, 13));
+            infoLeft.add(lblPS);
+
+            infoLeft.add(Box.createVerticalStrut(10));
+
+            // Separator
+            JSeparator sep = new JSeparator();
+            sep.setForeground(new Color(230, 230, 230));
+            sep.setMaximumSize(new Dimension(Integer.MAX_VALUE, 1));
+            infoLeft.add(sep);
+
+            infoLeft.add(Box.createVerticalStrut(10));
+
+            // Qty
+            JLabel qtyLabel = new JLabel("Qty");
+            qtyLabel.setFont(new Font("Segoe UI", Font.PLAIN, 13));
+            qtyLabel.setForeground(new Color(100, 100, 100));
+            infoLeft.add(qtyLabel);
+
+            qtyValue.setFont(new Font("Segoe UI", Font.BOLD, 18));
+            qtyValue.setForeground(NAVY);
+            infoLeft.add(qtyValue);
+
+            // Items summary
+            summaryArea.setEditable(false);
+            summaryArea.setOpaque(false);
+            summaryArea.setForeground(new Color(80, 80, 80));
+            summaryArea.setFont(new Font("Segoe UI", Font.PLAIN, 13));
+            summaryArea.setBorder(null);
+            summaryArea.setLineWrap(true);
+            summaryArea.setWrapStyleWord(true);
+
+            infoLeft.add(Box.createVerticalStrut(10));
+            infoLeft.add(summaryArea);
+
+            bottom.add(infoLeft, BorderLayout.CENTER);
+
+            lblCust.setAlignmentX(Component.LEFT_ALIGNMENT);
+            lblDate.setAlignmentX(Component.LEFT_ALIGNMENT);
+            qtyLabel.setAlignmentX(Component.LEFT_ALIGNMENT);
+            qtyValue.setAlignmentX(Component.LEFT_ALIGNMENT);
+            summaryArea.setAlignmentX(Component.LEFT_ALIGNMENT);
+
+            // RIGHT SIDE (PRICE)
+            JPanel rightBottom = new JPanel();
+            rightBottom.setLayout(new BoxLayout(rightBottom, BoxLayout.Y_AXIS));
+            rightBottom.setOpaque(false);
+
+            JLabel lblPriceLabel = new JLabel("Price");
+            lblPriceLabel.setFont(new Font("Segoe UI", Font.PLAIN, 13));
+            lblPriceLabel.setForeground(new Color(100, 100, 100));
+            lblPriceLabel.setAlignmentX(Component.RIGHT_ALIGNMENT);
+            rightBottom.add(lblPriceLabel);
+
+            lblPrice.setFont(new Font("Segoe UI", Font.BOLD, 20));
+            lblPrice.setForeground(new Color(204, 136, 30));
+            lblPrice.setAlignmentX(Component.RIGHT_ALIGNMENT);
+            rightBottom.add(lblPrice);
+
+            bottom.add(rightBottom, BorderLayout.EAST);
+
+            add(bottom, BorderLayout.CENTER);
         }
 
-        rightTop.add(badge);
+        void bind(Order order) {
+            this.order = order;
 
-        // Larger three-dot menu
-        JButton menuBtn = new JButton("⋮");
-        menuBtn.setFont(new Font("Segoe UI Symbol", Font.BOLD, 12));
-        menuBtn.setBackground(new Color(0,0,0,0));
-        menuBtn.setForeground(NAVY);
-        menuBtn.setBorder(null);
-        menuBtn.setFocusPainted(false);
-
-        JPopupMenu menu = new JPopupMenu();
-        JMenuItem miView = new JMenuItem("View / Details");
-        miView.addActionListener(ev -> viewOrderDetails(order));
-        menu.add(miView);
+            // Order details were bulk-loaded with product names in loadOrdersFromDB
+            List<OrderDetail> details = loadedDetails.getOrDefault(order.getOrderId(), Collections.emptyList());
 
-        JMenuItem miComplete = new JMenuItem("Mark as Completed");
-        miComplete.addActionListener(ev -> {
-            int ok = JOptionPane.showConfirmDialog(this,
-                    "Mark order " + safeString(order.getOrderReference()) + " as Completed?",
-                    "Confirm Complete",
-                    JOptionPane.YES_NO_OPTION);
-            if (ok == JOptionPane.YES_OPTION) {
-                boolean done = orderService.completeOrder(order.getOrderId(), DEFAULT_USER_ID);
-                if (done) {
-                    JOptionPane.showMessageDialog(this, "Order completed.");
-                    loadOrdersFromDB();
-                }
+            // Build summary string (multi-line)
+            StringBuilder itemsSummary = new StringBuilder("Items:\n");
+            for (OrderDetail d : details) {
+                String productName = (d.getProductName() != null) ? d.getProductName() : ("Product ID " + d.getProductId());
+                itemsSummary.append("• ")
+                        .append(productName)
+                        .append(" — Qty ").append(d.getQuantity())
+                        .append("\n");
             }
-        });
-        menu.add(miComplete);
 
-        JMenuItem miCancel = new JMenuItem("Cancel Order");
-        miCancel.addActionListener(ev -> {
-            int ok = JOptionPane.showConfirmDialog(this,
-                    "Cancel order " + safeString(order.getOrderReference()) + " ?",
-                    "Confirm Cancel",
-                    JOptionPane.YES_NO_OPTION);
-            if (ok == JOptionPane.YES_OPTION) {
-                boolean cancelled = orderService.cancelOrder(order.getOrderId(), DEFAULT_USER_ID);
-                if (cancelled) {
-                    JOptionPane.showMessageDialog(this, "Order cancelled.");
-                    loadOrdersFromDB();
-                }
+            lblRef.setText(safeString(order.getOrderReference()));
+
+            // Color logic
+            switch (safeString(order.getStatus()).toLowerCase()) {
+                case "completed":
+                    badge.setBackground(new Color(200, 255, 220));
+                    badge.setForeground(new Color(18, 110, 69));
+                    badge.setText("✓ Completed");
+                    break;
+                case "cancelled":
+                    badge.setBackground(new Color(255, 220, 220));
+                    badge.setForeground(new Color(160, 30, 30));
+                    badge.setText("✖ Cancelled");
+                    break;
+                default:
+                    badge.setBackground(new Color(255, 246, 230));
+                    badge.setForeground(new Color(102, 60, 8));
+                    badge.setText("⏱ Pending");
+                    break;
             }
-        });
-        menu.add(miCancel);
 
-        JMenuItem miDelete = new JMenuItem("Delete Order");
-        miDelete.addActionListener(ev -> {
-            int ok = JOptionPane.showConfirmDialog(this,
-                    "Permanently delete order?",
-                    "Confirm Delete",
-                    JOptionPane.YES_NO_OPTION);
-            if (ok == JOptionPane.YES_OPTION) {
-                boolean removed = orderDAO.deleteOrder(order.getOrderId());
-                if (removed) {
-                    JOptionPane.showMessageDialog(this, "Order deleted.");
-                    loadOrdersFromDB();
-                }
+            lblCust.setText(order.getCustomerName());
+
+            lblDate.setText(order.getOrderDate() != null
+                    ? "Created: " + order.getOrderDate().format(CARD_DATE_FORMAT)
+                    : "");
+
+            lblDue.setText((order.getDueDate() != null)
+                    ? "Due Date: " + order.getDueDate().toString()
+                    : "Due Date: —");
+
+            lblPM.setText("Payment Method: " + safeString(order.getPaymentMethod()));
+
+            lblPS.setText("Payment Status: " + safeString(order.getPaymentStatus()));
+            String pay = safeString(order.getPaymentStatus()).toLowerCase();
+            switch (pay) {
+                case "fully paid":
+                    lblPS.setForeground(new Color(18, 110, 69));
+                    break;
+                case "down payment paid":
+                    lblPS.setForeground(new Color(204, 136, 30));
+                    break;
+                default:
+                    lblPS.setForeground(new Color(160, 30, 30));
+                    break;
             }
-        });
-        menu.add(miDelete);
-
-        menuBtn.addActionListener(ev -> menu.show(menuBtn, 0, menuBtn.getHeight()));
-        rightTop.add(menuBtn);
-
-        top.add(rightTop, BorderLayout.EAST);
-        card.add(top, BorderLayout.NORTH);
-
-        // BOTTOM SECTION
-        JPanel bottom = new JPanel(new BorderLayout());
-        bottom.setBackground(Color.WHITE);
-        bottom.setBorder(new EmptyBorder(14, 16, 16, 16));
-
-        JPanel infoLeft = new JPanel();
-        infoLeft.setLayout(new BoxLayout(infoLeft, BoxLayout.Y_AXIS));
-        infoLeft.setOpaque(false);
-        infoLeft.setAlignmentX(Component.LEFT_ALIGNMENT);
-
-        // Customer Name
-        JLabel lblCust = new JLabel(order.getCustomerName());
-        lblCust.setFont(new Font("Segoe UI", Font.BOLD, 15));
-        lblCust.setForeground(NAVY);
-        infoLeft.add(lblCust);
-
-        // DATE CREATED
-        String dateText = "";
-        if (order.getOrderDate() != null) {
-            LocalDateTime dt = order.getOrderDate();
-            DateTimeFormatter fmt = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
-            dateText = "Created: " + dt.format(fmt);
-        }
 
-        JLabel lblDate = new JLabel(dateText);
-        lblDate.setFont(new Font("Segoe UI", Font.PLAIN, 13));
-        lblDate.setForeground(new Color(100, 100, 100));
-        infoLeft.add(lblDate);
-
-        // DUE DATE
-        String dueDateText = (order.getDueDate() != null)
-                ? "Due Date: " + order.getDueDate().toString()
-                : "Due Date: —";
-
-        JLabel lblDue = new JLabel(dueDateText);
-        lblDue.setFont(new Font("Segoe UI", Font.PLAIN, 13));
-        lblDue.setForeground(new Color(120, 120, 120));
-        infoLeft.add(lblDue);
-
-        // PAYMENT METHOD
-        JLabel lblPM = new JLabel("Payment Method: " + safeString(order.getPaymentMethod()));
-        lblPM.setFont(new Font("Segoe UI", Font.PLAIN, 13));
-        lblPM.setForeground(new Color(120, 120, 120));
-        infoLeft.add(lblPM);
-
-        // PAYMENT STATUS (Colored)
-        JLabel lblPS = new JLabel("Payment Status: " + safeString(order.getPaymentStatus()));
-        lblPS.setFont(new Font("Segoe UI", Font.PLAIN, 13));
-
-        String pay = safeString(order.getPaymentStatus()).toLowerCase();
-        switch (pay) {
-            case "fully paid":
-                lblPS.setForeground(new Color(18, 110, 69));
-                break;
-            case "down payment paid":
-                lblPS.setForeground(new Color(204, 136, 30));
-                break;
-            default:
-                lblPS.setForeground(new Color(160, 30, 30));
-                break;
+            qtyValue.setText(String.valueOf(order.getQuantityTotal()));
+            summaryArea.setText(itemsSummary.toString());
+            lblPrice.setText("₱" + String.format("%.2f", order.getTotalAmount()));
         }
-        infoLeft.add(lblPS);
-
-        infoLeft.add(Box.createVerticalStrut(10));
-
-        // Separator
-        JSeparator sep = new JSeparator();
-        sep.setForeground(new Color(230, 230, 230));
-        sep.setMaximumSize(new Dimension(Integer.MAX_VALUE, 1));
-        infoLeft.add(sep);
-
-        infoLeft.add(Box.createVerticalStrut(10));
-
-        // Qty
-        JLabel qtyLabel = new JLabel("Qty");
-        qtyLabel.setFont(new Font("Segoe UI", Font.PLAIN, 13));
-        qtyLabel.setForeground(new Color(100, 100, 100));
-        infoLeft.add(qtyLabel);
-
-        JLabel qtyValue = new JLabel(String.valueOf(order.getQuantityTotal()));
-        qtyValue.setFont(new Font("Segoe UI", Font.BOLD, 18));
-        qtyValue.setForeground(NAVY);
-        infoLeft.add(qtyValue);
-
-        // Items summary
-        JTextArea summaryArea = new JTextArea(itemsSummary.toString());
-        summaryArea.setEditable(false);
-        summaryArea.setOpaque(false);
-        summaryArea.setForeground(new Color(80, 80, 80));
-        summaryArea.setFont(new Font("Segoe UI", Font.PLAIN, 13));
-        summaryArea.setBorder(null);
-        summaryArea.setLineWrap(true);
-        summaryArea.setWrapStyleWord(true);
-
-        infoLeft.add(Box.createVerticalStrut(10));
-        infoLeft.add(summaryArea);
-
-        bottom.add(infoLeft, BorderLayout.CENTER);
-
-        lblCust.setAlignmentX(Component.LEFT_ALIGNMENT);
-        lblDate.setAlignmentX(Component.LEFT_ALIGNMENT);
-        qtyLabel.setAlignmentX(Component.LEFT_ALIGNMENT);
-        qtyValue.setAlignmentX(Component.LEFT_ALIGNMENT);
-        summaryArea.setAlignmentX(Component.LEFT_ALIGNMENT);
-
-        // RIGHT SIDE (PRICE)
-        JPanel rightBottom = new JPanel();
-        rightBottom.setLayout(new BoxLayout(rightBottom, BoxLayout.Y_AXIS));
-        rightBottom.setOpaque(false);
-
-        JLabel lblPriceLabel = new JLabel("Price");
-        lblPriceLabel.setFont(new Font("Segoe UI", Font.PLAIN, 13));
-        lblPriceLabel.setForeground(new Color(100, 100, 100));
-        lblPriceLabel.setAlignmentX(Component.RIGHT_ALIGNMENT);
-        rightBottom.add(lblPriceLabel);
-
-        JLabel lblPrice = new JLabel("₱" + String.format("%.2f", order.getTotalAmount()));
-        lblPrice.setFont(new Font("Segoe UI", Font.BOLD, 20));
-        lblPrice.setForeground(new Color(204, 136, 30));
-        lblPrice.setAlignmentX(Component.RIGHT_ALIGNMENT);
-        rightBottom.add(lblPrice);
-
-        bottom.add(rightBottom, BorderLayout.EAST);
-
-        card.add(bottom, BorderLayout.CENTER);
-
-        return card;
     }
 
 
@@ -724,6 +825,18 @@ public class HomeScreen extends JFrame {
         }
     }
 
+    // Receipt is filled in the background so the staff can keep working
+    private void printReceipt(Order order) {
+        ReportService.printReceiptAsync(order.getOrderId()).whenComplete((print, error) -> {
+            if (error != null) {
+                Throwable cause = error.getCause() != null ? error.getCause() : error;
+                SwingUtilities.invokeLater(() -> JOptionPane.showMessageDialog(this,
+                        "Unable to print receipt for " + safeString(order.getOrderReference()) + ": " + cause.getMessage(),
+                        "Error", JOptionPane.ERROR_MESSAGE));
+            }
+        });
+    }
+
     private void createOrderDialog() {
         SwingUtilities.invokeLater(() -> {
             try {
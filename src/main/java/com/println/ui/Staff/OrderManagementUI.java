@@ -2,14 +2,15 @@ package com.println.ui.Staff;
 
 
 import com.println.dao.CustomerDAO;
-import com.println.dao.InventoryDAO;
+import com.println.dao.CustomerSearchIndex;
 import com.println.dao.ProductDAO;
 import com.println.model.Customer;
-import com.println.model.Inventory;
 import com.println.model.Order;
 import com.println.model.OrderDetail;
 import com.println.model.Product;
+import com.println.service.InventorySnapshotService;
 import com.println.service.OrderService;
+import com.println.service.ReportService;
 import java.awt.*;
 import java.awt.event.*;
 import java.awt.geom.RoundRectangle2D;
@@ -44,7 +45,6 @@ public class OrderManagementUI extends JFrame {
 
     private final CustomerDAO customerDAO = new CustomerDAO();
     private final ProductDAO productDAO = new ProductDAO();
-    private final InventoryDAO inventoryDAO = new InventoryDAO();
     private final OrderService orderService = new OrderService();
 
 
@@ -65,6 +65,7 @@ public class OrderManagementUI extends JFrame {
     private final List<OrderDetail> orderDetails = new ArrayList<>();
     private final Map<Integer, Product> productMap = new HashMap<>();
     private final int DEFAULT_USER_ID = 1;
+    private static final int AUTOCOMPLETE_LIMIT = 50;
 
     private final JFrame owner;
     private List<Customer> allCustomerList = new ArrayList<>();
@@ -78,6 +79,7 @@ public class OrderManagementUI extends JFrame {
         setUndecorated(true);
         setExtendedState(JFrame.MAXIMIZED_BOTH);
         setAlwaysOnTop(true);
+        InventorySnapshotService.getInstance().start(); // warm the material-status index in the background
         initialize();
     }
 
@@ -98,16 +100,9 @@ public class OrderManagementUI extends JFrame {
         return list;
     }
 
+    // In-memory lookup (case-insensitive); no database round trip per material
     private String getInventoryStatusByName(String itemName) {
-        List<Inventory> invList = inventoryDAO.getAllInventory();
-
-        for (Inventory inv : invList) {
-            if (inv.getItemName().equalsIgnoreCase(itemName)) {
-                return inv.getStatus(); // "Available", "Low", "Out of Stock"
-            }
-        }
-
-        return null; // not found
+        return InventorySnapshotService.getInstance().getStatus(itemName); // "Available", "Low", "Out of Stock", or null
     }
 
     private void initialize() {
@@ -1137,14 +1132,13 @@ cbPaymentStatus.setPreferredSize(new Dimension(190, 34));
     private void loadCustomers() {
         try {
             allCustomerList = customerDAO.getAllCustomers();
-            List<Customer> customers = allCustomerList;
+            CustomerSearchIndex.getInstance().rebuild(allCustomerList);
 
 
-            cbCustomer.removeAllItems();
-            cbCustomer.addItem(new CustomerComboItem(null, "-- Select Customer --"));
-            for (Customer c : customers) {
-                cbCustomer.addItem(new CustomerComboItem(c.getCustomerId(), c.getName()));
-            }
+            DefaultComboBoxModel<CustomerComboItem> model = (DefaultComboBoxModel<CustomerComboItem>) cbCustomer.getModel();
+            model.removeAllElements();
+            model.addAll(allCustomerItems());
+            model.setSelectedItem(model.getElementAt(0));
         } catch (Exception e) {
             showError("Failed to load customers: " + e.getMessage());
         }
@@ -1224,6 +1218,7 @@ cbPaymentStatus.setPreferredSize(new Dimension(190, 34));
 
         OrderDetail d = new OrderDetail();
         d.setProductId(pItem.productId);
+        d.setProductName(pItem.name);
         d.setQuantity(qty);
         d.setUnitPrice(price);
         d.setDiscount(discount);
@@ -1308,6 +1303,7 @@ cbPaymentStatus.setPreferredSize(new Dimension(190, 34));
 
         Order order = new Order();
         order.setCustomerId(customerId);
+        order.setCustomerName(customerName);
         order.setUserId(DEFAULT_USER_ID);
         order.setRemarks(tfRemarks.getText().trim());
 
@@ -1358,6 +1354,7 @@ cbPaymentStatus.setPreferredSize(new Dimension(190, 34));
         for (OrderDetail d : orderDetails) {
             OrderDetail copy = new OrderDetail();
             copy.setProductId(d.getProductId());
+            copy.setProductName(d.getProductName()); // for the receipt; not stored
             copy.setQuantity(d.getQuantity());
             copy.setUnitPrice(d.getUnitPrice());
             copy.setDiscount(d.getDiscount());
@@ -1376,11 +1373,10 @@ cbPaymentStatus.setPreferredSize(new Dimension(190, 34));
         boolean ok = orderService.placeOrder(order, detailsToSend, DEFAULT_USER_ID);
         if (ok) {
             String ref = order.getOrderReference();
-            if (ref != null) {
-                JOptionPane.showMessageDialog(this, "Order placed!\nReference: " + ref, "Success", JOptionPane.INFORMATION_MESSAGE);
-            } else {
-                JOptionPane.showMessageDialog(this, "Order placed! (reference generated in DB)", "Success", JOptionPane.INFORMATION_MESSAGE);
-            }
+            String placed = ref != null ? "Order placed!\nReference: " + ref : "Order placed! (reference generated in DB)";
+            int choice = JOptionPane.showConfirmDialog(this, placed + "\n\nPrint receipt now?", "Success",
+                    JOptionPane.YES_NO_OPTION, JOptionPane.INFORMATION_MESSAGE);
+            if (choice == JOptionPane.YES_OPTION) printReceipt(order);
             // Clear UI
             orderDetails.clear();
             tableModel.setRowCount(0);
@@ -1394,6 +1390,18 @@ cbPaymentStatus.setPreferredSize(new Dimension(190, 34));
     }
 
 
+    // Filled from the order just placed (no read-back from the database), in the background
+    private void printReceipt(Order order) {
+        ReportService.printReceiptAsync(order).whenComplete((print, error) -> {
+            if (error != null) {
+                Throwable cause = error.getCause() != null ? error.getCause() : error;
+                SwingUtilities.invokeLater(() -> showError("Unable to print receipt for "
+                        + order.getOrderReference() + ": " + cause.getMessage()));
+            }
+        });
+    }
+
+
     private void showError(String msg) {
         JOptionPane.showMessageDialog(this, msg, "Error", JOptionPane.ERROR_MESSAGE);
     }
@@ -1552,6 +1560,7 @@ private void setupAutoComplete(final JComboBox comboBox) {
 
     final JTextField editor = (JTextField) comboBox.getEditor().getEditorComponent();
     comboBox.setEditable(true);
+    final String[] lastQuery = { "" };
 
 
     editor.addKeyListener(new KeyAdapter() {
@@ -1559,6 +1568,10 @@ private void setupAutoComplete(final JComboBox comboBox) {
         public void keyReleased(KeyEvent e) {
             String text = editor.getText();
 
+            // Arrow keys / Enter in the popup do not change the text: keep the list as is
+            if (text.equals(lastQuery[0])) return;
+            lastQuery[0] = text;
+
 
             SwingUtilities.invokeLater(() -> {
                 if (text.isEmpty()) {
@@ -1568,17 +1581,16 @@ private void setupAutoComplete(final JComboBox comboBox) {
                 }
 
 
+                // ranked top matches from the in-memory index (name, contact no. or email)
+                List<CustomerComboItem> items = new ArrayList<>();
+                for (CustomerSearchIndex.Match m : CustomerSearchIndex.getInstance().search(text, AUTOCOMPLETE_LIMIT)) {
+                    items.add(new CustomerComboItem(m.getCustomerId(), m.getName()));
+                }
+
                 DefaultComboBoxModel model = (DefaultComboBoxModel) comboBox.getModel();
                 model.removeAllElements();
-
-
-                // search from loaded items
-                for (int i = 0; i < allCustomerList.size(); i++) {
-                    Customer c = allCustomerList.get(i);
-                    if (c.getName().toLowerCase().contains(text.toLowerCase())) {
-                        model.addElement(new CustomerComboItem(c.getCustomerId(), c.getName()));
-                    }
-                }
+                model.addAll(items);
+                if (!items.isEmpty()) model.setSelectedItem(items.get(0));
 
 
                 editor.setText(text);
@@ -1593,9 +1605,17 @@ private void setupAutoComplete(final JComboBox comboBox) {
 private void resetCustomerList(JComboBox combo) {
     DefaultComboBoxModel model = (DefaultComboBoxModel) combo.getModel();
     model.removeAllElements();
-    model.addElement(new CustomerComboItem(null, "-- Select Customer --"));
+    model.addAll(allCustomerItems());
+    model.setSelectedItem(model.getElementAt(0));
+}
+
+// Placeholder first, then every customer (added to the combo model in one event)
+private List<CustomerComboItem> allCustomerItems() {
+    List<CustomerComboItem> items = new ArrayList<>(allCustomerList.size() + 1);
+    items.add(new CustomerComboItem(null, "-- Select Customer --"));
     for (Customer c : allCustomerList)
-        model.addElement(new CustomerComboItem(c.getCustomerId(), c.getName()));
+        items.add(new CustomerComboItem(c.getCustomerId(), c.getName()));
+    return items;
 }
 
 
@@ -0,0 +1,208 @@
+package com.println.ui;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import javax.swing.JComponent;
+import javax.swing.JPanel;
+import javax.swing.JViewport;
+import javax.swing.Scrollable;
+import javax.swing.SwingConstants;
+import javax.swing.event.ChangeListener;
+
+/**
+ *  Scrollable grid of fixed-size cards that only creates components for the
+ *  rows visible in the enclosing viewport.
+ *
+ *  Items are laid out left to right like WrapLayout(FlowLayout.LEFT). Card
+ *  components are created on demand by the {@link CardBinder}, kept in a pool
+ *  and re-bound to whatever item scrolls into their slot, so the number of
+ *  live components depends on the viewport size, not on the number of items.
+ */
+public class VirtualCardGrid<T> extends JPanel implements Scrollable {
+    public interface CardBinder<T> {
+        /** Creates an empty card; called only when the pool needs to grow. */
+        JComponent createCard();
+
+        /** Shows {@code item} in a card previously returned by createCard(). */
+        void bind(JComponent card, T item);
+    }
+
+    private final CardBinder<T> binder;
+    private final int cardWidth;
+    private final int cardHeight;
+    private final int gap;
+
+    private List<T> items = new ArrayList<>();
+
+    // pool.get(i) shows the item at an index with (index % pool.size()) == i
+    private final List<JComponent> pool = new ArrayList<>();
+    private final List<Object> boundTo = new ArrayList<>();
+
+    // Fired when the visible rows come within NEAR_END_ROWS of the last item
+    private static final int NEAR_END_ROWS = 2;
+    private Runnable nearEndListener;
+
+    private final ChangeListener viewportListener = e -> layoutVisibleCards();
+    private JViewport viewport;
+
+    public VirtualCardGrid(int cardWidth, int cardHeight, int gap, CardBinder<T> binder) {
+        super(null);
+        this.cardWidth = cardWidth;
+        this.cardHeight = cardHeight;
+        this.gap = gap;
+        this.binder = binder;
+    }
+
+    /** Replaces the backing list; no components are created for items off screen. */
+    public void setItems(List<T> newItems) {
+        items = new ArrayList<>(newItems);
+        Collections.fill(boundTo, null);
+        revalidate();
+        repaint();
+    }
+
+    /** Appends items (e.g. the next page) without re-binding the cards already on screen. */
+    public void addItems(List<T> moreItems) {
+        if (moreItems.isEmpty()) return;
+        items.addAll(moreItems);
+        revalidate();
+        repaint();
+    }
+
+    /**
+     *  Called on the EDT whenever the user scrolls to within a couple of rows of
+     *  the end, so the owner can fetch the next page. It may fire repeatedly;
+     *  the owner is expected to ignore calls while a fetch is in flight.
+     */
+    public void setNearEndListener(Runnable nearEndListener) {
+        this.nearEndListener = nearEndListener;
+    }
+
+    public List<T> getItems() {
+        return Collections.unmodifiableList(items);
+    }
+
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        if (getParent() instanceof JViewport) {
+            viewport = (JViewport) getParent();
+            viewport.addChangeListener(viewportListener);
+        }
+    }
+
+    @Override
+    public void removeNotify() {
+        if (viewport != null) {
+            viewport.removeChangeListener(viewportListener);
+            viewport = null;
+        }
+        super.removeNotify();
+    }
+
+    @Override
+    public void doLayout() {
+        layoutVisibleCards();
+    }
+
+    private int columns() {
+        // The viewport width is what this panel will be given (it tracks the viewport width)
+        int width = getParent() instanceof JViewport ? getParent().getWidth() : getWidth();
+        return Math.max(1, (width - gap) / (cardWidth + gap));
+    }
+
+    private int rowHeight() {
+        return cardHeight + gap;
+    }
+
+    private void layoutVisibleCards() {
+        int cols = columns();
+        Rectangle visible = getVisibleRect();
+
+        if (items.isEmpty() || visible.height <= 0) {
+            for (JComponent card : pool) card.setVisible(false);
+            return;
+        }
+
+        int rows = (items.size() + cols - 1) / cols;
+        int firstRow = Math.max(0, (visible.y - gap) / rowHeight());
+        int lastRow = Math.min(rows - 1, (visible.y + visible.height) / rowHeight());
+
+        int first = firstRow * cols;
+        int last = Math.min(items.size() - 1, (lastRow + 1) * cols - 1);
+        int needed = last - first + 1;
+
+        // Grow the pool to cover a full viewport; existing slots keep their binding
+        if (pool.size() < needed) {
+            while (pool.size() < needed) {
+                JComponent card = binder.createCard();
+                pool.add(card);
+                boundTo.add(null);
+                add(card);
+            }
+            Collections.fill(boundTo, null);
+        }
+
+        boolean[] used = new boolean[pool.size()];
+        for (int index = first; index <= last; index++) {
+            int slot = index % pool.size();
+            JComponent card = pool.get(slot);
+            T item = items.get(index);
+
+            if (boundTo.get(slot) != item) {
+                binder.bind(card, item);
+                boundTo.set(slot, item);
+            }
+
+            int row = index / cols;
+            int col = index % cols;
+            card.setBounds(gap + col * (cardWidth + gap), gap + row * rowHeight(), cardWidth, cardHeight);
+            card.setVisible(true);
+            card.validate();
+            used[slot] = true;
+        }
+
+        for (int slot = 0; slot < pool.size(); slot++) {
+            if (!used[slot]) pool.get(slot).setVisible(false);
+        }
+
+        if (nearEndListener != null && lastRow >= rows - 1 - NEAR_END_ROWS) {
+            nearEndListener.run();
+        }
+    }
+
+    @Override
+    public Dimension getPreferredSize() {
+        int cols = columns();
+        int rows = (items.size() + cols - 1) / cols;
+        return new Dimension(gap + cols * (cardWidth + gap), gap + rows * rowHeight());
+    }
+
+    @Override
+    public Dimension getPreferredScrollableViewportSize() {
+        return getPreferredSize();
+    }
+
+    @Override
+    public int getScrollableUnitIncrement(Rectangle visibleRect, int orientation, int direction) {
+        return orientation == SwingConstants.VERTICAL ? rowHeight() / 10 : gap;
+    }
+
+    @Override
+    public int getScrollableBlockIncrement(Rectangle visibleRect, int orientation, int direction) {
+        return orientation == SwingConstants.VERTICAL ? Math.max(rowHeight(), visibleRect.height - rowHeight()) : visibleRect.width;
+    }
+
+    @Override
+    public boolean getScrollableTracksViewportWidth() {
+        return true;
+    }
+
+    @Override
+    public boolean getScrollableTracksViewportHeight() {
+        // Fill the viewport when there are only a few cards (keeps backgrounds centred)
+        return getParent() instanceof JViewport && getPreferredSize().height < getParent().getHeight();
+    }
+}
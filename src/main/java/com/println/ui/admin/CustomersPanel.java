@@ -2,6 +2,7 @@ package com.println.ui.admin;
 
 import com.println.dao.CustomerDAO;
 import com.println.model.Customer;
+import com.println.ui.BackgroundLoader;
 import java.awt.*;
 import java.awt.event.*;
 import java.lang.reflect.Method;
@@ -24,6 +25,7 @@ public class CustomersPanel extends JPanel {
 
     private final AdminDashboard theme;
     private final CustomerDAO customerDAO = new CustomerDAO();
+    private final BackgroundLoader loader = new BackgroundLoader(this);
 
     // Updated columns per request
     private String[] cols = {
@@ -861,7 +863,12 @@ private class AddCustomerDialog extends JDialog {
     // RELOAD TABLE (HEADER MATCHED)
     // ===========================================================
     public void reloadTable() {
-        List<Customer> list = customerDAO.getAllCustomers();
+        loader.load(customerDAO::getAllCustomers, this::showCustomers,
+                e -> JOptionPane.showMessageDialog(this, "Error loading customers: " + e.getMessage()));
+    }
+
+    // Runs on the EDT once the customer list has been fetched
+    private void showCustomers(List<Customer> list) {
         List<Object[]> rows = new ArrayList<>();
 
         for (Customer c : list) {
@@ -2,11 +2,30 @@ package com.println.ui.admin;
 
 import javax.swing.*;
 import java.awt.*;
-import com.println.config.DBConnection;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
+import java.math.BigDecimal;
+import java.text.NumberFormat;
+import java.util.Locale;
+import com.println.dao.DashboardDAO;
+import com.println.model.DashboardSummary;
+import com.println.ui.BackgroundLoader;
 
 
 public class DashboardPanel extends JPanel {
 
+    private static final String NO_VALUE = "—";
+
+    private final DashboardDAO dashboardDAO = new DashboardDAO();
+    private final BackgroundLoader loader = new BackgroundLoader(this);
+
+    private final JLabel lblCustomers;
+    private final JLabel lblProducts;
+    private final JLabel lblLowStock;
+    private final JLabel lblRevenue;
+    private final JLabel lblPending;
+    private final JLabel lblCompleted;
+
     public DashboardPanel(AdminDashboard theme) {
 
         setBackground(theme.darkBg);
@@ -23,17 +42,60 @@ public class DashboardPanel extends JPanel {
         stats.setBackground(theme.darkBg);
         stats.setBorder(BorderFactory.createEmptyBorder(20, 20, 20, 20));
 
-        stats.add(createCard("Total Customers", "1,250", theme.accentBlue, theme));
-        stats.add(createCard("Total Products", "320", theme.accentYellow, theme));
-        stats.add(createCard("Low Stock Items", "14", theme.accentRed, theme));
-        stats.add(createCard("Monthly Revenue", "₱ 420k", theme.accentGreen, theme));
-        stats.add(createCard("Pending Orders", "37", theme.accentOrange, theme));
-        stats.add(createCard("Returns", "5", theme.accentRed, theme));
+        lblCustomers = addCard(stats, "Total Customers", theme.accentBlue, theme);
+        lblProducts = addCard(stats, "Total Products", theme.accentYellow, theme);
+        lblLowStock = addCard(stats, "Low Stock Items", theme.accentRed, theme);
+        lblRevenue = addCard(stats, "Monthly Revenue", theme.accentGreen, theme);
+        lblPending = addCard(stats, "Pending Orders", theme.accentOrange, theme);
+        lblCompleted = addCard(stats, "Completed This Month", theme.accentGreen, theme);
 
         add(stats, BorderLayout.CENTER);
+
+        // The summary is a single-row read, so it is cheap to refresh every time the card is shown
+        addComponentListener(new ComponentAdapter() {
+            @Override
+            public void componentShown(ComponentEvent e) {
+                loadSummary();
+            }
+        });
+        loadSummary();
+    }
+
+    private void loadSummary() {
+        loader.load(dashboardDAO::getSummary, this::showSummary, null);
+    }
+
+    private void showSummary(DashboardSummary s) {
+        if (s == null) {
+            for (JLabel l : new JLabel[]{lblCustomers, lblProducts, lblLowStock, lblRevenue, lblPending, lblCompleted}) {
+                l.setText(NO_VALUE);
+            }
+            return;
+        }
+        NumberFormat count = NumberFormat.getIntegerInstance(Locale.US);
+        lblCustomers.setText(count.format(s.getTotalCustomers()));
+        lblProducts.setText(count.format(s.getTotalProducts()));
+        lblLowStock.setText(count.format(s.getLowStockItems()));
+        lblRevenue.setText(formatPeso(s.getMonthlyRevenue()));
+        lblPending.setText(count.format(s.getPendingOrders()));
+        lblCompleted.setText(count.format(s.getCompletedThisMonth()));
+    }
+
+    // ₱ 420k style for large amounts, full pesos below ten thousand
+    private static String formatPeso(BigDecimal amount) {
+        double v = amount != null ? amount.doubleValue() : 0;
+        if (Math.abs(v) >= 1_000_000) return String.format("₱ %.2fM", v / 1_000_000);
+        if (Math.abs(v) >= 10_000) return String.format("₱ %.0fk", v / 1_000);
+        return String.format("₱ %,.2f", v);
+    }
+
+    private JLabel addCard(JPanel stats, String label, Color accent, AdminDashboard theme) {
+        JLabel val = new JLabel(NO_VALUE);
+        stats.add(createCard(label, val, accent, theme));
+        return val;
     }
 
-    private JPanel createCard(String label, String value, Color accent, AdminDashboard theme) {
+    private JPanel createCard(String label, JLabel val, Color accent, AdminDashboard theme) {
         JPanel card = new JPanel();
         card.setLayout(new BoxLayout(card, BoxLayout.Y_AXIS));
         card.setBackground(theme.cardBg);
@@ -46,7 +108,6 @@ public class DashboardPanel extends JPanel {
         lbl.setForeground(theme.mutedText);
         lbl.setFont(new Font("Arial", Font.PLAIN, 14));
 
-        JLabel val = new JLabel(value);
         val.setForeground(accent);
         val.setFont(new Font("Arial", Font.BOLD, 26));
 
@@ -2,11 +2,22 @@
 
 import com.println.config.DBConnection;
 import com.println.dao.InventoryDAO;
+import com.println.model.Inventory;
+import com.println.ui.BackgroundLoader;
 import java.awt.*;
 import java.awt.event.*;
+import java.math.BigDecimal;
 import java.sql.*;
 import java.time.LocalDate;
 import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Vector;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import javax.swing.*;
 import javax.swing.border.*;
 import javax.swing.table.DefaultTableCellRenderer;
@@ -18,9 +29,19 @@ import javax.swing.text.MaskFormatter;
 public class InventoryPanel extends JPanel {
 
     private JTable table;
-    private DefaultTableModel model;
+    private InventoryTableModel model;
     private AdminDashboard theme;
     private InventoryDAO inventoryDAO = new InventoryDAO();
+    private final BackgroundLoader loader = new BackgroundLoader(this);
+
+    // Keystrokes within this window are coalesced into one search
+    private static final int SEARCH_DEBOUNCE_MS = 250;
+    // The search connection goes back to the pool after this long without a search
+    private static final int SEARCH_IDLE_RELEASE_MS = 30000;
+
+    private final InventorySearch search = new InventorySearch();
+    private Timer searchDebounce;
+    private Timer searchIdleRelease;
 
     private static final Color SOFT_YELLOW = Color.decode("#F7E9A9");
 
@@ -159,10 +180,18 @@ public class InventoryPanel extends JPanel {
         add(header, BorderLayout.NORTH);
 
         // live search + enter key
-        searchField.addActionListener(e -> searchInventory(searchField.getText()));
+        searchDebounce = new Timer(SEARCH_DEBOUNCE_MS, e -> searchInventory(searchField.getText()));
+        searchDebounce.setRepeats(false);
+        searchIdleRelease = new Timer(SEARCH_IDLE_RELEASE_MS, e -> releaseSearchConnection());
+        searchIdleRelease.setRepeats(false);
+
+        searchField.addActionListener(e -> {
+            searchDebounce.stop();
+            searchInventory(searchField.getText());
+        });
         searchField.getDocument().addDocumentListener(new javax.swing.event.DocumentListener() {
-            public void insertUpdate(javax.swing.event.DocumentEvent e) { searchInventory(searchField.getText()); }
-            public void removeUpdate(javax.swing.event.DocumentEvent e) { searchInventory(searchField.getText()); }
+            public void insertUpdate(javax.swing.event.DocumentEvent e) { searchDebounce.restart(); }
+            public void removeUpdate(javax.swing.event.DocumentEvent e) { searchDebounce.restart(); }
             public void changedUpdate(javax.swing.event.DocumentEvent e) {}
         });
 
@@ -175,10 +204,7 @@ public class InventoryPanel extends JPanel {
                 "Cost/Unit", "Remarks", "Status"
         };
 
-        model = new DefaultTableModel(cols, 0) {
-            @Override
-            public boolean isCellEditable(int row, int col) { return false; }
-        };
+        model = new InventoryTableModel(cols);
 
         table = new JTable(model);
         styleTable(table);
@@ -248,57 +274,98 @@ public class InventoryPanel extends JPanel {
     // LOAD FUNCTION
     // ===========================================
     private void loadInventory() {
-        model.setRowCount(0);
-
-
         String sql = "SELECT * FROM inventory ORDER BY inventory_id DESC";
 
-        try (Connection conn = DBConnection.getConnection();
-            PreparedStatement ps = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
-             ResultSet rs = ps.executeQuery()) {
-
-            while (rs.next()) {
-                model.addRow(new Object[]{
-                        rs.getInt("inventory_id"),
-                        rs.getString("item_name"),
-                        rs.getString("description"),
-                        rs.getString("category"),
-                        rs.getString("unit"),
-                        rs.getInt("quantity"),
-                        rs.getInt("reorder_level"),
-                        rs.getString("supplier_name"),
-                        rs.getString("last_restock_date"),
-                        rs.getDouble("cost_per_unit"),
-                        rs.getString("remarks"),
-                        rs.getString("status")
-                });
+        loader.load(() -> {
+            search.close(); // search box is empty; give its connection back to the pool
+            try (Connection conn = DBConnection.getConnection();
+                 PreparedStatement ps = conn.prepareStatement(sql);
+                 ResultSet rs = ps.executeQuery()) {
+                return readRows(rs);
             }
-
-        } catch (SQLException e) {
-            JOptionPane.showMessageDialog(this, "Error loading data: " + e.getMessage());
-        }
+        }, model::setRows,
+           e -> JOptionPane.showMessageDialog(this, "Error loading data: " + e.getMessage()));
     }
 
     // ===========================================
-    // SEARCH FUNCTION
+    // SEARCH FUNCTION (debounced; see searchDebounce)
     // ===========================================
     private void searchInventory(String keyword) {
-        model.setRowCount(0);
-
         if (keyword.trim().isEmpty()) {
+            searchIdleRelease.stop();
             loadInventory();
             return;
         }
 
-        String sql = "SELECT * FROM inventory WHERE "
+        // Starting this load cancels the previous search's statement on the server
+        loader.load(new SearchQuery(keyword), model::setRows,
+           ex -> JOptionPane.showMessageDialog(this, "Error searching: " + ex.getMessage()));
+        searchIdleRelease.restart();
+    }
+
+    private void releaseSearchConnection() {
+        InventorySearch.IO.execute(search::close); // waits for a running search, so not on the EDT
+    }
+
+    private class SearchQuery implements BackgroundLoader.Query<List<Object[]>>, BackgroundLoader.Cancellable {
+        private final String keyword;
+
+        SearchQuery(String keyword) {
+            this.keyword = keyword;
+        }
+
+        @Override
+        public List<Object[]> load() throws SQLException {
+            return search.run(keyword);
+        }
+
+        @Override
+        public void cancel() {
+            search.cancel();
+        }
+    }
+
+    /**
+     * One connection and one prepared LIKE statement, reused across the
+     * searches of a typing session. Searches run one at a time; cancel()
+     * aborts the running one on the server via Statement.cancel().
+     */
+    private static class InventorySearch {
+        // Statement.cancel() opens a second connection to send KILL QUERY, and close()
+        // waits for a running search: both go here so neither blocks the EDT.
+        // Threads are reused between keystrokes and die after a minute idle.
+        static final ExecutorService IO = new ThreadPoolExecutor(0, Integer.MAX_VALUE, 60L, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), r -> {
+                    Thread t = new Thread(r, "inventory-search-io");
+                    t.setDaemon(true);
+                    return t;
+                });
+
+        private static final String SQL = "SELECT * FROM inventory WHERE "
                 + "item_name LIKE ? OR "
                 + "category LIKE ? OR "
                 + "supplier_name LIKE ? OR "
                 + "description LIKE ? "
                 + "ORDER BY inventory_id DESC";
 
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);) {
+        private Connection conn;          // guarded by this
+        private PreparedStatement ps;     // guarded by this
+        // Held while a search starts or ends, and by the IO task for its check and
+        // cancel(): a stale cancel then either finishes before the next search
+        // executes or sees that its search is over. run() holds "this" throughout,
+        // so it cannot serve here.
+        private final Object runLock = new Object();
+        private volatile PreparedStatement running;   // written under runLock
+        private volatile boolean cancelRequested;
+        private volatile long runCount;               // written under runLock
+
+        synchronized List<Object[]> run(String keyword) throws SQLException {
+            cancelRequested = false;
+            if (ps == null) {
+                conn = DBConnection.getConnection();
+                if (conn == null) throw new SQLException("No database connection");
+                ps = conn.prepareStatement(SQL);
+            }
 
             String kw = "%" + keyword + "%";
             ps.setString(1, kw);
@@ -306,27 +373,96 @@ public class InventoryPanel extends JPanel {
             ps.setString(3, kw);
             ps.setString(4, kw);
 
+            synchronized (runLock) {
+                runCount++;
+                running = ps;
+            }
             try (ResultSet rs = ps.executeQuery()) {
-                while (rs.next()) {
-                    model.addRow(new Object[]{
-                            rs.getInt("inventory_id"),
-                            rs.getString("item_name"),
-                            rs.getString("description"),
-                            rs.getString("category"),
-                            rs.getString("unit"),
-                            rs.getInt("quantity"),
-                            rs.getInt("reorder_level"),
-                            rs.getString("supplier_name"),
-                            rs.getString("last_restock_date"),
-                            rs.getDouble("cost_per_unit"),
-                            rs.getString("remarks"),
-                            rs.getString("status")
-                    });
+                return readRows(rs);
+            } catch (SQLException e) {
+                // A cancelled statement is still usable; anything else gets a fresh connection next time
+                if (!cancelRequested) close();
+                throw e;
+            } finally {
+                synchronized (runLock) {
+                    running = null;
                 }
             }
+        }
+
+        // Any thread (the loader calls it on the EDT): only flags the search here,
+        // the server round trip happens on IO
+        void cancel() {
+            PreparedStatement p = running;
+            if (p == null) return;
+            cancelRequested = true;
+            long cancelledRun = runCount;
+            IO.execute(() -> {
+                synchronized (runLock) {
+                    // The statement is reused; don't kill the next search if this one already finished
+                    if (running != p || runCount != cancelledRun) return;
+                    try {
+                        p.cancel();
+                    } catch (SQLException e) {
+                        System.err.println("Error cancelling inventory search: " + e.getMessage());
+                    }
+                }
+            });
+        }
+
+        synchronized void close() {
+            try {
+                if (ps != null) ps.close();
+            } catch (SQLException ignored) {
+            }
+            try {
+                if (conn != null) conn.close();
+            } catch (SQLException ignored) {
+            }
+            ps = null;
+            conn = null;
+        }
+    }
+
+    // Runs on the loader thread: copy the result set into plain rows
+    private static List<Object[]> readRows(ResultSet rs) throws SQLException {
+        List<Object[]> rows = new ArrayList<>();
+        while (rs.next()) {
+            rows.add(new Object[]{
+                    rs.getInt("inventory_id"),
+                    rs.getString("item_name"),
+                    rs.getString("description"),
+                    rs.getString("category"),
+                    rs.getString("unit"),
+                    rs.getInt("quantity"),
+                    rs.getInt("reorder_level"),
+                    rs.getString("supplier_name"),
+                    rs.getString("last_restock_date"),
+                    rs.getDouble("cost_per_unit"),
+                    rs.getString("remarks"),
+                    rs.getString("status")
+            });
+        }
+        return rows;
+    }
+
+    /** Read-only table model that swaps in a whole result with one change event. */
+    private static class InventoryTableModel extends DefaultTableModel {
+        InventoryTableModel(String[] cols) {
+            super(cols, 0);
+        }
 
-        } catch (SQLException ex) {
-            JOptionPane.showMessageDialog(this, "Error searching: " + ex.getMessage());
+        @Override
+        public boolean isCellEditable(int row, int col) { return false; }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        void setRows(List<Object[]> rows) {
+            Vector newData = new Vector(rows.size());
+            for (Object[] row : rows) {
+                newData.add(new Vector<>(Arrays.asList(row)));
+            }
+            dataVector = newData;
+            fireTableDataChanged();
         }
     }
 
@@ -405,43 +541,13 @@ public class InventoryPanel extends JPanel {
             }
         }
 
-        String sql = "INSERT INTO inventory (item_name, description, category, unit, quantity, reorder_level, supplier_name, last_restock_date, cost_per_unit, remarks) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
-
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);) {
-
-            ps.setString(1, name);
-            ps.setString(2, desc);
-            ps.setString(3, category);
-            ps.setString(4, unit);
-            ps.setInt(5, Integer.parseInt(qty.trim()));
-            ps.setInt(6, Integer.parseInt(reorder.trim()));
-            ps.setString(7, supplier);
-
-            if (parsedDate != null) {
-                ps.setDate(8, java.sql.Date.valueOf(parsedDate));
-            } else {
-                ps.setNull(8, Types.DATE);
+        try {
+            Inventory inv = toInventory(name, desc, category, unit, qty, reorder, supplier, parsedDate, cost, remarks);
+            if (!inventoryDAO.addInventory(inv)) {
+                JOptionPane.showMessageDialog(this, "Error adding item. Check the log for details.");
+                return;
             }
 
-            double c = 0.0;
-            try { c = Double.parseDouble(cost.trim()); } catch (Exception ignored) {}
-            ps.setDouble(9, c);
-
-            ps.setString(10, remarks);
-
-            ps.executeUpdate();
-            
-            // Get generated ID
-            ResultSet rs = ps.getGeneratedKeys();
-            int newId = -1;
-            if (rs.next()) newId = rs.getInt(1);
-
-            // Update status immediately
-            if (newId != -1) {
-                inventoryDAO.updateInventoryStatus(newId);
-            }
-            
             JOptionPane.showMessageDialog(this, "Item added successfully!");
             loadInventory();
 
@@ -467,34 +573,14 @@ public class InventoryPanel extends JPanel {
             }
         }
 
-        String sql = "UPDATE inventory SET item_name=?, description=?, category=?, unit=?, quantity=?, reorder_level=?, supplier_name=?, last_restock_date=?, cost_per_unit=?, remarks=? WHERE inventory_id=?";
-
-        try (Connection conn = DBConnection.getConnection();
-            PreparedStatement ps = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);) {
-
-            ps.setString(1, name);
-            ps.setString(2, desc);
-            ps.setString(3, category);
-            ps.setString(4, unit);
-            ps.setInt(5, Integer.parseInt(qty.trim()));
-            ps.setInt(6, Integer.parseInt(reorder.trim()));
-            ps.setString(7, supplier);
-
-            if (parsedDate != null) {
-                ps.setDate(8, java.sql.Date.valueOf(parsedDate));
-            } else {
-                ps.setNull(8, Types.DATE);
+        try {
+            Inventory inv = toInventory(name, desc, category, unit, qty, reorder, supplier, parsedDate, cost, remarks);
+            inv.setInventoryId(id);
+            if (!inventoryDAO.updateInventory(inv)) {
+                JOptionPane.showMessageDialog(this, "Error updating item. Check the log for details.");
+                return;
             }
 
-            double c = 0.0;
-            try { c = Double.parseDouble(cost.trim()); } catch (Exception ignored) {}
-            ps.setDouble(9, c);
-
-            ps.setString(10, remarks);
-            ps.setInt(11, id);
-
-            ps.executeUpdate();
-
             JOptionPane.showMessageDialog(this, "Item updated!");
             loadInventory();
 
@@ -503,6 +589,26 @@ public class InventoryPanel extends JPanel {
         }
     }
 
+    private static Inventory toInventory(String name, String desc, String category, String unit, String qty,
+                                         String reorder, String supplier, LocalDate lastRestock, String cost, String remarks) {
+        Inventory inv = new Inventory();
+        inv.setItemName(name);
+        inv.setDescription(desc);
+        inv.setCategory(category);
+        inv.setUnit(unit);
+        inv.setQuantity(Integer.parseInt(qty.trim()));
+        inv.setReorderLevel(Integer.parseInt(reorder.trim()));
+        inv.setSupplierName(supplier);
+        inv.setLastRestockDate(lastRestock);
+
+        BigDecimal c = BigDecimal.ZERO;
+        try { c = new BigDecimal(cost.trim()); } catch (Exception ignored) {}
+        inv.setCostPerUnit(c);
+
+        inv.setRemarks(remarks);
+        return inv;
+    }
+
     private void deleteItem() {
         int row = table.getSelectedRow();
         if (row == -1) {
@@ -521,19 +627,12 @@ public class InventoryPanel extends JPanel {
         );
 
         if (confirm == JOptionPane.YES_OPTION) {
-            String sql = "DELETE FROM inventory WHERE inventory_id=?";
-
-            try (Connection conn = DBConnection.getConnection();
-                 PreparedStatement ps = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);) {
-
-                ps.setInt(1, id);
-                ps.executeUpdate();
-
+            // Through the DAO so the dashboard's low-stock count is adjusted in the same transaction
+            if (inventoryDAO.deleteInventory(id)) {
                 JOptionPane.showMessageDialog(this, "Item deleted!");
                 loadInventory();
-
-            } catch (SQLException e) {
-                JOptionPane.showMessageDialog(this, "Error deleting item: " + e.getMessage());
+            } else {
+                JOptionPane.showMessageDialog(this, "Error deleting item. See the log for details.");
             }
         }
     }
@@ -1071,40 +1170,11 @@ public class InventoryPanel extends JPanel {
         }
 
         private void addItemToDB() {
-            String sql = "INSERT INTO inventory (item_name, description, category, unit, quantity, reorder_level, supplier_name, last_restock_date, cost_per_unit, remarks) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
-
-            try (Connection conn = DBConnection.getConnection();
-                PreparedStatement ps = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-
-                ps.setString(1, tfItemName.getText().trim());
-                ps.setString(2, taDescription.getText().trim());
-                ps.setString(3, cbCategory.getSelectedItem().toString());
-                ps.setString(4, cbUnit.getSelectedItem().toString());
-                ps.setInt(5, Integer.parseInt(tfQuantity.getText().trim()));
-                ps.setInt(6, Integer.parseInt(tfReorderLevel.getText().trim()));
-                ps.setString(7, tfSupplierName.getText().trim());
-
-                String lastRestock = tfLastRestock.getText().trim();
-                if (!lastRestock.isEmpty()) {
-                    ps.setDate(8, java.sql.Date.valueOf(LocalDate.parse(lastRestock)));
-                } else {
-                    ps.setNull(8, Types.DATE);
-                }
-
-                String cost = tfCostPerUnit.getText().trim();
-                ps.setDouble(9, cost.isEmpty() ? 0.0 : Double.parseDouble(cost));
-                ps.setString(10, taNotes.getText().trim());
-
-                ps.executeUpdate();
-
-                // GET NEW ID
-                ResultSet rs = ps.getGeneratedKeys();
-                int newId = -1;
-                if (rs.next()) newId = rs.getInt(1);
-
-                // UPDATE STATUS IMMEDIATELY
-                if (newId != -1) {
-                    inventoryDAO.updateInventoryStatus(newId);
+            try {
+                Inventory inv = readForm();
+                if (!inventoryDAO.addInventory(inv)) {
+                    JOptionPane.showMessageDialog(this, "Error adding item. Check the log for details.");
+                    return;
                 }
 
                 JOptionPane.showMessageDialog(this, "Item added successfully!");
@@ -1119,36 +1189,14 @@ public class InventoryPanel extends JPanel {
 
 
         private void updateItemInDB() {
-            String sql = "UPDATE inventory SET item_name=?, description=?, category=?, unit=?, quantity=?, reorder_level=?, supplier_name=?, last_restock_date=?, cost_per_unit=?, remarks=? WHERE inventory_id=?";
-
-            try (Connection conn = DBConnection.getConnection();
-                PreparedStatement ps = conn.prepareStatement(sql)) {
-
-                ps.setString(1, tfItemName.getText().trim());
-                ps.setString(2, taDescription.getText().trim());
-                ps.setString(3, cbCategory.getSelectedItem().toString());
-                ps.setString(4, cbUnit.getSelectedItem().toString());
-                ps.setInt(5, Integer.parseInt(tfQuantity.getText().trim()));
-                ps.setInt(6, Integer.parseInt(tfReorderLevel.getText().trim()));
-                ps.setString(7, tfSupplierName.getText().trim());
-
-                String lastRestock = tfLastRestock.getText().trim();
-                if (!lastRestock.isEmpty()) {
-                    ps.setDate(8, java.sql.Date.valueOf(LocalDate.parse(lastRestock)));
-                } else {
-                    ps.setNull(8, Types.DATE);
+            try {
+                Inventory inv = readForm();
+                inv.setInventoryId(existingData.id);
+                if (!inventoryDAO.updateInventory(inv)) {
+                    JOptionPane.showMessageDialog(this, "Error updating item. Check the log for details.");
+                    return;
                 }
 
-                String cost = tfCostPerUnit.getText().trim();
-                ps.setDouble(9, cost.isEmpty() ? 0.0 : Double.parseDouble(cost));
-                ps.setString(10, taNotes.getText().trim());
-                ps.setInt(11, existingData.id);
-
-                ps.executeUpdate();
-
-                // UPDATE STATUS AFTER UPDATE
-                inventoryDAO.updateInventoryStatus(existingData.id);
-
                 JOptionPane.showMessageDialog(this, "Item updated successfully!");
                 successful = true;
                 dispose();
@@ -1159,6 +1207,25 @@ public class InventoryPanel extends JPanel {
             }
         }
 
+        private Inventory readForm() {
+            Inventory inv = new Inventory();
+            inv.setItemName(tfItemName.getText().trim());
+            inv.setDescription(taDescription.getText().trim());
+            inv.setCategory(cbCategory.getSelectedItem().toString());
+            inv.setUnit(cbUnit.getSelectedItem().toString());
+            inv.setQuantity(Integer.parseInt(tfQuantity.getText().trim()));
+            inv.setReorderLevel(Integer.parseInt(tfReorderLevel.getText().trim()));
+            inv.setSupplierName(tfSupplierName.getText().trim());
+
+            String lastRestock = tfLastRestock.getText().trim();
+            inv.setLastRestockDate(lastRestock.isEmpty() ? null : LocalDate.parse(lastRestock));
+
+            String cost = tfCostPerUnit.getText().trim();
+            inv.setCostPerUnit(cost.isEmpty() ? BigDecimal.ZERO : new BigDecimal(cost));
+            inv.setRemarks(taNotes.getText().trim());
+            return inv;
+        }
+
 
         private void clearForm() {
             tfItemName.setText("");
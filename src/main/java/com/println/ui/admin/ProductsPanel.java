@@ -4,6 +4,7 @@ import com.println.dao.InventoryDAO;
 import com.println.dao.ProductDAO;
 import com.println.model.Inventory;
 import com.println.model.Product;
+import com.println.ui.BackgroundLoader;
 import java.awt.*;
 import java.awt.event.*;
 import java.math.BigDecimal;
@@ -21,6 +22,7 @@ public class ProductsPanel extends JPanel {
     private static final Color SOFT_YELLOW = Color.decode("#F7E9A9");
 
     private final ProductDAO productDAO = new ProductDAO();
+    private final BackgroundLoader loader = new BackgroundLoader(this);
     private JTable table;
     private DefaultTableModel model;
     private final DateTimeFormatter DATE_FMT = DateTimeFormatter.ISO_LOCAL_DATE;
@@ -213,32 +215,34 @@ public class ProductsPanel extends JPanel {
     }
 
     private void reloadTable() {
+        // Fetch off the EDT; rows are built on the EDT when the list arrives
+        loader.load(productDAO::getAllProducts, this::showProducts, e -> {
+            JOptionPane.showMessageDialog(this, "Error loading products: " + e.getMessage());
+            e.printStackTrace();
+        });
+    }
+
+    private void showProducts(List<Product> list) {
         // clear
         model.setRowCount(0);
 
-        try {
-            List<Product> list = productDAO.getAllProducts();
-            for (Product p : list) {
-                Object[] row = new Object[] {
-                    p.getProductId(),
-                    p.getProductName(),
-                    p.getDescription(),
-                    p.getCategory(),
-                    formatPrice(p.getPrice()),
-                    p.getUnit(),
-                    p.getMaterialUsed(),
-                    p.getQuantityUsed(),
-                    p.getStatus(),
-                    p.getDateAdded() != null ? p.getDateAdded().format(DATE_FMT) : "",
-                    p.getPrintTime(),
-                    p.getSize(),
-                    p.getNotes()
-                };
-                model.addRow(row);
-            }
-        } catch (Exception e) {
-            JOptionPane.showMessageDialog(this, "Error loading products: " + e.getMessage());
-            e.printStackTrace();
+        for (Product p : list) {
+            Object[] row = new Object[] {
+                p.getProductId(),
+                p.getProductName(),
+                p.getDescription(),
+                p.getCategory(),
+                formatPrice(p.getPrice()),
+                p.getUnit(),
+                p.getMaterialUsed(),
+                p.getQuantityUsed(),
+                p.getStatus(),
+                p.getDateAdded() != null ? p.getDateAdded().format(DATE_FMT) : "",
+                p.getPrintTime(),
+                p.getSize(),
+                p.getNotes()
+            };
+            model.addRow(row);
         }
     }
 
@@ -1,26 +1,317 @@
 package com.println.ui.admin;
 
 import javax.swing.*;
+import javax.swing.table.DefaultTableCellRenderer;
+import javax.swing.table.DefaultTableModel;
+import javax.swing.table.JTableHeader;
 import java.awt.*;
-import com.println.config.DBConnection;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
+import java.io.File;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import com.println.dao.SalesReportDAO;
+import com.println.model.SalesRow;
+import com.println.service.ReportService;
+import com.println.service.SalesRollupBackfill;
+import com.println.ui.BackgroundLoader;
 
 
 public class ReportsPanel extends JPanel {
 
+    private static final String[] RANGES = {"This month", "Last 30 days", "This year", "Last 12 months", "Custom"};
+
+    private final SalesReportDAO salesReportDAO = new SalesReportDAO();
+    private final BackgroundLoader loader = new BackgroundLoader(this);
+
+    private final JComboBox<String> cbRange = new JComboBox<>(RANGES);
+    private final JComboBox<SalesRow.Dimension> cbDimension = new JComboBox<>(SalesRow.Dimension.values());
+    private final JTextField tfFrom = new JTextField(10);
+    private final JTextField tfTo = new JTextField(10);
+    private final JButton btnRun = new JButton("Run");
+    private final JButton btnRebuild = new JButton("Rebuild from history");
+    private final JButton btnListing = new JButton("Sales listing PDF...");
+    private final JButton btnCancelListing = new JButton("Cancel");
+    private final JLabel lblStatus = new JLabel(" ");
+    private final DefaultTableModel model;
+    private final JTable table;
+
+    // Running sales-listing export, or null; touched on the EDT only
+    private Thread listingWorker;
+
+
     public ReportsPanel(AdminDashboard theme) {
 
         setBackground(theme.darkBg);
         setLayout(new BorderLayout());
 
-        JLabel title = new JLabel("📈 Reports");
+        JLabel title = new JLabel("📈 Sales Reports");
         title.setForeground(theme.textColor);
         title.setFont(new Font("Arial", Font.BOLD, 24));
-        title.setBorder(BorderFactory.createEmptyBorder(20, 20, 20, 20));
-        add(title, BorderLayout.NORTH);
+        title.setBorder(BorderFactory.createEmptyBorder(20, 20, 10, 20));
+
+        JPanel toolbar = new JPanel(new FlowLayout(FlowLayout.LEFT, 10, 0));
+        toolbar.setBackground(theme.darkBg);
+        toolbar.setBorder(BorderFactory.createEmptyBorder(0, 14, 10, 14));
+        toolbar.add(new JLabel("Range:"));
+        toolbar.add(cbRange);
+        toolbar.add(new JLabel("From:"));
+        toolbar.add(tfFrom);
+        toolbar.add(new JLabel("To:"));
+        toolbar.add(tfTo);
+        toolbar.add(new JLabel("Group by:"));
+        toolbar.add(cbDimension);
+        styleButton(btnRun, theme.accentYellow, Color.BLACK);
+        styleButton(btnRebuild, theme.cardBg, theme.textColor);
+        btnRebuild.setToolTipText("Recompute the daily rollups from all existing orders, one month at a time");
+        styleButton(btnListing, theme.cardBg, theme.textColor);
+        btnListing.setToolTipText("Every order line in the range, written straight to a PDF file");
+        toolbar.add(btnRun);
+        toolbar.add(btnRebuild);
+        toolbar.add(btnListing);
+        styleButton(btnCancelListing, theme.cardBg, theme.textColor);
+        btnCancelListing.setToolTipText("Stop the sales listing export; the partial PDF is deleted");
+        btnCancelListing.setEnabled(false);
+        toolbar.add(btnCancelListing);
+
+        JPanel north = new JPanel(new BorderLayout());
+        north.setBackground(theme.darkBg);
+        north.add(title, BorderLayout.NORTH);
+        north.add(toolbar, BorderLayout.CENTER);
+        add(north, BorderLayout.NORTH);
+
+        model = new DefaultTableModel(new String[]{"Day", "Orders", "Quantity", "Revenue", "Share"}, 0) {
+            @Override
+            public boolean isCellEditable(int row, int col) {
+                return false;
+            }
+        };
+        table = new JTable(model);
+        table.setFillsViewportHeight(true);
+        table.setGridColor(theme.borderColor);
+        table.setBackground(theme.cardBg);
+        table.setForeground(theme.textColor);
+        table.setRowHeight(28);
+        JTableHeader header = table.getTableHeader();
+        header.setBackground(theme.borderColor);
+        header.setForeground(theme.accentYellow);
+        header.setFont(new Font("Arial", Font.BOLD, 14));
+        DefaultTableCellRenderer right = new DefaultTableCellRenderer();
+        right.setHorizontalAlignment(SwingConstants.RIGHT);
+        for (int c = 1; c < 5; c++) table.getColumnModel().getColumn(c).setCellRenderer(right);
+
+        JScrollPane scroll = new JScrollPane(table);
+        scroll.setBorder(BorderFactory.createCompoundBorder(
+                BorderFactory.createEmptyBorder(0, 20, 0, 20),
+                BorderFactory.createLineBorder(theme.borderColor)));
+        scroll.getViewport().setBackground(theme.darkBg);
+        add(scroll, BorderLayout.CENTER);
+
+        lblStatus.setForeground(theme.mutedText);
+        lblStatus.setFont(new Font("Arial", Font.PLAIN, 14));
+        lblStatus.setBorder(BorderFactory.createEmptyBorder(10, 20, 16, 20));
+        add(lblStatus, BorderLayout.SOUTH);
+
+        cbRange.addActionListener(e -> {
+            applyRange();
+            runReport();
+        });
+        cbDimension.addActionListener(e -> runReport());
+        btnRun.addActionListener(e -> runReport());
+        tfFrom.addActionListener(e -> runReport());
+        tfTo.addActionListener(e -> runReport());
+        btnRebuild.addActionListener(e -> startBackfill());
+        btnListing.addActionListener(e -> exportListing());
+        btnCancelListing.addActionListener(e -> cancelListing());
+
+        applyRange();
+
+        // Reports are cheap now, so refresh on every visit
+        addComponentListener(new ComponentAdapter() {
+            @Override
+            public void componentShown(ComponentEvent e) {
+                runReport();
+            }
+        });
+    }
+
+    private void applyRange() {
+        LocalDate today = LocalDate.now();
+        LocalDate from;
+        switch (cbRange.getSelectedIndex()) {
+            case 0: from = today.withDayOfMonth(1); break;
+            case 1: from = today.minusDays(29); break;
+            case 2: from = today.withDayOfYear(1); break;
+            case 3: from = YearMonth.from(today).minusMonths(11).atDay(1); break;
+            default:
+                tfFrom.setEditable(true);
+                tfTo.setEditable(true);
+                return;
+        }
+        tfFrom.setText(from.toString());
+        tfTo.setText(today.toString());
+        tfFrom.setEditable(false);
+        tfTo.setEditable(false);
+    }
+
+    // From/To fields as {from, to}, or null after telling the user what is wrong
+    private LocalDate[] readRange() {
+        LocalDate from;
+        LocalDate to;
+        try {
+            from = LocalDate.parse(tfFrom.getText().trim());
+            to = LocalDate.parse(tfTo.getText().trim());
+        } catch (DateTimeParseException ex) {
+            JOptionPane.showMessageDialog(this, "Dates must be in YYYY-MM-DD format.");
+            return null;
+        }
+        if (to.isBefore(from)) {
+            JOptionPane.showMessageDialog(this, "The To date is before the From date.");
+            return null;
+        }
+        return new LocalDate[]{from, to};
+    }
+
+    private void runReport() {
+        LocalDate[] range = readRange();
+        if (range == null) return;
+        LocalDate from = range[0];
+        LocalDate to = range[1];
+
+        SalesRow.Dimension dimension = (SalesRow.Dimension) cbDimension.getSelectedItem();
+        lblStatus.setText("Loading...");
+        long start = System.nanoTime();
+        loader.load(() -> salesReportDAO.getSales(dimension, from, to),
+                rows -> showRows(dimension, rows, (System.nanoTime() - start) / 1_000_000),
+                err -> lblStatus.setText("Error loading report: " + err.getMessage()));
+    }
+
+    private void showRows(SalesRow.Dimension dimension, List<SalesRow> rows, long millis) {
+        // Relabel in place; setColumnIdentifiers would drop the column renderers
+        table.getColumnModel().getColumn(0).setHeaderValue(dimension.toString());
+        table.getColumnModel().getColumn(1).setHeaderValue(dimension.isProductLevel() ? "Orders (per product)" : "Orders");
+        table.getTableHeader().repaint();
+
+        BigDecimal total = BigDecimal.ZERO;
+        int quantity = 0;
+        int orders = 0;
+        for (SalesRow r : rows) {
+            total = total.add(r.getRevenue());
+            quantity += r.getQuantity();
+            orders += r.getOrders();
+        }
+
+        model.setRowCount(0);
+        for (SalesRow r : rows) {
+            double share = total.signum() == 0 ? 0 : r.getRevenue().doubleValue() * 100 / total.doubleValue();
+            model.addRow(new Object[]{
+                    r.getLabel(), r.getOrders(), r.getQuantity(),
+                    String.format("₱ %,.2f", r.getRevenue()), String.format("%.1f%%", share)});
+        }
+
+        lblStatus.setText(String.format("%d row(s)   Orders: %,d   Quantity: %,d   Revenue: ₱ %,.2f   (%d ms)",
+                rows.size(), orders, quantity, total, millis));
+    }
+
+    private void exportListing() {
+        LocalDate[] range = readRange();
+        if (range == null) return;
+
+        JFileChooser chooser = new JFileChooser();
+        chooser.setDialogTitle("Save sales listing");
+        chooser.setSelectedFile(new File("sales-" + range[0] + "-to-" + range[1] + ".pdf"));
+        if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) return;
+        File target = chooser.getSelectedFile();
+
+        HashMap<String, Object> params = new HashMap<>();
+        params.put("FROM_DATE", Date.valueOf(range[0]));
+        params.put("TO_DATE", Date.valueOf(range[1]));
+
+        btnListing.setEnabled(false);
+        btnCancelListing.setEnabled(true);
+        lblStatus.setText("Preparing sales listing...");
+
+        // Can run for minutes on a large range; keep it off the shared SwingWorker threads
+        Thread worker = new Thread(() -> {
+            try {
+                int totalPages = ReportService.exportLargeReportPdf(ReportService.SALES_LISTING_TEMPLATE, params, target,
+                        new ReportService.LargeReportListener() {
+                            @Override
+                            public void onPageFilled(int pages, long elapsedMillis) {
+                                SwingUtilities.invokeLater(() -> lblStatus.setText(String.format(
+                                        "Sales listing: filled %,d page(s)   (%.1f s)", pages, elapsedMillis / 1000.0)));
+                            }
+
+                            @Override
+                            public void onPageExported(int page, int totalPages, long elapsedMillis) {
+                                SwingUtilities.invokeLater(() -> lblStatus.setText(String.format(
+                                        "Sales listing: writing PDF page %,d of %,d   (%.1f s)", page, totalPages, elapsedMillis / 1000.0)));
+                            }
+                        });
+                SwingUtilities.invokeLater(() -> lblStatus.setText(String.format(
+                        "Sales listing: %,d page(s) saved to %s", totalPages, target.getAbsolutePath())));
+            } catch (CancellationException ex) {
+                SwingUtilities.invokeLater(() -> lblStatus.setText("Sales listing cancelled; no file was written."));
+            } catch (Exception ex) {
+                System.err.println("Error exporting sales listing: " + ex.getMessage());
+                SwingUtilities.invokeLater(() -> lblStatus.setText("Sales listing failed: " + ex.getMessage()));
+            } finally {
+                SwingUtilities.invokeLater(() -> {
+                    listingWorker = null;
+                    btnCancelListing.setEnabled(false);
+                    btnListing.setEnabled(true);
+                });
+            }
+        }, "sales-listing");
+        worker.setDaemon(true);
+        listingWorker = worker;
+        worker.start();
+    }
+
+    // exportLargeReportPdf stops at the next page once its thread is interrupted
+    private void cancelListing() {
+        if (listingWorker == null) return;
+        btnCancelListing.setEnabled(false);
+        lblStatus.setText("Cancelling sales listing...");
+        listingWorker.interrupt();
+    }
+
+    private void startBackfill() {
+        boolean started = SalesRollupBackfill.getInstance().start(new SalesRollupBackfill.Listener() {
+            @Override
+            public void onMonth(YearMonth month, int done, int total) {
+                SwingUtilities.invokeLater(() ->
+                        lblStatus.setText("Building sales rollups from history: " + month + " (" + done + "/" + total + ")"));
+            }
+
+            @Override
+            public void onFinished(int failedMonths) {
+                SwingUtilities.invokeLater(() -> {
+                    btnRebuild.setEnabled(true);
+                    if (failedMonths > 0) {
+                        JOptionPane.showMessageDialog(ReportsPanel.this,
+                                failedMonths + " month(s) could not be rebuilt. See the log for details.");
+                    }
+                    runReport();
+                });
+            }
+        });
+        if (started) {
+            btnRebuild.setEnabled(false);
+            lblStatus.setText("Building sales rollups from history...");
+        }
+    }
 
-        JLabel placeholder = new JLabel("Reports & analytics will appear here.", SwingConstants.CENTER);
-        placeholder.setForeground(theme.mutedText);
-        placeholder.setFont(new Font("Arial", Font.PLAIN, 18));
-        add(placeholder, BorderLayout.CENTER);
+    private void styleButton(JButton btn, Color bg, Color fg) {
+        btn.setBackground(bg);
+        btn.setForeground(fg);
+        btn.setFocusPainted(false);
+        btn.setFont(new Font("Arial", Font.BOLD, 13));
     }
 }
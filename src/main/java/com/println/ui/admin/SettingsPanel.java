@@ -2,11 +2,24 @@ package com.println.ui.admin;
 
 
 import com.println.config.DBConnection;
+import com.println.config.QueryMetrics;
+import com.println.config.QueryStats;
+import com.println.config.SlowQuery;
+import com.println.service.CsvExportService;
+import com.println.ui.BackgroundLoader;
+import com.println.ui.EdtWatchdog;
 import java.awt.*;
 import java.awt.event.*;
+import java.io.File;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.regex.Pattern;
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
@@ -21,6 +34,15 @@ public class SettingsPanel extends JPanel {
     private int adminUserId = -1; // populated when loading admin info
     private JTable tblStaff;
 
+    private static final String STAFF_BY_USERNAME_SQL =
+            "SELECT username, first_name, last_name, email, contact_no FROM users WHERE role = 'Staff' ORDER BY username ASC";
+    private static final String STAFF_NEWEST_FIRST_SQL =
+            "SELECT username, first_name, last_name, email, contact_no FROM users WHERE role = 'Staff' ORDER BY date_created DESC";
+    private final BackgroundLoader staffLoader = new BackgroundLoader(this);
+
+    private static final int DIAGNOSTICS_REFRESH_MS = 2000;
+    private static final DateTimeFormatter DIAGNOSTICS_TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm:ss");
+
 
     public SettingsPanel(AdminDashboard theme) {
 
@@ -60,6 +82,8 @@ public class SettingsPanel extends JPanel {
         // ================================
         JPanel adminPanel = buildAdminSettings(theme);
         JPanel staffPanel = buildStaffManagement(theme);
+        JPanel diagnosticsPanel = buildDiagnostics(theme);
+        JPanel exportPanel = buildExport(theme);
 
 
         // ---------------------------
@@ -100,6 +124,14 @@ public class SettingsPanel extends JPanel {
         tabs.setTabComponentAt(1, createTabLabel("Staff Management"));
 
 
+        tabs.addTab("Diagnostics", wrapWithYellowContainer(diagnosticsPanel, theme));
+        tabs.setTabComponentAt(2, createTabLabel("Diagnostics"));
+
+
+        tabs.addTab("Data Export", wrapWithYellowContainer(exportPanel, theme));
+        tabs.setTabComponentAt(3, createTabLabel("Data Export"));
+
+
         if (tabs.getTabCount() > 0) {
             tabs.setSelectedIndex(0);
             tabs.getChangeListeners()[0].stateChanged(new javax.swing.event.ChangeEvent(tabs));
@@ -611,7 +643,6 @@ public class SettingsPanel extends JPanel {
 
         String[] columns = {"Username", "First Name", "Last Name", "Email", "Contact", "Action"};
         DefaultTableModel model = new DefaultTableModel(columns, 0);
-        loadStaffData(model);
 
 
         JTable table = new JTable(model) {
@@ -705,7 +736,298 @@ public class SettingsPanel extends JPanel {
         content.add(tableScroll);
 
 
-        loadStaffIntoModel(model);
+        loadStaffTable(STAFF_BY_USERNAME_SQL);
+
+
+        JScrollPane mainScroll = new JScrollPane(content);
+        mainScroll.setBorder(null);
+        applyModernScrollBar(mainScroll);
+        mainScroll.setHorizontalScrollBarPolicy(ScrollPaneConstants.HORIZONTAL_SCROLLBAR_NEVER);
+
+
+        panel.add(mainScroll, BorderLayout.CENTER);
+
+
+        return panel;
+    }
+
+
+    // =====================================================================
+    //  DIAGNOSTICS (statement timings from QueryMetrics; in memory, no DB)
+    // =====================================================================
+    private JPanel buildDiagnostics(AdminDashboard theme) {
+
+
+        JPanel panel = new JPanel(new BorderLayout());
+        panel.setBackground(Color.WHITE);
+
+
+        JPanel content = new JPanel();
+        content.setLayout(new BoxLayout(content, BoxLayout.Y_AXIS));
+        content.setBorder(new EmptyBorder(30, 40, 30, 40));
+        content.setBackground(Color.WHITE);
+
+
+        JLabel title = new JLabel("Database Diagnostics");
+        title.setFont(new Font("Segoe UI", Font.BOLD, 22));
+        title.setForeground(new Color(20, 20, 20));
+        title.setAlignmentX(Component.LEFT_ALIGNMENT);
+        content.add(title);
+
+
+        JLabel lblSummary = new JLabel(" ");
+        lblSummary.setFont(new Font("Segoe UI", Font.PLAIN, 13));
+        lblSummary.setForeground(new Color(70, 70, 70));
+        lblSummary.setAlignmentX(Component.LEFT_ALIGNMENT);
+        JLabel lblPool = new JLabel(" ");
+        lblPool.setFont(new Font("Segoe UI", Font.PLAIN, 13));
+        lblPool.setForeground(new Color(70, 70, 70));
+        lblPool.setAlignmentX(Component.LEFT_ALIGNMENT);
+        content.add(Box.createVerticalStrut(10));
+        content.add(lblSummary);
+        content.add(Box.createVerticalStrut(4));
+        content.add(lblPool);
+        content.add(Box.createVerticalStrut(16));
+
+
+        JComboBox<String> cbGroup = new JComboBox<>(new String[]{"By DAO method", "By SQL statement"});
+        cbGroup.setFont(new Font("Segoe UI", Font.PLAIN, 13));
+        JButton btnRefresh = createModernButton("Refresh", theme.accentYellow, Color.BLACK);
+        JButton btnReset = createModernButton("Reset", new Color(240, 240, 240), new Color(60, 60, 60));
+        JButton btnStalls = createModernButton("UI Stalls...", new Color(240, 240, 240), new Color(60, 60, 60));
+        btnStalls.setToolTipText("Events that froze the screen, by blocking code (Ctrl+Shift+D on any screen)");
+        btnStalls.addActionListener(e -> EdtWatchdog.showSummary(this));
+
+        JPanel toolbar = new JPanel(new FlowLayout(FlowLayout.LEFT, 10, 0));
+        toolbar.setBackground(Color.WHITE);
+        toolbar.setAlignmentX(Component.LEFT_ALIGNMENT);
+        toolbar.add(cbGroup);
+        toolbar.add(btnRefresh);
+        toolbar.add(btnReset);
+        toolbar.add(btnStalls);
+        content.add(toolbar);
+        content.add(Box.createVerticalStrut(12));
+
+
+        DefaultTableModel statsModel = new DefaultTableModel(
+                new String[]{"Method / SQL", "Calls", "Avg ms", "p95 ms", "Max ms", "Total ms", "Rows", "Errors"}, 0) {
+            public boolean isCellEditable(int row, int col) {
+                return false;
+            }
+        };
+        JTable statsTable = new JTable(statsModel);
+        styleDiagnosticsTable(statsTable);
+        statsTable.getColumnModel().getColumn(0).setPreferredWidth(420);
+        content.add(wrapDiagnosticsTable(statsTable, 260));
+
+
+        content.add(Box.createVerticalStrut(25));
+        JLabel slowTitle = new JLabel("Slow Queries");
+        slowTitle.setFont(new Font("Segoe UI", Font.BOLD, 19));
+        slowTitle.setForeground(new Color(20, 20, 20));
+        slowTitle.setAlignmentX(Component.LEFT_ALIGNMENT);
+        content.add(slowTitle);
+        content.add(Box.createVerticalStrut(12));
+
+
+        DefaultTableModel slowModel = new DefaultTableModel(
+                new String[]{"Time", "ms", "Method", "SQL", "Parameters", "Rows", "Error"}, 0) {
+            public boolean isCellEditable(int row, int col) {
+                return false;
+            }
+        };
+        JTable slowTable = new JTable(slowModel);
+        styleDiagnosticsTable(slowTable);
+        slowTable.getColumnModel().getColumn(3).setPreferredWidth(360);
+        content.add(wrapDiagnosticsTable(slowTable, 220));
+
+
+        Runnable refresh = () -> {
+            QueryMetrics metrics = QueryMetrics.getInstance();
+            lblSummary.setText(metrics.isEnabled()
+                    ? "Statements: " + metrics.getStatementCount()
+                      + "   Errors: " + metrics.getErrorCount()
+                      + "   Slow (≥ " + metrics.getSlowQueryThresholdMillis() + " ms): " + metrics.getSlowQueryCount()
+                    : "Statement timing is off (diagnostics.enabled=false in dbconfig.properties).");
+            lblPool.setText("Connection pool: " + metrics.getPoolSummary());
+
+            List<QueryStats> stats = cbGroup.getSelectedIndex() == 0
+                    ? metrics.getCallerStats() : metrics.getStatementStats();
+            statsModel.setRowCount(0);
+            for (QueryStats q : stats) {
+                statsModel.addRow(new Object[]{
+                        q.getLabel(), q.getCount(),
+                        String.format("%.2f", q.getAverageMillis()),
+                        String.format("%.0f", q.getPercentileMillis(95)),
+                        String.format("%.2f", q.getMaxMillis()),
+                        String.format("%.0f", q.getTotalMillis()),
+                        q.getRows(), q.getErrors()});
+            }
+
+            slowModel.setRowCount(0);
+            for (SlowQuery sq : metrics.getSlowQueryLog()) {
+                slowModel.addRow(new Object[]{
+                        sq.getTime().format(DIAGNOSTICS_TIME_FORMAT),
+                        String.format("%.0f", sq.getMillis()),
+                        sq.getCaller(), sq.getSql(), sq.getParameters().toString(),
+                        sq.getRows() < 0 ? "" : sq.getRows(),
+                        sq.getError() != null ? sq.getError() : ""});
+            }
+        };
+
+
+        cbGroup.addActionListener(e -> refresh.run());
+        btnRefresh.addActionListener(e -> refresh.run());
+        btnReset.addActionListener(e -> {
+            QueryMetrics.getInstance().reset();
+            refresh.run();
+        });
+
+        // Live while the tab is on screen; reading the counters is cheap and stays on the EDT
+        Timer autoRefresh = new Timer(DIAGNOSTICS_REFRESH_MS, e -> {
+            if (panel.isShowing()) refresh.run();
+        });
+        autoRefresh.start();
+        refresh.run();
+
+
+        JScrollPane mainScroll = new JScrollPane(content);
+        mainScroll.setBorder(null);
+        applyModernScrollBar(mainScroll);
+        mainScroll.setHorizontalScrollBarPolicy(ScrollPaneConstants.HORIZONTAL_SCROLLBAR_NEVER);
+
+
+        panel.add(mainScroll, BorderLayout.CENTER);
+
+
+        return panel;
+    }
+
+
+    // =====================================================================
+    //  DATA EXPORT
+    // =====================================================================
+    private JPanel buildExport(AdminDashboard theme) {
+
+
+        JPanel panel = new JPanel(new BorderLayout());
+        panel.setBackground(Color.WHITE);
+
+
+        JPanel content = new JPanel();
+        content.setLayout(new BoxLayout(content, BoxLayout.Y_AXIS));
+        content.setBorder(new EmptyBorder(30, 40, 30, 40));
+        content.setBackground(Color.WHITE);
+
+
+        JLabel title = new JLabel("Data Export");
+        title.setFont(new Font("Segoe UI", Font.BOLD, 22));
+        title.setForeground(new Color(20, 20, 20));
+        title.setAlignmentX(Component.LEFT_ALIGNMENT);
+        content.add(title);
+        content.add(Box.createVerticalStrut(10));
+
+        JLabel lblHint = new JLabel("Writes a whole table to a CSV file that opens in Excel. Large tables are streamed, not loaded into memory.");
+        lblHint.setFont(new Font("Segoe UI", Font.PLAIN, 13));
+        lblHint.setForeground(new Color(70, 70, 70));
+        lblHint.setAlignmentX(Component.LEFT_ALIGNMENT);
+        content.add(lblHint);
+        content.add(Box.createVerticalStrut(16));
+
+
+        JComboBox<CsvExportService.Dataset> cbDataset = new JComboBox<>(CsvExportService.Dataset.values());
+        cbDataset.setFont(new Font("Segoe UI", Font.PLAIN, 13));
+        JCheckBox chkGzip = new JCheckBox("Compress (gzip)");
+        chkGzip.setFont(new Font("Segoe UI", Font.PLAIN, 13));
+        chkGzip.setBackground(Color.WHITE);
+        JButton btnExport = createModernButton("Export...", theme.accentYellow, Color.BLACK);
+        JButton btnCancel = createModernButton("Cancel", new Color(240, 240, 240), new Color(60, 60, 60));
+        btnCancel.setEnabled(false);
+
+        JPanel toolbar = new JPanel(new FlowLayout(FlowLayout.LEFT, 10, 0));
+        toolbar.setBackground(Color.WHITE);
+        toolbar.setAlignmentX(Component.LEFT_ALIGNMENT);
+        toolbar.add(cbDataset);
+        toolbar.add(chkGzip);
+        toolbar.add(btnExport);
+        toolbar.add(btnCancel);
+        content.add(toolbar);
+        content.add(Box.createVerticalStrut(16));
+
+
+        JProgressBar progress = new JProgressBar();
+        progress.setStringPainted(true);
+        progress.setString("");
+        progress.setMaximumSize(new Dimension(800, 22));
+        progress.setAlignmentX(Component.LEFT_ALIGNMENT);
+        content.add(progress);
+        content.add(Box.createVerticalStrut(8));
+
+        JLabel lblStatus = new JLabel(" ");
+        lblStatus.setFont(new Font("Segoe UI", Font.PLAIN, 13));
+        lblStatus.setForeground(new Color(70, 70, 70));
+        lblStatus.setAlignmentX(Component.LEFT_ALIGNMENT);
+        content.add(lblStatus);
+
+
+        AtomicBoolean cancelled = new AtomicBoolean();
+
+        btnExport.addActionListener(e -> {
+            CsvExportService.Dataset dataset = (CsvExportService.Dataset) cbDataset.getSelectedItem();
+            boolean gzip = chkGzip.isSelected();
+
+            JFileChooser chooser = new JFileChooser();
+            chooser.setDialogTitle("Export " + dataset);
+            chooser.setSelectedFile(new File(dataset.getTable() + "-" + LocalDate.now() + (gzip ? ".csv.gz" : ".csv")));
+            if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) return;
+            File target = chooser.getSelectedFile();
+            if (target.exists() && JOptionPane.showConfirmDialog(this, target.getName() + " already exists. Replace it?",
+                    "Export", JOptionPane.YES_NO_OPTION) != JOptionPane.YES_OPTION) return;
+
+            cancelled.set(false);
+            btnExport.setEnabled(false);
+            btnCancel.setEnabled(true);
+            progress.setIndeterminate(true);
+            progress.setString("");
+            lblStatus.setText("Exporting " + dataset + "...");
+            long start = System.currentTimeMillis();
+
+            // Own thread: a long export should not tie up one of the shared SwingWorker threads BackgroundLoader uses
+            Thread worker = new Thread(() -> {
+                try {
+                    long rows = CsvExportService.export(dataset, target, gzip, (written, estimate) ->
+                            SwingUtilities.invokeLater(() -> {
+                                if (estimate > 0) {
+                                    progress.setIndeterminate(false);
+                                    progress.setValue((int) Math.min(100, written * 100 / estimate));
+                                }
+                                progress.setString(String.format("%,d rows", written));
+                            }), cancelled::get);
+                    long millis = System.currentTimeMillis() - start;
+                    SwingUtilities.invokeLater(() -> lblStatus.setText(String.format("Exported %,d rows to %s in %.1f s",
+                            rows, target.getAbsolutePath(), millis / 1000.0)));
+                } catch (CancellationException ex) {
+                    SwingUtilities.invokeLater(() -> lblStatus.setText("Export cancelled; no file was written."));
+                } catch (Exception ex) {
+                    System.err.println("Error exporting " + dataset + ": " + ex.getMessage());
+                    SwingUtilities.invokeLater(() -> lblStatus.setText("Export failed: " + ex.getMessage()));
+                } finally {
+                    SwingUtilities.invokeLater(() -> {
+                        progress.setIndeterminate(false);
+                        btnExport.setEnabled(true);
+                        btnCancel.setEnabled(false);
+                    });
+                }
+            }, "csv-export");
+            worker.setDaemon(true);
+            worker.start();
+        });
+
+        btnCancel.addActionListener(e -> {
+            cancelled.set(true);
+            btnCancel.setEnabled(false);
+            lblStatus.setText("Cancelling...");
+        });
 
 
         JScrollPane mainScroll = new JScrollPane(content);
@@ -721,6 +1043,28 @@ public class SettingsPanel extends JPanel {
     }
 
 
+    private void styleDiagnosticsTable(JTable table) {
+        table.setRowHeight(30);
+        table.setFont(new Font("Segoe UI", Font.PLAIN, 12));
+        table.getTableHeader().setFont(new Font("Segoe UI", Font.BOLD, 13));
+        table.getTableHeader().setBackground(new Color(250, 250, 250));
+        table.getTableHeader().setBorder(BorderFactory.createMatteBorder(0, 0, 1, 0, new Color(230, 230, 230)));
+        table.setGridColor(new Color(240, 240, 240));
+        table.setShowVerticalLines(false);
+        table.setAutoCreateRowSorter(true);
+    }
+
+
+    private JScrollPane wrapDiagnosticsTable(JTable table, int height) {
+        JScrollPane scroll = new JScrollPane(table);
+        scroll.setPreferredSize(new Dimension(800, height));
+        scroll.setBorder(BorderFactory.createLineBorder(new Color(230, 230, 230), 1));
+        scroll.setAlignmentX(Component.LEFT_ALIGNMENT);
+        applyModernScrollBar(scroll);
+        return scroll;
+    }
+
+
     // =====================================================================
     //  MODERN COMPONENTS
     // =====================================================================
@@ -884,88 +1228,40 @@ public class SettingsPanel extends JPanel {
     }
 
 
-    private void loadStaffIntoModel(DefaultTableModel model) {
-        model.setRowCount(0);
-        try (Connection conn = DBConnection.getConnection()) {
-            PreparedStatement ps = conn.prepareStatement("SELECT username, first_name, last_name, email, contact_no FROM users WHERE role = 'Staff' ORDER BY username ASC");
-            ResultSet rs = ps.executeQuery();
-            while (rs.next()) {
-                model.addRow(new Object[]{
-                        rs.getString("username"),
-                        rs.getString("first_name"),
-                        rs.getString("last_name"),
-                        rs.getString("email"),
-                        rs.getString("contact_no"),
-                        "Delete"
-                });
-            }
-            rs.close();
-            ps.close();
-        } catch (Exception ex) {
-            ex.printStackTrace();
-        }
+    // Staff list is read off the EDT; a newer load (after add/delete) supersedes an older one
+    private void loadStaffTable() {
+        loadStaffTable(STAFF_NEWEST_FIRST_SQL);
     }
 
-
-    private void loadStaffData(DefaultTableModel model) {
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(
-                     "SELECT username, first_name, last_name, email, contact_no FROM users WHERE role = 'Staff'"
-             );
-             ResultSet rs = stmt.executeQuery()) {
-
-
-            while (rs.next()) {
-                model.addRow(new Object[]{
-                        rs.getString("username"),
-                        rs.getString("first_name"),
-                        rs.getString("last_name"),
-                        rs.getString("email"),
-                        rs.getString("contact_no"),
-                        "Edit/Delete"
-                });
+    private void loadStaffTable(String sql) {
+        staffLoader.load(() -> {
+            List<Object[]> rows = new ArrayList<>();
+            try (Connection conn = DBConnection.getConnection();
+                 PreparedStatement ps = conn.prepareStatement(sql);
+                 ResultSet rs = ps.executeQuery()) {
+
+                while (rs.next()) {
+                    rows.add(new Object[]{
+                            rs.getString("username"),
+                            rs.getString("first_name"),
+                            rs.getString("last_name"),
+                            rs.getString("email"),
+                            rs.getString("contact_no"),
+                            "Delete"
+                    });
+                }
             }
-
-
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
-    }
-
-
-    private void loadStaffTable() {
-        DefaultTableModel model = (DefaultTableModel) tblStaff.getModel();
-        model.setRowCount(0);
-
-
-        try (Connection conn = DBConnection.getConnection()) {
-            PreparedStatement ps = conn.prepareStatement(
-                    "SELECT username, first_name, last_name, email, contact_no " +
-                            "FROM users WHERE role = 'Staff' ORDER BY date_created DESC"
-            );
-            ResultSet rs = ps.executeQuery();
-
-
-            while (rs.next()) {
-                model.addRow(new Object[]{
-                        rs.getString("username"),
-                        rs.getString("first_name"),
-                        rs.getString("last_name"),
-                        rs.getString("email"),
-                        rs.getString("contact_no"),
-                        "Delete"
-                });
+            return rows;
+        }, rows -> {
+            DefaultTableModel model = (DefaultTableModel) tblStaff.getModel();
+            model.setRowCount(0);
+            for (Object[] row : rows) {
+                model.addRow(row);
             }
-
-
-            rs.close();
-            ps.close();
-
-
-        } catch (Exception ex) {
+        }, ex -> {
             ex.printStackTrace();
             JOptionPane.showMessageDialog(this, "Error loading staff: " + ex.getMessage());
-        }
+        });
     }
 
 